@@ -0,0 +1,34 @@
+package org.valkyrienskies.core.api.ships.properties;
+
+/** Stand-in chunk claim: an inclusive rectangle of shipyard chunks owned by one ship. */
+public final class ChunkClaim {
+
+    private final int xStart, xEnd, zStart, zEnd;
+
+    public ChunkClaim(int xStart, int xEnd, int zStart, int zEnd) {
+        this.xStart = xStart;
+        this.xEnd = xEnd;
+        this.zStart = zStart;
+        this.zEnd = zEnd;
+    }
+
+    public int getXStart() {
+        return xStart;
+    }
+
+    public int getXEnd() {
+        return xEnd;
+    }
+
+    public int getZStart() {
+        return zStart;
+    }
+
+    public int getZEnd() {
+        return zEnd;
+    }
+
+    public boolean contains(int chunkX, int chunkZ) {
+        return chunkX >= xStart && chunkX <= xEnd && chunkZ >= zStart && chunkZ <= zEnd;
+    }
+}
@@ -0,0 +1,71 @@
+package org.valkyrienskies.core.impl.game;
+
+import org.valkyrienskies.core.impl.game.ships.ShipData;
+import org.valkyrienskies.mod.common.fake.FakeShipWorld;
+import org.joml.Vector3dc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stand-in GTPA for one dimension. Every call is recorded (for assertions and load
+ * runs) and forwarded to the target ship, which integrates it on the next step.
+ */
+public final class GameToPhysicsAdapter {
+
+    public enum Kind { APPLY_WORLD_FORCE, APPLY_WORLD_TORQUE, SET_STATIC }
+
+    /** One recorded call; pos fields are NaN when no application point was given. */
+    public record Call(Kind kind, long shipId,
+                       double x, double y, double z,
+                       double px, double py, double pz,
+                       boolean flag) {}
+
+    private final String dimensionId;
+    private final List<Call> calls = new ArrayList<>();
+
+    public GameToPhysicsAdapter(String dimensionId) {
+        this.dimensionId = dimensionId;
+    }
+
+    public void applyWorldForce(long shipId, Vector3dc force, Vector3dc pos) {
+        calls.add(new Call(Kind.APPLY_WORLD_FORCE, shipId,
+                force.x(), force.y(), force.z(),
+                pos != null ? pos.x() : Double.NaN,
+                pos != null ? pos.y() : Double.NaN,
+                pos != null ? pos.z() : Double.NaN,
+                false));
+
+        ShipData ship = FakeShipWorld.ship(dimensionId, shipId);
+        if (ship != null) ship.queueForce(force, pos);
+    }
+
+    public void applyWorldTorque(long shipId, Vector3dc torque) {
+        calls.add(new Call(Kind.APPLY_WORLD_TORQUE, shipId,
+                torque.x(), torque.y(), torque.z(),
+                Double.NaN, Double.NaN, Double.NaN,
+                false));
+
+        ShipData ship = FakeShipWorld.ship(dimensionId, shipId);
+        if (ship != null) ship.queueTorque(torque);
+    }
+
+    public void setStatic(long shipId, boolean isStatic) {
+        calls.add(new Call(Kind.SET_STATIC, shipId,
+                Double.NaN, Double.NaN, Double.NaN,
+                Double.NaN, Double.NaN, Double.NaN,
+                isStatic));
+
+        ShipData ship = FakeShipWorld.ship(dimensionId, shipId);
+        if (ship != null) ship.setStatic(isStatic);
+    }
+
+    public List<Call> getCalls() {
+        return Collections.unmodifiableList(calls);
+    }
+
+    public void clearCalls() {
+        calls.clear();
+    }
+}
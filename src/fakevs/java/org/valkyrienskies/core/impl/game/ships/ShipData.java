@@ -0,0 +1,120 @@
+package org.valkyrienskies.core.impl.game.ships;
+
+import org.valkyrienskies.core.api.ships.properties.ChunkClaim;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+/**
+ * Stand-in ShipData with the getters the Reins Mod bridge reflects on
+ * (id, chunkClaim, chunkClaimDimension, transform, velocity, omega, inertiaData) plus a
+ * minimal rigid-body integrator driven by the fake GTPA.
+ *
+ * IMPORTANT:
+ *  - Server thread only. Forces/torques queue up until {@link #step(double)}.
+ *  - Static ships ignore queued loads (and drop them), like a sleeping VS ship.
+ */
+public final class ShipData {
+
+    private final long id;
+    private final ChunkClaim chunkClaim;
+    private final String chunkClaimDimension;
+    private final ShipInertiaDataImpl inertiaData;
+    private final ShipTransformImpl transform;
+
+    private final Vector3d velocity = new Vector3d();
+    private final Vector3d omega = new Vector3d();
+    private boolean isStatic;
+
+    // Loads queued since the last step (world space, about the COM)
+    private final Vector3d pendingForce = new Vector3d();
+    private final Vector3d pendingTorque = new Vector3d();
+
+    // Integration scratch
+    private final Vector3d nextPosition = new Vector3d();
+    private final Quaterniond nextRotation = new Quaterniond();
+
+    public ShipData(long id, ChunkClaim chunkClaim, String chunkClaimDimension,
+                    ShipInertiaDataImpl inertiaData, ShipTransformImpl transform) {
+        this.id = id;
+        this.chunkClaim = chunkClaim;
+        this.chunkClaimDimension = chunkClaimDimension;
+        this.inertiaData = inertiaData;
+        this.transform = transform;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public ChunkClaim getChunkClaim() {
+        return chunkClaim;
+    }
+
+    public String getChunkClaimDimension() {
+        return chunkClaimDimension;
+    }
+
+    public ShipTransformImpl getTransform() {
+        return transform;
+    }
+
+    public Vector3dc getVelocity() {
+        return velocity;
+    }
+
+    public Vector3dc getOmega() {
+        return omega;
+    }
+
+    public ShipInertiaDataImpl getInertiaData() {
+        return inertiaData;
+    }
+
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    public void setStatic(boolean isStatic) {
+        this.isStatic = isStatic;
+        if (isStatic) {
+            velocity.zero();
+            omega.zero();
+        }
+    }
+
+    /** Queues a world-space force; worldPos null = at the centre of mass. */
+    public void queueForce(Vector3dc force, Vector3dc worldPos) {
+        pendingForce.add(force);
+        if (worldPos == null) return;
+
+        Vector3dc com = transform.getPositionInWorld();
+        double rx = worldPos.x() - com.x(), ry = worldPos.y() - com.y(), rz = worldPos.z() - com.z();
+        pendingTorque.add(
+                ry * force.z() - rz * force.y(),
+                rz * force.x() - rx * force.z(),
+                rx * force.y() - ry * force.x());
+    }
+
+    public void queueTorque(Vector3dc torque) {
+        pendingTorque.add(torque);
+    }
+
+    /** Semi-implicit Euler step: v += F/m dt, x += v dt, w += tau/I dt, q integrates w. */
+    public void step(double dt) {
+        if (!isStatic) {
+            double mass = inertiaData.getMass();
+            double inertia = inertiaData.getMomentOfInertia();
+
+            if (mass > 0) velocity.fma(dt / mass, pendingForce);
+            if (inertia > 0) omega.fma(dt / inertia, pendingTorque);
+
+            transform.getPositionInWorld().fma(dt, velocity, nextPosition);
+            nextRotation.set(transform.getShipToWorldRotation()).integrate(dt, omega.x, omega.y, omega.z);
+            transform.set(nextPosition, nextRotation);
+        }
+
+        pendingForce.zero();
+        pendingTorque.zero();
+    }
+}
@@ -0,0 +1,21 @@
+package org.valkyrienskies.core.impl.game.ships;
+
+/** Stand-in inertia data: mass plus a scalar moment of inertia (uniform, about the COM). */
+public final class ShipInertiaDataImpl {
+
+    private final double mass;
+    private final double momentOfInertia;
+
+    public ShipInertiaDataImpl(double mass, double momentOfInertia) {
+        this.mass = mass;
+        this.momentOfInertia = momentOfInertia;
+    }
+
+    public double getMass() {
+        return mass;
+    }
+
+    public double getMomentOfInertia() {
+        return momentOfInertia;
+    }
+}
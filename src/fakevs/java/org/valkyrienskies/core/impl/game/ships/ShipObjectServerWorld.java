@@ -0,0 +1,28 @@
+package org.valkyrienskies.core.impl.game.ships;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Stand-in server ship world: the loaded-ship collection across all dimensions. */
+public final class ShipObjectServerWorld {
+
+    private final Map<Long, ShipData> loaded = new LinkedHashMap<>();
+
+    public Collection<ShipData> getLoadedShips() {
+        return Collections.unmodifiableCollection(loaded.values());
+    }
+
+    public void load(ShipData ship) {
+        loaded.put(ship.getId(), ship);
+    }
+
+    public void unload(long shipId) {
+        loaded.remove(shipId);
+    }
+
+    public void clear() {
+        loaded.clear();
+    }
+}
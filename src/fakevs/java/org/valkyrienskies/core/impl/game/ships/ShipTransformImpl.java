@@ -0,0 +1,57 @@
+package org.valkyrienskies.core.impl.game.ships;
+
+import org.joml.Matrix4d;
+import org.joml.Matrix4dc;
+import org.joml.Quaterniond;
+import org.joml.Quaterniondc;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+/**
+ * Stand-in ShipTransform: world COM, shipyard COM, rotation, and the two matrices
+ * derived from them (shipToWorld = T(positionInWorld) * R * T(-positionInShip)).
+ */
+public final class ShipTransformImpl {
+
+    private final Vector3d positionInWorld = new Vector3d();
+    private final Vector3d positionInShip = new Vector3d();
+    private final Quaterniond shipToWorldRotation = new Quaterniond();
+
+    private final Matrix4d shipToWorld = new Matrix4d();
+    private final Matrix4d worldToShip = new Matrix4d();
+
+    public ShipTransformImpl(Vector3dc positionInWorld, Vector3dc positionInShip, Quaterniondc rotation) {
+        this.positionInShip.set(positionInShip);
+        set(positionInWorld, rotation);
+    }
+
+    public Vector3dc getPositionInWorld() {
+        return positionInWorld;
+    }
+
+    public Vector3dc getPositionInShip() {
+        return positionInShip;
+    }
+
+    public Quaterniondc getShipToWorldRotation() {
+        return shipToWorldRotation;
+    }
+
+    public Matrix4dc getShipToWorld() {
+        return shipToWorld;
+    }
+
+    public Matrix4dc getWorldToShip() {
+        return worldToShip;
+    }
+
+    void set(Vector3dc positionInWorld, Quaterniondc rotation) {
+        this.positionInWorld.set(positionInWorld);
+        this.shipToWorldRotation.set(rotation).normalize();
+
+        shipToWorld.translation(this.positionInWorld)
+                .rotate(this.shipToWorldRotation)
+                .translate(-positionInShip.x, -positionInShip.y, -positionInShip.z);
+        shipToWorld.invertAffine(worldToShip);
+    }
+}
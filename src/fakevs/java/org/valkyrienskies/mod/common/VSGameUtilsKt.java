@@ -0,0 +1,32 @@
+package org.valkyrienskies.mod.common;
+
+import org.valkyrienskies.core.impl.game.ships.ShipData;
+import org.valkyrienskies.core.impl.game.ships.ShipObjectServerWorld;
+import org.valkyrienskies.mod.common.fake.FakeShipWorld;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+/** Stand-in for the Kotlin file class VSGameUtilsKt (managing-ship lookups, ship world, dimension ids). */
+public final class VSGameUtilsKt {
+
+    private VSGameUtilsKt() {}
+
+    /** Ship whose shipyard claim contains pos, or null (world positions are never managed). */
+    public static ShipData getShipManagingPos(ServerLevel level, Vec3 pos) {
+        return FakeShipWorld.shipManaging(FakeShipWorld.dimensionId(level), pos.x, pos.z);
+    }
+
+    public static ShipData getShipManagingPos(ServerLevel level, BlockPos pos) {
+        return FakeShipWorld.shipManaging(FakeShipWorld.dimensionId(level), pos.getX() + 0.5, pos.getZ() + 0.5);
+    }
+
+    public static ShipObjectServerWorld getShipObjectWorld(ServerLevel level) {
+        return FakeShipWorld.shipWorld();
+    }
+
+    public static String getDimensionId(Level level) {
+        return "minecraft:dimension:" + level.dimension().location();
+    }
+}
@@ -0,0 +1,20 @@
+package org.valkyrienskies.mod.common;
+
+import org.valkyrienskies.core.impl.game.GameToPhysicsAdapter;
+import org.valkyrienskies.mod.common.fake.FakeShipWorld;
+
+/**
+ * Stand-in for the Kotlin object ValkyrienSkiesMod: members live on INSTANCE
+ * (no @JvmStatic), which is the shape VsShipForces has to bind.
+ */
+public final class ValkyrienSkiesMod {
+
+    public static final ValkyrienSkiesMod INSTANCE = new ValkyrienSkiesMod();
+
+    private ValkyrienSkiesMod() {}
+
+    /** One adapter per dimension key, e.g. "minecraft:dimension:minecraft:overworld". */
+    public GameToPhysicsAdapter getOrCreateGTPA(String dimensionId) {
+        return FakeShipWorld.gtpa(dimensionId);
+    }
+}
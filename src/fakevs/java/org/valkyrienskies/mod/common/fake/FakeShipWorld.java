@@ -0,0 +1,146 @@
+package org.valkyrienskies.mod.common.fake;
+
+import org.valkyrienskies.core.api.ships.properties.ChunkClaim;
+import org.valkyrienskies.core.impl.game.GameToPhysicsAdapter;
+import org.valkyrienskies.core.impl.game.ships.ShipData;
+import org.valkyrienskies.core.impl.game.ships.ShipInertiaDataImpl;
+import org.valkyrienskies.core.impl.game.ships.ShipObjectServerWorld;
+import org.valkyrienskies.core.impl.game.ships.ShipTransformImpl;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Harness side of the headless VS stand-in (not a VS class): spawn ships, look them up,
+ * step them. Each ship owns a square shipyard claim far out on +X, like VS chunk claims.
+ *
+ * IMPORTANT:
+ *  - Server thread only.
+ *  - Dimension ids use VS's format: "minecraft:dimension:" + level key location.
+ */
+public final class FakeShipWorld {
+
+    // Shipyard claims: CLAIM_SIZE blocks square, laid out along +X from SHIPYARD_ORIGIN_X, z in [0, CLAIM_SIZE)
+    public static final int SHIPYARD_ORIGIN_X = 28_000_000;
+    public static final int CLAIM_SIZE = 4096;
+
+    private static final class Dimension {
+        final GameToPhysicsAdapter gtpa;
+        final Long2ObjectOpenHashMap<ShipData> shipsById = new Long2ObjectOpenHashMap<>();
+        final Long2ObjectOpenHashMap<ShipData> shipsByClaim = new Long2ObjectOpenHashMap<>();
+
+        Dimension(String id) {
+            this.gtpa = new GameToPhysicsAdapter(id);
+        }
+    }
+
+    private static final Map<String, Dimension> DIMENSIONS = new HashMap<>();
+    private static final ShipObjectServerWorld SHIP_WORLD = new ShipObjectServerWorld();
+    private static long nextShipId = 1;
+
+    private FakeShipWorld() {}
+
+    public static String dimensionId(ServerLevel level) {
+        return "minecraft:dimension:" + level.dimension().location();
+    }
+
+    /**
+     * Creates a ship of the given mass whose centre of mass sits at shipyard
+     * (claimCenter, y, claimCenter) and at world (wx, wy, wz), rotated yawDeg about Y.
+     * Blocks placed around {@link #shipyardCenter(ShipData)} belong to it.
+     */
+    public static ShipData createShip(ServerLevel level, double mass, double radius,
+                                      double wx, double wy, double wz, double yawDeg) {
+        String dimId = dimensionId(level);
+        Dimension dim = dimension(dimId);
+
+        long id = nextShipId++;
+        long claim = id - 1;
+
+        double half = CLAIM_SIZE / 2.0;
+        Vector3d inShip = new Vector3d(SHIPYARD_ORIGIN_X + claim * CLAIM_SIZE + half, wy, half);
+        Quaterniond rotation = new Quaterniond().rotationY(Math.toRadians(yawDeg));
+
+        int chunkX0 = (SHIPYARD_ORIGIN_X + (int) claim * CLAIM_SIZE) >> 4;
+        ChunkClaim chunkClaim = new ChunkClaim(chunkX0, chunkX0 + (CLAIM_SIZE >> 4) - 1, 0, (CLAIM_SIZE >> 4) - 1);
+
+        ShipData ship = new ShipData(
+                id,
+                chunkClaim,
+                dimId,
+                new ShipInertiaDataImpl(mass, mass * radius * radius),
+                new ShipTransformImpl(new Vector3d(wx, wy, wz), inShip, rotation)
+        );
+
+        dim.shipsById.put(id, ship);
+        dim.shipsByClaim.put(claim, ship);
+        SHIP_WORLD.load(ship);
+        return ship;
+    }
+
+    /** Drops a ship from the loaded set (like VS unloading it); lookups stop finding it. */
+    public static void unloadShip(ServerLevel level, long shipId) {
+        Dimension dim = DIMENSIONS.get(dimensionId(level));
+        if (dim == null) return;
+
+        ShipData ship = dim.shipsById.remove(shipId);
+        if (ship == null) return;
+
+        dim.shipsByClaim.values().remove(ship);
+        SHIP_WORLD.unload(shipId);
+    }
+
+    public static ShipObjectServerWorld shipWorld() {
+        return SHIP_WORLD;
+    }
+
+    /** Shipyard block at the ship's centre of mass (place the fence/knot relative to this). */
+    public static BlockPos shipyardCenter(ShipData ship) {
+        return BlockPos.containing(
+                ship.getTransform().getPositionInShip().x(),
+                ship.getTransform().getPositionInShip().y(),
+                ship.getTransform().getPositionInShip().z());
+    }
+
+    public static ShipData shipManaging(String dimensionId, double x, double z) {
+        Dimension dim = DIMENSIONS.get(dimensionId);
+        if (dim == null) return null;
+        if (x < SHIPYARD_ORIGIN_X || z < 0 || z >= CLAIM_SIZE) return null;
+
+        long claim = (long) Math.floor((x - SHIPYARD_ORIGIN_X) / CLAIM_SIZE);
+        return dim.shipsByClaim.get(claim);
+    }
+
+    public static ShipData ship(String dimensionId, long shipId) {
+        Dimension dim = DIMENSIONS.get(dimensionId);
+        return dim != null ? dim.shipsById.get(shipId) : null;
+    }
+
+    public static GameToPhysicsAdapter gtpa(String dimensionId) {
+        return dimension(dimensionId).gtpa;
+    }
+
+    /** Integrates every ship by dt seconds (called once per server tick by the fake mod). */
+    public static void step(double dt) {
+        for (Dimension dim : DIMENSIONS.values()) {
+            for (ShipData ship : dim.shipsById.values()) {
+                ship.step(dt);
+            }
+        }
+    }
+
+    public static void clear() {
+        DIMENSIONS.clear();
+        SHIP_WORLD.clear();
+        nextShipId = 1;
+    }
+
+    private static Dimension dimension(String dimensionId) {
+        return DIMENSIONS.computeIfAbsent(dimensionId, Dimension::new);
+    }
+}
@@ -0,0 +1,31 @@
+package org.valkyrienskies.mod.forge;
+
+import org.valkyrienskies.mod.common.fake.FakeShipWorld;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Mod entry point of the headless VS stand-in.
+ * Steps every fake ship once per server tick (VS velocities are per second).
+ */
+@Mod("valkyrienskies")
+public class ValkyrienSkiesModForge {
+
+    private static final double TICK_SECONDS = 1.0 / 20.0;
+
+    public ValkyrienSkiesModForge() {
+        MinecraftForge.EVENT_BUS.addListener(ValkyrienSkiesModForge::onServerTick);
+        MinecraftForge.EVENT_BUS.addListener(ValkyrienSkiesModForge::onServerStopped);
+    }
+
+    private static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        FakeShipWorld.step(TICK_SECONDS);
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        FakeShipWorld.clear();
+    }
+}
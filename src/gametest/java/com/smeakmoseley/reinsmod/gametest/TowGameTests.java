@@ -0,0 +1,120 @@
+package com.smeakmoseley.reinsmod.gametest;
+
+import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.tow.TowController;
+import com.smeakmoseley.reinsmod.tow.TowForce;
+import com.smeakmoseley.reinsmod.tow.TowHold;
+import com.smeakmoseley.reinsmod.tow.TowSchedule;
+import com.smeakmoseley.reinsmod.vs.ShipForceAccumulator;
+import com.smeakmoseley.reinsmod.vs.ShipKinematics;
+import com.smeakmoseley.reinsmod.vs.VsShipTransforms;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import org.joml.Vector3d;
+import org.valkyrienskies.core.impl.game.GameToPhysicsAdapter;
+import org.valkyrienskies.core.impl.game.ships.ShipData;
+import org.valkyrienskies.mod.common.fake.FakeShipWorld;
+
+/**
+ * Tow stack against the headless VS stand-in (./gradlew runGameTestServer -PfakeVs).
+ *
+ * The rope itself is not simulated: vanilla drops a leash stretched past 10 blocks, and
+ * without VS's distance patches the shipyard knot is ~28M blocks away. The tests start
+ * from the controller input a stretched rope produces and check everything after it:
+ * TowController -> TowHold -> ShipForceAccumulator -> reflective VS bridge -> ship.
+ */
+@GameTestHolder(ReinsMod.MODID)
+@PrefixGameTestTemplate(false)
+public class TowGameTests {
+
+    private static final double SHIP_MASS = 10_000.0;
+
+    // Fence this far from the centre of mass along shipyard +Z; animal this far out along world +X
+    private static final double FENCE_OFFSET = 2.0;
+    private static final double ROPE_LENGTH = 6.0;
+
+    // Animal walking away (blocks/tick); a ship at rest behind a still animal is HOLD, not PULL
+    private static final double ANIMAL_SPEED = 0.2;
+
+    @GameTest(template = "empty")
+    public static void shipyardToWorldFollowsShipRotation(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        BlockPos origin = helper.absolutePos(new BlockPos(2, 2, 2));
+
+        ShipData ship = FakeShipWorld.createShip(level, SHIP_MASS, 2.0,
+                origin.getX(), origin.getY(), origin.getZ(), 90.0);
+        BlockPos com = FakeShipWorld.shipyardCenter(ship);
+        double comX = ship.getTransform().getPositionInShip().x();
+        double comY = ship.getTransform().getPositionInShip().y();
+        double comZ = ship.getTransform().getPositionInShip().z();
+
+        // Shipyard +Z turned 90 degrees about Y is world +X
+        Vector3d out = new Vector3d();
+        helper.assertTrue(VsShipTransforms.shipyardToWorld(ship, comX, comY, comZ + FENCE_OFFSET, out),
+                "shipyard -> world unresolved on the stand-in (shipyard " + com + ")");
+
+        double err = out.distance(origin.getX() + FENCE_OFFSET, origin.getY(), origin.getZ());
+        helper.assertTrue(err < 1.0e-6, "fence landed " + err + " blocks off; direction picked wrong?");
+
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void stretchedRopePullsShipAtFence(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        BlockPos origin = helper.absolutePos(new BlockPos(2, 2, 2));
+
+        ShipData ship = FakeShipWorld.createShip(level, SHIP_MASS, 2.0,
+                origin.getX(), origin.getY(), origin.getZ(), 0.0);
+        long shipId = ship.getId();
+
+        double fenceX = ship.getTransform().getPositionInShip().x();
+        double fenceY = ship.getTransform().getPositionInShip().y();
+        double fenceZ = ship.getTransform().getPositionInShip().z() + FENCE_OFFSET;
+
+        // Animal ROPE_LENGTH out along +X and walking away: rope stretched past slack
+        TowForce force = new TowForce();
+        TowController.computeTowForce(1.0, 0.0, ROPE_LENGTH, ANIMAL_SPEED,
+                0.0, 0.0, SHIP_MASS,
+                false, 0.0, false,
+                Double.NaN, TowSchedule.REFERENCE_INTERVAL, force);
+
+        helper.assertTrue(force.mode == TowForce.MODE_PULL, "expected PULL, got mode " + force.mode);
+        helper.assertTrue(force.fx > 0.0 && force.fz == 0.0, "pull should point at the animal: fx=" + force.fx + " fz=" + force.fz);
+
+        TowHold held = new TowHold();
+        held.add(force.fx, force.fz, false, true, fenceX, fenceY, fenceZ);
+
+        GameToPhysicsAdapter gtpa = FakeShipWorld.gtpa(FakeShipWorld.dimensionId(level));
+        Vector3d point = new Vector3d();
+
+        // Same per-tick re-application as ShipLeashPhysicsTick.applyHeld
+        helper.onEachTick(() -> {
+            ShipKinematics.Snapshot snap = ShipKinematics.getById(level, shipId);
+            if (snap == null || !snap.shipyardToWorld(held.px[0], held.py[0], held.pz[0], point)) return;
+
+            ShipForceAccumulator.add(snap, held.fx[0], 0.0, held.fz[0], point.x, point.y, point.z);
+            ShipForceAccumulator.flush(level);
+        });
+
+        helper.succeedWhen(() -> {
+            boolean submitted = false;
+            for (GameToPhysicsAdapter.Call call : gtpa.getCalls()) {
+                if (call.shipId() != shipId || call.kind() != GameToPhysicsAdapter.Kind.APPLY_WORLD_FORCE) continue;
+
+                helper.assertTrue(call.x() <= force.fx / TowSchedule.REFERENCE_INTERVAL + 1.0e-6,
+                        "tick force " + call.x() + " above the held per-tick share");
+                submitted = true;
+            }
+            helper.assertTrue(submitted, "no force reached the GTPA");
+
+            // Pulled toward the animal, and turned by the off-centre fence (+Z arm, +X force)
+            helper.assertTrue(ship.getVelocity().x() > 0.05, "ship not pulled: vx=" + ship.getVelocity().x());
+            helper.assertTrue(ship.getOmega().y() > 0.0, "pull applied at the centre of mass, not the fence");
+        });
+    }
+}
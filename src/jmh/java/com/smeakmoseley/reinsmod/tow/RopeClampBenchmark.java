@@ -0,0 +1,40 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Rigid rein clamp math (inside the rope vs. clamped onto the rope circle). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RopeClampBenchmark {
+
+    // Animal distance from the anchor before the move (rope is 2.5)
+    @Param({"1.0", "2.4", "4.0"})
+    public double startDist;
+
+    private final RopeClamp.Move out = new RopeClamp.Move();
+
+    @Benchmark
+    public double clamp() {
+        boolean clamped = RopeClamp.clamp(
+                10.0 + startDist, -4.0,
+                0.2, 0.05,
+                10.0, -4.0,
+                out);
+        return clamped ? out.x : 0.2;
+    }
+}
@@ -0,0 +1,52 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Whole-batch controller solve (sequential below TowBatch.PARALLEL_THRESHOLD, fork/join above). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TowBatchBenchmark {
+
+    @Param({"64", "512", "4096", "32768"})
+    public int leashes;
+
+    private TowBatch batch;
+
+    @Setup
+    public void setup() {
+        batch = new TowBatch(leashes);
+        SplittableRandom rnd = new SplittableRandom(42);
+
+        for (int i = 0; i < leashes; i++) {
+            double a = rnd.nextDouble(Math.PI * 2.0);
+            boolean player = rnd.nextBoolean();
+            batch.add(Math.cos(a), Math.sin(a), 1.0 + rnd.nextDouble(3.0), rnd.nextDouble(0.3),
+                    rnd.nextDouble(-6.0, 6.0), rnd.nextDouble(-6.0, 6.0), 5_000.0 + rnd.nextDouble(200_000.0),
+                    player, player ? rnd.nextDouble() : 0.0, rnd.nextBoolean(),
+                    rnd.nextDouble(50_000.0), TowSchedule.REFERENCE_INTERVAL);
+        }
+    }
+
+    @Benchmark
+    public double solve() {
+        batch.solve();
+        return batch.nextPull[leashes - 1];
+    }
+}
@@ -0,0 +1,62 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** STOP / BRAKE / HOLD / PULL branches of {@link TowController}, one per param. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TowControllerBenchmark {
+
+    @Param({"STOP", "BRAKE", "HOLD", "PULL_PLAYER", "PULL_SPRING"})
+    public String branch;
+
+    private double shipVx;
+    private double dist;
+    private double animalSpeedAlong;
+    private boolean playerControlled;
+    private double inputMag;
+    private double prevPull;
+
+    private final TowForce out = new TowForce();
+
+    @Setup
+    public void setup() {
+        dist = 3.0;
+        prevPull = 50_000.0;
+
+        switch (branch) {
+            case "STOP" -> { shipVx = 2.0; playerControlled = true; inputMag = 0.0; }
+            case "BRAKE" -> { shipVx = 8.0; playerControlled = false; inputMag = 0.0; }
+            case "HOLD" -> { shipVx = 0.4; playerControlled = false; inputMag = 0.0; }
+            case "PULL_PLAYER" -> { shipVx = 0.0; playerControlled = true; inputMag = 1.0; }
+            case "PULL_SPRING" -> { shipVx = 0.0; playerControlled = false; inputMag = 0.0; dist = 4.0; animalSpeedAlong = 0.15; }
+            default -> throw new IllegalArgumentException(branch);
+        }
+    }
+
+    @Benchmark
+    public double computeTowForce() {
+        TowController.computeTowForce(
+                1.0, 0.0, dist, animalSpeedAlong,
+                shipVx, 0.0, 40_000.0,
+                playerControlled, inputMag, false,
+                prevPull, TowSchedule.REFERENCE_INTERVAL, out);
+        return out.fx + out.nextPull;
+    }
+}
@@ -0,0 +1,108 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import net.minecraft.world.phys.Vec3;
+import org.joml.Matrix4d;
+import org.joml.Matrix4dc;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+/**
+ * Minimal stand-ins with the same member shapes the vs package discovers by reflection
+ * (ShipData, ShipTransform, inertia data, GTPA, VSGameUtilsKt.getShipManagingPos).
+ *
+ * IMPORTANT:
+ *  - Benchmarks only. Class names differ from VS on purpose: the real VS jar is on
+ *    this classpath too, so everything is handed to the bridge directly.
+ */
+public final class FakeVs {
+
+    public static final String DIMENSION = "minecraft:dimension:minecraft:overworld";
+
+    // Shipyard X starts here (VS puts ship chunks far out)
+    public static final double SHIPYARD_MIN_X = 20_000_000.0;
+
+    private FakeVs() {}
+
+    public static final class Transform {
+        private final Matrix4d shipToWorld = new Matrix4d();
+        private final Matrix4d worldToShip = new Matrix4d();
+        private final Vector3d positionInWorld = new Vector3d();
+
+        public Matrix4dc getShipToWorld() { return shipToWorld; }
+        public Matrix4dc getWorldToShip() { return worldToShip; }
+        public Vector3dc getPositionInWorld() { return positionInWorld; }
+    }
+
+    public static final class Inertia {
+        private final double mass;
+
+        Inertia(double mass) { this.mass = mass; }
+
+        public double getMass() { return mass; }
+    }
+
+    public static final class Ship {
+        private final long id;
+        private final Transform transform = new Transform();
+        private final Vector3d velocity = new Vector3d();
+        private final Inertia inertia;
+
+        /**
+         * Ship whose shipyard origin sits at (SHIPYARD_MIN_X, 0, 0) and whose centre
+         * of mass is at world (wx, wy, wz), rotated yawDeg about Y.
+         */
+        public Ship(long id, double mass, double wx, double wy, double wz, double yawDeg) {
+            this.id = id;
+            this.inertia = new Inertia(mass);
+
+            transform.positionInWorld.set(wx, wy, wz);
+            transform.shipToWorld.identity()
+                    .translate(wx, wy, wz)
+                    .rotateY(Math.toRadians(yawDeg))
+                    .translate(-SHIPYARD_MIN_X, 0.0, 0.0);
+            transform.shipToWorld.invert(transform.worldToShip);
+        }
+
+        public long getId() { return id; }
+        public String getChunkClaimDimension() { return DIMENSION; }
+        public Transform getTransform() { return transform; }
+        public Vector3dc getVelocity() { return velocity; }
+        public Inertia getInertiaData() { return inertia; }
+
+        public void setVelocity(double x, double y, double z) { velocity.set(x, y, z); }
+    }
+
+    /** Records calls like the real GTPA would queue them (counts + running sums only). */
+    public static final class Gtpa {
+        public long forceCalls;
+        public long torqueCalls;
+        public long staticCalls;
+        public double sumFx, sumFy, sumFz;
+
+        public void applyWorldForce(long shipId, Vector3dc force, Vector3dc pos) {
+            forceCalls++;
+            sumFx += force.x();
+            sumFy += force.y();
+            sumFz += force.z();
+        }
+
+        public void applyWorldTorque(long shipId, Vector3dc torque) {
+            torqueCalls++;
+        }
+
+        public void setStatic(long shipId, boolean isStatic) {
+            staticCalls++;
+        }
+    }
+
+    /** Managing-ship lookup with the VSGameUtilsKt shape (level is unused). */
+    public static final class GameUtils {
+        public static Ship ship;
+
+        private GameUtils() {}
+
+        public static Ship getShipManagingPos(Object level, Vec3 pos) {
+            return (pos.x >= SHIPYARD_MIN_X) ? ship : null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import net.minecraft.world.phys.Vec3;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective VS bridge against {@link FakeVs} ships.
+ *
+ * The lookup* and mass* groups run the same call through Method.invoke, a constant
+ * MethodHandle, the LambdaMetafactory path VsShipAccess compiles, and a direct call,
+ * so the dispatch cost (and any boxing, see gc.alloc.rate.norm) shows up side by side.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VsBridgeBenchmark {
+
+    // Static finals so the JIT treats the handles as constants (as production does)
+    private static final Method LOOKUP_METHOD;
+    private static final MethodHandle LOOKUP_HANDLE;
+    private static final VsShipAccess.RawLookup LOOKUP_LMF;
+
+    private static final Method INERTIA_METHOD;
+    private static final Method MASS_METHOD;
+    private static final MethodHandle MASS_HANDLE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            LOOKUP_METHOD = FakeVs.GameUtils.class.getMethod("getShipManagingPos", Object.class, Vec3.class);
+            LOOKUP_HANDLE = lookup.unreflect(LOOKUP_METHOD)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            LOOKUP_LMF = VsShipAccess.compileRaw(LOOKUP_METHOD);
+
+            INERTIA_METHOD = FakeVs.Ship.class.getMethod("getInertiaData");
+            MASS_METHOD = FakeVs.Inertia.class.getMethod("getMass");
+            MASS_HANDLE = MethodHandles.filterReturnValue(lookup.unreflect(INERTIA_METHOD), lookup.unreflect(MASS_METHOD))
+                    .asType(MethodType.methodType(double.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FakeVs.Ship ship;
+    private Vec3 shipyardPos;
+    private Vec3 worldPos;
+    private Vec3 force;
+    private ShipKinematics.Snapshot snapshot;
+    private final Vector3d out = new Vector3d();
+
+    @Setup
+    public void setup() {
+        ship = new FakeVs.Ship(7L, 40_000.0, 100.0, 64.0, -30.0, 30.0);
+        FakeVs.GameUtils.ship = ship;
+        VsShipForces.cacheGtpa(FakeVs.DIMENSION, new FakeVs.Gtpa());
+
+        shipyardPos = new Vec3(FakeVs.SHIPYARD_MIN_X + 3.5, 66.0, 4.5);
+        worldPos = VsShipTransforms.shipyardToWorld(ship, shipyardPos); // also settles matrix direction
+        force = new Vec3(12_000.0, 0.0, -4_000.0);
+
+        snapshot = new ShipKinematics.Snapshot();
+        snapshot.hasTransform = VsShipTransforms.readMatrices(ship, shipyardPos, snapshot.shipToWorld, snapshot.worldToShip);
+    }
+
+    // ---------------- managing-ship lookup ----------------
+
+    @Benchmark
+    public Object lookupDirect() {
+        return FakeVs.GameUtils.getShipManagingPos(null, shipyardPos);
+    }
+
+    @Benchmark
+    public Object lookupMethodInvoke() throws Throwable {
+        return LOOKUP_METHOD.invoke(null, null, shipyardPos);
+    }
+
+    @Benchmark
+    public Object lookupMethodHandle() throws Throwable {
+        return (Object) LOOKUP_HANDLE.invokeExact((Object) null, (Object) shipyardPos);
+    }
+
+    @Benchmark
+    public Object lookupLambdaMetafactory() throws Throwable {
+        return LOOKUP_LMF.apply(null, shipyardPos);
+    }
+
+    @Benchmark
+    public long shipId() {
+        return VsShipAccess.getShipId(ship);
+    }
+
+    // ---------------- transforms ----------------
+
+    @Benchmark
+    public Vec3 shipyardToWorld() {
+        return VsShipTransforms.shipyardToWorld(ship, shipyardPos);
+    }
+
+    @Benchmark
+    public double shipyardToWorldInto() {
+        VsShipTransforms.shipyardToWorld(ship, shipyardPos.x, shipyardPos.y, shipyardPos.z, out);
+        return out.x;
+    }
+
+    @Benchmark
+    public Vec3 worldToShipyard() {
+        return VsShipTransforms.worldToShipyard(ship, worldPos);
+    }
+
+    @Benchmark
+    public double worldToShipyardInto() {
+        VsShipTransforms.worldToShipyard(ship, worldPos.x, worldPos.y, worldPos.z, out);
+        return out.x;
+    }
+
+    @Benchmark
+    public double snapshotShipyardToWorldInto() {
+        snapshot.shipyardToWorld(shipyardPos.x, shipyardPos.y, shipyardPos.z, out);
+        return out.x;
+    }
+
+    // ---------------- mass ----------------
+
+    @Benchmark
+    public double massVsShipMass() {
+        return VsShipMass.getShipMass(ship);
+    }
+
+    @Benchmark
+    public double massMethodInvoke() throws Throwable {
+        return ((Number) MASS_METHOD.invoke(INERTIA_METHOD.invoke(ship))).doubleValue();
+    }
+
+    @Benchmark
+    public double massMethodHandle() throws Throwable {
+        return (double) MASS_HANDLE.invokeExact((Object) ship);
+    }
+
+    @Benchmark
+    public double massDirect() {
+        return ship.getInertiaData().getMass();
+    }
+
+    // ---------------- forces ----------------
+
+    @Benchmark
+    public boolean applyWorldForce() {
+        return VsShipForces.applyWorldForce(ship, force, worldPos);
+    }
+}
@@ -22,4 +22,16 @@ public interface IReinedAnimal {
 
     Vec3 getShipAnchorPos();
     void setShipAnchorPos(Vec3 pos);
+
+    // 🔹 Resolved anchor (PERSISTED): which ship, how the knot position is read,
+    // and (SHIPYARD only) the anchor in that ship's shipyard space.
+    // Cleared automatically when the fence or anchor changes.
+    enum AnchorSpace { UNRESOLVED, SHIPYARD, WORLD }
+
+    long getAnchorShipId();
+    AnchorSpace getAnchorSpace();
+    Vec3 getShipLocalAnchor();
+
+    void setResolvedAnchor(long shipId, AnchorSpace space, Vec3 shipLocalAnchor);
+    void clearResolvedAnchor();
 }
\ No newline at end of file
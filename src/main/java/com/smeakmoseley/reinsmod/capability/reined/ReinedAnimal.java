@@ -1,8 +1,10 @@
 package com.smeakmoseley.reinsmod.capability.reined;
 
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.Vec3;
 
+import java.util.Objects;
 import java.util.UUID;
 
 public class ReinedAnimal implements IReinedAnimal {
@@ -14,7 +16,11 @@ public class ReinedAnimal implements IReinedAnimal {
     private boolean leashedToShip = false;
     private BlockPos shipFencePos = null;
     private Vec3 shipAnchorPos = null;
-    private int shipLeashGraceTicks = 0;
+
+    // Resolved anchor (see ShipAnchorResolver)
+    private long anchorShipId = VsShipAccess.NO_SHIP_ID;
+    private AnchorSpace anchorSpace = AnchorSpace.UNRESOLVED;
+    private Vec3 shipLocalAnchor = null;
 
     @Override
     public boolean hasReins() {
@@ -53,6 +59,7 @@ public class ReinedAnimal implements IReinedAnimal {
 
     @Override
     public void setShipFencePos(BlockPos pos) {
+        if (!Objects.equals(this.shipFencePos, pos)) clearResolvedAnchor();
         this.shipFencePos = pos;
     }
 
@@ -63,6 +70,46 @@ public class ReinedAnimal implements IReinedAnimal {
 
     @Override
     public void setShipAnchorPos(Vec3 pos) {
+        if (!Objects.equals(this.shipAnchorPos, pos)) clearResolvedAnchor();
         this.shipAnchorPos = pos;
     }
+
+    @Override
+    public long getAnchorShipId() {
+        return anchorShipId;
+    }
+
+    @Override
+    public AnchorSpace getAnchorSpace() {
+        return anchorSpace;
+    }
+
+    @Override
+    public Vec3 getShipLocalAnchor() {
+        return shipLocalAnchor;
+    }
+
+    @Override
+    public void setResolvedAnchor(long shipId, AnchorSpace space, Vec3 shipLocalAnchor) {
+        this.anchorShipId = shipId;
+        this.anchorSpace = (space != null) ? space : AnchorSpace.UNRESOLVED;
+        this.shipLocalAnchor = shipLocalAnchor;
+    }
+
+    @Override
+    public void clearResolvedAnchor() {
+        anchorShipId = VsShipAccess.NO_SHIP_ID;
+        anchorSpace = AnchorSpace.UNRESOLVED;
+        shipLocalAnchor = null;
+    }
+
+    /** Nothing set: an unreined animal that was never tied to a ship. */
+    boolean isDefault() {
+        return !hasReins
+                && owner == null
+                && !leashedToShip
+                && shipFencePos == null
+                && shipAnchorPos == null
+                && anchorSpace == AnchorSpace.UNRESOLVED;
+    }
 }
@@ -1,5 +1,7 @@
 package com.smeakmoseley.reinsmod.capability.reined;
 
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtUtils;
@@ -7,57 +9,189 @@ import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.capabilities.*;
 import net.minecraftforge.common.util.LazyOptional;
 
-public class ReinedAnimalProvider implements ICapabilitySerializable<CompoundTag> {
+import java.util.UUID;
+
+/**
+ * Reins capability for every Animal, stored sparsely.
+ *
+ * Almost no animal is ever reined, so the provider is also the capability view:
+ * until something sets a non-default value there is no ReinedAnimal behind it, the
+ * getters answer with defaults and default-valued setters are no-ops. The state is
+ * dropped again on save once it is back to default (reins removed, leash cleared).
+ *
+ * NBT: only non-default fields are written, so an unreined animal saves an empty
+ * tag. Missing keys read as defaults, so saves that still carry HasReins=false /
+ * ShipLeashed=false load unchanged.
+ *
+ * Residual cost: Forge's CapabilityDispatcher writes an entry for every serializable
+ * provider, so each unreined animal still saves an empty "reinsmod:reined_animal"
+ * compound under ForgeCaps (key plus an empty tag, a few dozen bytes per animal
+ * per chunk save). Removing it would mean persisting outside the capability.
+ */
+public class ReinedAnimalProvider implements ICapabilitySerializable<CompoundTag>, IReinedAnimal {
 
     public static final Capability<IReinedAnimal> CAPABILITY =
             CapabilityManager.get(new CapabilityToken<>() {});
 
-    private final IReinedAnimal instance = new ReinedAnimal();
-    private final LazyOptional<IReinedAnimal> optional = LazyOptional.of(() -> instance);
+    // Null until a non-default value is set
+    private ReinedAnimal state;
+
+    // Created on first lookup
+    private LazyOptional<IReinedAnimal> optional;
 
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, Direction side) {
-        return cap == CAPABILITY ? optional.cast() : LazyOptional.empty();
+        if (cap != CAPABILITY) return LazyOptional.empty();
+
+        if (optional == null) optional = LazyOptional.of(() -> this);
+        return optional.cast();
+    }
+
+    private ReinedAnimal state() {
+        if (state == null) state = new ReinedAnimal();
+        return state;
+    }
+
+    // =========================================================
+    // IReinedAnimal (defaults while no state)
+    // =========================================================
+
+    @Override
+    public boolean hasReins() {
+        return state != null && state.hasReins();
+    }
+
+    @Override
+    public void setHasReins(boolean value) {
+        if (state != null || value) state().setHasReins(value);
     }
 
+    @Override
+    public UUID getOwner() {
+        return state != null ? state.getOwner() : null;
+    }
+
+    @Override
+    public void setOwner(UUID uuid) {
+        if (state != null || uuid != null) state().setOwner(uuid);
+    }
+
+    @Override
+    public boolean isLeashedToShip() {
+        return state != null && state.isLeashedToShip();
+    }
+
+    @Override
+    public void setLeashedToShip(boolean value) {
+        if (state != null || value) state().setLeashedToShip(value);
+    }
+
+    @Override
+    public BlockPos getShipFencePos() {
+        return state != null ? state.getShipFencePos() : null;
+    }
+
+    @Override
+    public void setShipFencePos(BlockPos pos) {
+        if (state != null || pos != null) state().setShipFencePos(pos);
+    }
+
+    @Override
+    public Vec3 getShipAnchorPos() {
+        return state != null ? state.getShipAnchorPos() : null;
+    }
+
+    @Override
+    public void setShipAnchorPos(Vec3 pos) {
+        if (state != null || pos != null) state().setShipAnchorPos(pos);
+    }
+
+    @Override
+    public long getAnchorShipId() {
+        return state != null ? state.getAnchorShipId() : VsShipAccess.NO_SHIP_ID;
+    }
+
+    @Override
+    public AnchorSpace getAnchorSpace() {
+        return state != null ? state.getAnchorSpace() : AnchorSpace.UNRESOLVED;
+    }
+
+    @Override
+    public Vec3 getShipLocalAnchor() {
+        return state != null ? state.getShipLocalAnchor() : null;
+    }
+
+    @Override
+    public void setResolvedAnchor(long shipId, AnchorSpace space, Vec3 shipLocalAnchor) {
+        if (state != null || (space != null && space != AnchorSpace.UNRESOLVED)) {
+            state().setResolvedAnchor(shipId, space, shipLocalAnchor);
+        }
+    }
+
+    @Override
+    public void clearResolvedAnchor() {
+        if (state != null) state.clearResolvedAnchor();
+    }
+
+    // =========================================================
+    // NBT (non-default fields only)
+    // =========================================================
+
     @Override
     public CompoundTag serializeNBT() {
         CompoundTag tag = new CompoundTag();
 
-        tag.putBoolean("HasReins", instance.hasReins());
-        if (instance.getOwner() != null) {
-            tag.putUUID("Owner", instance.getOwner());
+        if (state != null && state.isDefault()) state = null;
+        if (state == null) return tag;
+
+        if (state.hasReins()) tag.putBoolean("HasReins", true);
+        if (state.getOwner() != null) {
+            tag.putUUID("Owner", state.getOwner());
         }
 
-        tag.putBoolean("ShipLeashed", instance.isLeashedToShip());
-        if (instance.getShipFencePos() != null) {
-            tag.put("ShipFencePos", NbtUtils.writeBlockPos(instance.getShipFencePos()));
+        if (state.isLeashedToShip()) tag.putBoolean("ShipLeashed", true);
+        if (state.getShipFencePos() != null) {
+            tag.put("ShipFencePos", NbtUtils.writeBlockPos(state.getShipFencePos()));
         }
-        if (instance.getShipAnchorPos() != null) {
-            Vec3 a = instance.getShipAnchorPos();
+        if (state.getShipAnchorPos() != null) {
+            Vec3 a = state.getShipAnchorPos();
             tag.putDouble("AnchorX", a.x);
             tag.putDouble("AnchorY", a.y);
             tag.putDouble("AnchorZ", a.z);
         }
 
+        // Resolved anchor: lets a reload reconnect without re-running detection
+        if (state.getAnchorSpace() != AnchorSpace.UNRESOLVED) {
+            tag.putLong("AnchorShipId", state.getAnchorShipId());
+            tag.putByte("AnchorSpace", (byte) state.getAnchorSpace().ordinal());
+
+            Vec3 local = state.getShipLocalAnchor();
+            if (local != null) {
+                tag.putDouble("LocalAnchorX", local.x);
+                tag.putDouble("LocalAnchorY", local.y);
+                tag.putDouble("LocalAnchorZ", local.z);
+            }
+        }
+
         return tag;
     }
 
     @Override
     public void deserializeNBT(CompoundTag tag) {
-        instance.setHasReins(tag.getBoolean("HasReins"));
+        // Older saves wrote the defaults out; they read back as no state at all
+        setHasReins(tag.getBoolean("HasReins"));
         if (tag.hasUUID("Owner")) {
-            instance.setOwner(tag.getUUID("Owner"));
+            setOwner(tag.getUUID("Owner"));
         }
 
-        instance.setLeashedToShip(tag.getBoolean("ShipLeashed"));
+        setLeashedToShip(tag.getBoolean("ShipLeashed"));
 
         if (tag.contains("ShipFencePos")) {
-            instance.setShipFencePos(NbtUtils.readBlockPos(tag.getCompound("ShipFencePos")));
+            setShipFencePos(NbtUtils.readBlockPos(tag.getCompound("ShipFencePos")));
         }
 
         if (tag.contains("AnchorX")) {
-            instance.setShipAnchorPos(
+            setShipAnchorPos(
                     new Vec3(
                             tag.getDouble("AnchorX"),
                             tag.getDouble("AnchorY"),
@@ -65,5 +199,23 @@ public class ReinedAnimalProvider implements ICapabilitySerializable<CompoundTag
                     )
             );
         }
+
+        // After fence/anchor (their setters clear the resolution)
+        if (tag.contains("AnchorSpace")) {
+            AnchorSpace[] spaces = AnchorSpace.values();
+            int ordinal = tag.getByte("AnchorSpace");
+
+            if (ordinal > 0 && ordinal < spaces.length) {
+                Vec3 local = tag.contains("LocalAnchorX")
+                        ? new Vec3(
+                                tag.getDouble("LocalAnchorX"),
+                                tag.getDouble("LocalAnchorY"),
+                                tag.getDouble("LocalAnchorZ")
+                        )
+                        : null;
+
+                setResolvedAnchor(tag.getLong("AnchorShipId"), spaces[ordinal], local);
+            }
+        }
     }
 }
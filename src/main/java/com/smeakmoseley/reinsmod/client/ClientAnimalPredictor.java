@@ -0,0 +1,248 @@
+package com.smeakmoseley.reinsmod.client;
+
+import com.smeakmoseley.reinsmod.control.AnimalSteering;
+import com.smeakmoseley.reinsmod.network.ControlCorrectionPacket;
+import com.smeakmoseley.reinsmod.tow.ControlStep;
+import com.smeakmoseley.reinsmod.tow.RopeClamp;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.animal.Animal;
+
+import java.util.Arrays;
+
+/**
+ * Client-side prediction for the animals this player steers with the whip.
+ *
+ * Every client tick the predicted animals run AnimalSteering, the exact step the
+ * server runs (yaw slew, walk/sprint displacement, rigid rope clamp, gravity,
+ * collision via move()), so the player sees their input applied the same tick
+ * instead of one round trip later.
+ *
+ * Reconciliation: each predicted tick records the "raw" trajectory (position minus
+ * all corrections applied so far) by client tick. A ControlCorrectionPacket names the
+ * client tick its authoritative state corresponds to; the difference between that
+ * state and the raw trajectory at that tick is the correction still owed, and it is
+ * paid off smoothly (CORRECTION_RATE per tick) unless it is large enough to snap.
+ * With identical steps on both sides, corrections only arrive when something the
+ * client cannot see moved the animal (ship drag, pushes, knockback).
+ *
+ * IMPORTANT:
+ *  - Client thread only.
+ *  - Vanilla keeps interpolating the entity toward the (older) server position; the
+ *    predicted position is re-imposed every tick after entities have ticked.
+ *  - Animals stop being predicted when the whip is put away or the server disables
+ *    input; vanilla interpolation then takes over again.
+ */
+public final class ClientAnimalPredictor {
+
+    // Predicted ticks kept for reconciliation (power of two; 3.2 s of round trip)
+    private static final int HISTORY = 64;
+    private static final int HISTORY_MASK = HISTORY - 1;
+
+    // Share of the outstanding correction applied per tick
+    private static final double CORRECTION_RATE = 0.25;
+    private static final float YAW_CORRECTION_RATE = 0.25f;
+
+    // Errors beyond this are not smoothed (teleport, ship lurch, missed collision)
+    private static final double SNAP_DIST = 4.0;
+
+    private static final class Predicted {
+        boolean started;
+
+        // Predicted state (what the entity shows)
+        double x, y, z;
+        float yaw;
+
+        // Corrections applied so far, and still owed
+        double appliedX, appliedY, appliedZ;
+        float appliedYaw;
+        double owedX, owedY, owedZ;
+        float owedYaw;
+
+        // Step state (vertical speed), as the server keeps it
+        final AnimalSteering.Body body = new AnimalSteering.Body();
+
+        // World rope anchor from the last correction (NaN = no clamp)
+        double anchorX = Double.NaN, anchorZ = Double.NaN;
+
+        // Raw trajectory by client tick (position minus applied corrections)
+        final int[] histTick = new int[HISTORY];
+        final double[] histX = new double[HISTORY];
+        final double[] histY = new double[HISTORY];
+        final double[] histZ = new double[HISTORY];
+        final float[] histYaw = new float[HISTORY];
+
+        Predicted() {
+            reset();
+        }
+
+        void reset() {
+            started = false;
+            appliedX = appliedY = appliedZ = 0.0;
+            appliedYaw = 0.0f;
+            owedX = owedY = owedZ = 0.0;
+            owedYaw = 0.0f;
+            body.vy = 0.0;
+            anchorX = anchorZ = Double.NaN;
+            Arrays.fill(histTick, Integer.MIN_VALUE);
+        }
+    }
+
+    private static final Int2ObjectOpenHashMap<Predicted> BY_ENTITY = new Int2ObjectOpenHashMap<>();
+
+    // Scratch (client thread only)
+    private static final ControlStep.Result STEP = new ControlStep.Result();
+    private static final RopeClamp.Move CLAMP = new RopeClamp.Move();
+    private static final IntOpenHashSet KEEP = new IntOpenHashSet();
+
+    private ClientAnimalPredictor() {}
+
+    /** Server's list of animals this player controls (empty = none). */
+    public static void setControlled(int[] entityIds) {
+        KEEP.clear();
+        for (int id : entityIds) {
+            KEEP.add(id);
+            if (!BY_ENTITY.containsKey(id)) BY_ENTITY.put(id, new Predicted());
+        }
+        IntIterator it = BY_ENTITY.keySet().iterator();
+        while (it.hasNext()) {
+            if (!KEEP.contains(it.nextInt())) it.remove();
+        }
+    }
+
+    /** Whip put away / disconnected: hand the animals back to vanilla interpolation. */
+    public static void stop() {
+        for (Predicted p : BY_ENTITY.values()) {
+            p.reset();
+        }
+    }
+
+    public static void clear() {
+        BY_ENTITY.clear();
+    }
+
+    // =========================================================
+    // Predict (client tick END, after entities ticked)
+    // =========================================================
+
+    /**
+     * Runs one predicted step for every controlled animal with this tick's input
+     * (dequantised exactly as the server will see it).
+     */
+    public static void tick(ClientLevel level, int clientTick,
+                            float forward, float strafe, float yaw, boolean sprint) {
+        if (BY_ENTITY.isEmpty()) return;
+
+        for (Int2ObjectOpenHashMap.Entry<Predicted> e : BY_ENTITY.int2ObjectEntrySet()) {
+            Entity entity = level.getEntity(e.getIntKey());
+            Predicted p = e.getValue();
+
+            if (!(entity instanceof Animal animal) || animal.isRemoved()) {
+                p.reset();
+                continue;
+            }
+
+            if (!p.started) {
+                p.x = animal.getX();
+                p.y = animal.getY();
+                p.z = animal.getZ();
+                p.yaw = animal.getYRot();
+                p.started = true;
+            } else {
+                // Undo this tick's vanilla interpolation toward the older server position
+                animal.setPos(p.x, p.y, p.z);
+            }
+
+            predict(animal, p, clientTick, forward, strafe, yaw, sprint);
+        }
+    }
+
+    private static void predict(Animal animal, Predicted p, int clientTick,
+                                float forward, float strafe, float targetYaw, boolean sprint) {
+        ControlStep.Result step = STEP;
+        AnimalSteering.step(animal, p.body, p.yaw, targetYaw, forward, strafe, sprint,
+                p.anchorX, p.anchorZ, step, CLAMP);
+
+        // Pay off part of the owed correction
+        double cx = p.owedX * CORRECTION_RATE;
+        double cy = p.owedY * CORRECTION_RATE;
+        double cz = p.owedZ * CORRECTION_RATE;
+        float cyaw = p.owedYaw * YAW_CORRECTION_RATE;
+        p.owedX -= cx;
+        p.owedY -= cy;
+        p.owedZ -= cz;
+        p.owedYaw -= cyaw;
+        p.appliedX += cx;
+        p.appliedY += cy;
+        p.appliedZ += cz;
+        p.appliedYaw += cyaw;
+
+        p.x = animal.getX() + cx;
+        p.y = animal.getY() + cy;
+        p.z = animal.getZ() + cz;
+        p.yaw = step.yaw + cyaw;
+
+        animal.setPos(p.x, p.y, p.z);
+        animal.setYRot(p.yaw);
+        animal.setYHeadRot(p.yaw);
+        animal.yBodyRot = p.yaw;
+
+        int h = clientTick & HISTORY_MASK;
+        p.histTick[h] = clientTick;
+        p.histX[h] = p.x - p.appliedX;
+        p.histY[h] = p.y - p.appliedY;
+        p.histZ[h] = p.z - p.appliedZ;
+        p.histYaw[h] = p.yaw - p.appliedYaw;
+    }
+
+    // =========================================================
+    // Reconcile (server correction)
+    // =========================================================
+
+    public static void onCorrection(ControlCorrectionPacket msg) {
+        int h = msg.tick & HISTORY_MASK;
+
+        for (int i = 0; i < msg.count; i++) {
+            Predicted p = BY_ENTITY.get(msg.entityIds[i]);
+            if (p == null) continue;
+
+            p.anchorX = msg.anchorXs[i];
+            p.anchorZ = msg.anchorZs[i];
+
+            if (!p.started) continue;
+
+            // Too old (or not predicted at that tick): nothing to compare against
+            if ((p.histTick[h] & 0xFFFF) != msg.tick) continue;
+
+            // Authoritative minus what we would show at that tick with every correction so far
+            double ex = msg.xs[i] - p.histX[h] - p.appliedX;
+            double ey = msg.ys[i] - p.histY[h] - p.appliedY;
+            double ez = msg.zs[i] - p.histZ[h] - p.appliedZ;
+            float eyaw = ControlStep.wrapDegrees(msg.yaw(i) - p.histYaw[h] - p.appliedYaw);
+
+            if (ex * ex + ey * ey + ez * ez > SNAP_DIST * SNAP_DIST) {
+                // Snap: shift the whole prediction onto the server's trajectory at once
+                p.x += ex;
+                p.y += ey;
+                p.z += ez;
+                p.yaw += eyaw;
+                p.appliedX += ex;
+                p.appliedY += ey;
+                p.appliedZ += ez;
+                p.appliedYaw += eyaw;
+                p.owedX = p.owedY = p.owedZ = 0.0;
+                p.owedYaw = 0.0f;
+                continue;
+            }
+
+            // Newer information replaces whatever was still owed
+            p.owedX = ex;
+            p.owedY = ey;
+            p.owedZ = ez;
+            p.owedYaw = eyaw;
+        }
+    }
+}
@@ -1,6 +1,59 @@
 package com.smeakmoseley.reinsmod.client;
 
+/**
+ * Client-side whip input bookkeeping (client thread only).
+ *
+ * The server enables input only while this player has controllable animals in
+ * range; until then nothing is sent. While enabled, input goes out on change plus
+ * a keepalive (ControlTuning.INPUT_KEEPALIVE_TICKS).
+ */
 public class ClientControlState {
     public static float forward = 0;
     public static float strafe = 0;
-}
\ No newline at end of file
+
+    private static boolean inputEnabled = false;
+
+    // Last packet we sent (-1 = nothing sent since enable / whip pickup)
+    private static int lastButtons = -1;
+    private static int lastYawQ = -1;
+    private static int lastSentTick = 0;
+    private static int seq = 0;
+
+    public static boolean isInputEnabled() {
+        return inputEnabled;
+    }
+
+    public static void setInputEnabled(boolean enabled) {
+        inputEnabled = enabled;
+        if (!enabled) resetSent();
+    }
+
+    /**
+     * @return the sequence number to send, or -1 if nothing changed and the
+     *         keepalive is not due yet
+     */
+    public static int nextSeqIfChanged(int buttons, int yawQ, int clientTick, int keepaliveTicks) {
+        boolean changed = buttons != lastButtons || yawQ != lastYawQ;
+        if (!changed && clientTick - lastSentTick < keepaliveTicks) return -1;
+
+        lastButtons = buttons;
+        lastYawQ = yawQ;
+        lastSentTick = clientTick;
+        seq = (seq + 1) & 0xFFFF;
+        return seq;
+    }
+
+    /** Forces the next input out immediately (whip put away, disabled). */
+    public static void resetSent() {
+        lastButtons = -1;
+        lastYawQ = -1;
+    }
+
+    /** Disconnect: back to the "server has not enabled us" state. */
+    public static void reset() {
+        inputEnabled = false;
+        resetSent();
+        forward = 0;
+        strafe = 0;
+    }
+}
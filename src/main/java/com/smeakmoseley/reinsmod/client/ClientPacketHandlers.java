@@ -0,0 +1,30 @@
+package com.smeakmoseley.reinsmod.client;
+
+import com.smeakmoseley.reinsmod.network.ControlCorrectionPacket;
+import com.smeakmoseley.reinsmod.network.ControlEnablePacket;
+import com.smeakmoseley.reinsmod.network.NetworkHandler;
+import com.smeakmoseley.reinsmod.network.TowStateAckPacket;
+import com.smeakmoseley.reinsmod.network.TowStatePacket;
+
+/**
+ * Client-side bodies of server -> client packets. Only reached through
+ * DistExecutor, so client-only classes never load on a dedicated server.
+ */
+public final class ClientPacketHandlers {
+
+    private ClientPacketHandlers() {}
+
+    public static void handleControlEnable(ControlEnablePacket msg) {
+        ClientControlState.setInputEnabled(msg.enabled());
+        ClientAnimalPredictor.setControlled(msg.animalIds);
+    }
+
+    public static void handleControlCorrection(ControlCorrectionPacket msg) {
+        ClientAnimalPredictor.onCorrection(msg);
+    }
+
+    public static void handleTowState(TowStatePacket msg) {
+        ClientTowState.apply(msg);
+        NetworkHandler.CHANNEL.sendToServer(new TowStateAckPacket(msg.batch));
+    }
+}
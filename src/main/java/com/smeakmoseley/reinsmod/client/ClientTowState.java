@@ -0,0 +1,77 @@
+package com.smeakmoseley.reinsmod.client;
+
+import com.smeakmoseley.reinsmod.network.TowStatePacket;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+
+import java.util.UUID;
+
+/**
+ * Client copy of the server's tow state for reined animals near this player, kept
+ * current by TowStatePacket deltas (see TowStateSync). Client features read it
+ * instead of adding their own per-entity packets.
+ *
+ * IMPORTANT:
+ *  - Client thread only.
+ *  - An entity with no entry is not reined (or not within sync range).
+ */
+public final class ClientTowState {
+
+    /** Tow state of one reined animal. */
+    public static final class View {
+        public UUID owner;
+        // TowStatePacket.NONE when not tied to a ship / no fence anchor
+        public long shipId = TowStatePacket.NONE;
+        public long anchor = TowStatePacket.NONE;
+        // 0 = no pull, else ~log2 of the pull force in kN
+        public int pullBucket;
+
+        public boolean isShipLeashed() {
+            return anchor != TowStatePacket.NONE;
+        }
+
+        public BlockPos anchorPos() {
+            return anchor != TowStatePacket.NONE ? BlockPos.of(anchor) : null;
+        }
+    }
+
+    private static final Int2ObjectOpenHashMap<View> BY_ENTITY = new Int2ObjectOpenHashMap<>();
+
+    private ClientTowState() {}
+
+    /** Tow state for this entity id, or null if it is not reined. */
+    public static View get(int entityId) {
+        return BY_ENTITY.get(entityId);
+    }
+
+    public static boolean isReined(int entityId) {
+        return BY_ENTITY.containsKey(entityId);
+    }
+
+    public static void apply(TowStatePacket msg) {
+        for (int i = 0; i < msg.count; i++) {
+            int id = msg.entityIds[i];
+            int mask = msg.masks[i];
+
+            if ((mask & TowStatePacket.REMOVE) != 0) {
+                BY_ENTITY.remove(id);
+                continue;
+            }
+
+            View v = BY_ENTITY.get(id);
+            if (v == null) {
+                v = new View();
+                BY_ENTITY.put(id, v);
+            }
+
+            if ((mask & TowStatePacket.OWNER) != 0) v.owner = msg.owners[i];
+            if ((mask & TowStatePacket.SHIP) != 0) v.shipId = msg.shipIds[i];
+            if ((mask & TowStatePacket.ANCHOR) != 0) v.anchor = msg.anchors[i];
+            if ((mask & TowStatePacket.PULL) != 0) v.pullBucket = msg.pulls[i];
+        }
+    }
+
+    public static void clear() {
+        BY_ENTITY.clear();
+    }
+}
@@ -7,13 +7,15 @@ public class AnimalControlLogic {
 
     public static void handleInput(ServerPlayer player, AnimalControlInputPacket msg) {
         int tick = player.serverLevel().getServer().getTickCount();
-        ServerControlState.update(
+        ServerControlState.submit(
                 player.getUUID(),
-                msg.forward,
-                msg.strafe,
-                msg.yaw,
-                msg.sprint,
-                msg.jump,
+                msg.forward(),
+                msg.strafe(),
+                msg.yaw(),
+                msg.sprint(),
+                msg.jump(),
+                msg.seq,
+                msg.tick,
                 tick
         );
     }
@@ -0,0 +1,78 @@
+package com.smeakmoseley.reinsmod.control;
+
+import com.smeakmoseley.reinsmod.tow.ControlStep;
+import com.smeakmoseley.reinsmod.tow.RopeClamp;
+import net.minecraft.world.entity.MoverType;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * One steered tick of an animal: ControlStep (yaw slew + walk/sprint displacement),
+ * rigid rope clamp against a world anchor, gravity, then a collision-aware move().
+ *
+ * The server (ServerAnimalControlTick) and the predicting client (ClientAnimalPredictor)
+ * both call this, so a prediction only leaves the server's trajectory when something
+ * outside the step moved the animal.
+ *
+ * IMPORTANT:
+ *  - The step owns all of the animal's motion while steered: deltaMovement is zeroed
+ *    afterwards and xxa/zza are never fed, so vanilla travel() has nothing left to
+ *    move. Anything travel() still moves (pushes, knockback, swimming) is real
+ *    divergence.
+ *  - Vertical speed lives in the caller's Body, not in deltaMovement (which travel()
+ *    rewrites between steps on the server and which is not simulated on the client).
+ *  - Scratch objects are passed in: the integrated server and the client run this on
+ *    different threads.
+ */
+public final class AnimalSteering {
+
+    // Allow 1-block step-up while controlled
+    public static final float STEP_HEIGHT = 1.0f;
+
+    // Vanilla LivingEntity.travel() on land
+    private static final double GRAVITY = 0.08;
+    private static final double AIR_DRAG = 0.98;
+
+    /** Per-animal state carried from one step to the next. */
+    public static final class Body {
+        public double vy;
+    }
+
+    private AnimalSteering() {}
+
+    /**
+     * @param anchorX world rope anchor, NaN for no clamp
+     * @param step    receives the yaw slew and the unclamped displacement
+     */
+    public static void step(Animal animal, Body body, float currentYaw, float targetYaw,
+                            float forward, float strafe, boolean sprint,
+                            double anchorX, double anchorZ,
+                            ControlStep.Result step, RopeClamp.Move clamp) {
+        ControlStep.step(currentYaw, targetYaw, forward, strafe, sprint, step);
+
+        double moveX = step.moveX;
+        double moveZ = step.moveZ;
+
+        if (!Double.isNaN(anchorX)
+                && RopeClamp.clamp(animal.getX(), animal.getZ(), moveX, moveZ, anchorX, anchorZ, clamp)) {
+            moveX = clamp.x;
+            moveZ = clamp.z;
+        }
+
+        animal.setYRot(step.yaw);
+        animal.setYHeadRot(step.yaw);
+        animal.yBodyRot = step.yaw;
+
+        // Fluids: no gravity (vanilla floating is left to the animal's own AI)
+        double vy = animal.isInWater() || animal.isInLava() ? 0.0 : body.vy;
+
+        animal.setMaxUpStep(STEP_HEIGHT);
+        animal.move(MoverType.SELF, new Vec3(moveX, vy, moveZ));
+
+        // Landed or hit a ceiling: vanilla zeroes vertical speed the same way
+        if (animal.verticalCollision) vy = 0.0;
+        body.vy = (vy - GRAVITY) * AIR_DRAG;
+
+        animal.setDeltaMovement(Vec3.ZERO);
+    }
+}
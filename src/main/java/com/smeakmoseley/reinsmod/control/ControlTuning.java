@@ -15,4 +15,28 @@ public final class ControlTuning {
 
     // Give extra room while sprinting so it doesn't feel "crowded"
     public static final double SPRINT_SLACK_BONUS = 0.65; // blocks (tune 0.4–1.2)
+
+    // Unchanged whip input is re-sent this often (ticks); changes go out immediately
+    public static final int INPUT_KEEPALIVE_TICKS = 10;
+
+    // Input counts as live this long after the last packet (one keepalive + the old 5-tick grace)
+    public static final int INPUT_GRACE_TICKS = INPUT_KEEPALIVE_TICKS + 5;
+
+    // Past the grace, held forward/strafe fade to zero over this many ticks (no hard drop)
+    public static final int INPUT_DECAY_TICKS = 10;
+
+    // Server jitter buffer: default headroom, and the most it may grow to (ticks)
+    public static final int INPUT_JITTER_DELAY_TICKS = 2;
+    public static final int INPUT_JITTER_MAX_DELAY_TICKS = 6;
+
+    // Server keeps input enabled this long after the last controllable animal leaves range
+    public static final int INPUT_DISABLE_DELAY_TICKS = 40;
+
+    // Steered animal state goes to the controlling player only once the server trajectory
+    // has left the client's prediction by more than this (blocks / degrees)
+    public static final double CORRECTION_TOLERANCE = 0.15;
+    public static final float CORRECTION_YAW_TOLERANCE = 3.0f;
+
+    // ...or this long after the last correction (keeps rope anchor and clock mapping fresh)
+    public static final int CORRECTION_HEARTBEAT_TICKS = 40;
 }
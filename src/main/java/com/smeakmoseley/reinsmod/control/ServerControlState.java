@@ -1,49 +1,368 @@
 package com.smeakmoseley.reinsmod.control;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.Arrays;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
-public class ServerControlState {
+/**
+ * Latest whip input per player, stored densely by player slot, fed through a small
+ * per-player jitter buffer.
+ *
+ * Each input packet carries the client tick it was sampled on. The first packet
+ * maps client ticks onto server ticks with INPUT_JITTER_DELAY_TICKS of headroom;
+ * later packets are queued and applied by {@link #advance} in the server tick they
+ * map to, so uneven arrival no longer shows up as uneven control. A late packet is
+ * applied at once and grows the delay; a delay that stays larger than needed for a
+ * whole window shrinks by one tick.
+ *
+ * IMPORTANT:
+ *  - Server thread only. Packets already hop over with enqueueWork, and both
+ *    tick handlers read on the server thread, so a read always sees one whole
+ *    input (no torn forward/strafe/yaw).
+ *  - A player keeps their slot until they log out; {@link #clear} only drops the
+ *    "controlling" bit, so whip on/off never removes or re-inserts anything.
+ *  - Reads copy into a caller-owned {@link Control} (no allocation).
+ *  - {@link #readRecent} holds the last input through short gaps, then fades
+ *    forward/strafe out over INPUT_DECAY_TICKS instead of dropping to zero.
+ */
+public final class ServerControlState {
 
-    public static class Control {
+    /** Input snapshot; filled by {@link #read} / {@link #readRecent}. */
+    public static final class Control {
         public float forward;
         public float strafe;
         public float yaw;
         public boolean sprint;
         public boolean jump;
 
-        // ✅ when we last received input for this player (server tick)
+        // ✅ server tick the current input was applied on
         public int lastInputTick;
+
+        /** Client sequence number of the packet this input came from (u16, wraps). */
+        public int seq;
+
+        /** Bumped on every input update for this slot (change detection). */
+        public int generation;
+    }
+
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_SLOTS = 16;
+
+    private static final byte SPRINT = 1;
+    private static final byte JUMP = 2;
+
+    // Jitter buffer entries per slot (power of two)
+    private static final int PENDING = 8;
+    private static final int PENDING_MASK = PENDING - 1;
+
+    // Arrival this far off the mapped tick means the client clock jumped: re-map
+    private static final int RESYNC_TICKS = 40;
+
+    // Unused headroom is trimmed once per window
+    private static final int SLACK_WINDOW_TICKS = 100;
+
+    private static final Object2IntOpenHashMap<UUID> SLOTS = new Object2IntOpenHashMap<>();
+    static {
+        SLOTS.defaultReturnValue(NO_SLOT);
     }
 
-    private static final ConcurrentHashMap<UUID, Control> STATE = new ConcurrentHashMap<>();
+    private static final IntArrayList FREE = new IntArrayList();
+    private static int nextSlot = 0;
+
+    // Slot-indexed input (SoA)
+    private static float[] forward = new float[INITIAL_SLOTS];
+    private static float[] strafe = new float[INITIAL_SLOTS];
+    private static float[] yaw = new float[INITIAL_SLOTS];
+    private static byte[] flags = new byte[INITIAL_SLOTS];
+    private static int[] lastInputTick = new int[INITIAL_SLOTS];
+    private static int[] seq = new int[INITIAL_SLOTS];
+    private static int[] generation = new int[INITIAL_SLOTS];
+
+    // "Has live input" bit per slot (set on apply, cleared by clear/release)
+    private static long[] controlling = new long[(INITIAL_SLOTS + 63) >>> 6];
+
+    // Client clock mapping per slot: serverTick = clientTick + offset
+    private static boolean[] synced = new boolean[INITIAL_SLOTS];
+    private static int[] clientTick = new int[INITIAL_SLOTS];
+    private static int[] offset = new int[INITIAL_SLOTS];
+    private static int[] minSlack = new int[INITIAL_SLOTS];
+    private static int[] slackWindowStart = new int[INITIAL_SLOTS];
+
+    // Jitter buffer: ring of PENDING entries per slot at [slot * PENDING, ...)
+    private static int[] pendHead = new int[INITIAL_SLOTS];
+    private static int[] pendCount = new int[INITIAL_SLOTS];
+    private static int[] pendTick = new int[INITIAL_SLOTS * PENDING];
+    private static float[] pendForward = new float[INITIAL_SLOTS * PENDING];
+    private static float[] pendStrafe = new float[INITIAL_SLOTS * PENDING];
+    private static float[] pendYaw = new float[INITIAL_SLOTS * PENDING];
+    private static byte[] pendFlags = new byte[INITIAL_SLOTS * PENDING];
+    private static int[] pendSeq = new int[INITIAL_SLOTS * PENDING];
+
+    private ServerControlState() {}
+
+    // =========================================================
+    // Input arrival
+    // =========================================================
 
-    public static void update(UUID playerId,
+    /**
+     * Queues one input packet for the server tick its client tick maps to.
+     *
+     * @param clientTick16 client tick the input was sampled on (u16, wraps)
+     */
+    public static void submit(UUID playerId,
                               float forward, float strafe, float yaw,
                               boolean sprint, boolean jump,
-                              int serverTick) {
+                              int seq, int clientTick16, int serverTick) {
 
-        Control c = STATE.computeIfAbsent(playerId, id -> new Control());
-        c.forward = forward;
-        c.strafe = strafe;
-        c.yaw = yaw;
-        c.sprint = sprint;
-        c.jump = jump;
-        c.lastInputTick = serverTick;
+        int slot = slotFor(playerId);
+
+        // Unwrap the 16-bit client tick against the last one seen
+        int ct = clientTick[slot] + (short) (clientTick16 - clientTick[slot]);
+
+        int applyTick = ct + offset[slot];
+        int slack = applyTick - serverTick;
+
+        if (!synced[slot] || slack < -RESYNC_TICKS || slack > RESYNC_TICKS) {
+            // First packet (or client clock jumped): map with the default headroom
+            synced[slot] = true;
+            ct = clientTick16;
+            offset[slot] = serverTick - ct + ControlTuning.INPUT_JITTER_DELAY_TICKS;
+            minSlack[slot] = Integer.MAX_VALUE;
+            slackWindowStart[slot] = serverTick;
+            pendCount[slot] = 0;
+
+            applyTick = ct + offset[slot];
+            slack = ControlTuning.INPUT_JITTER_DELAY_TICKS;
+        } else if (slack < 0) {
+            // Late: apply now and keep that much more headroom from here on
+            offset[slot] -= slack;
+            applyTick = serverTick;
+            slack = 0;
+        } else if (slack > ControlTuning.INPUT_JITTER_MAX_DELAY_TICKS) {
+            // Burst after a client hitch: never queue further ahead than the cap
+            int excess = slack - ControlTuning.INPUT_JITTER_MAX_DELAY_TICKS;
+            offset[slot] -= excess;
+            applyTick -= excess;
+            slack -= excess;
+        }
+        clientTick[slot] = ct;
+
+        // Headroom never used for a whole window: give one tick of latency back
+        if (slack < minSlack[slot]) minSlack[slot] = slack;
+        if (serverTick - slackWindowStart[slot] >= SLACK_WINDOW_TICKS) {
+            if (minSlack[slot] > ControlTuning.INPUT_JITTER_DELAY_TICKS) offset[slot]--;
+            minSlack[slot] = Integer.MAX_VALUE;
+            slackWindowStart[slot] = serverTick;
+        }
+
+        int base = slot * PENDING;
+        int count = pendCount[slot];
+
+        // Never reorder: an entry can't apply before the one queued ahead of it
+        if (count > 0) {
+            int tail = base + ((pendHead[slot] + count - 1) & PENDING_MASK);
+            if (applyTick < pendTick[tail]) applyTick = pendTick[tail];
+        }
+
+        if (count == PENDING) {
+            // Full: the oldest entry is due anyway
+            apply(slot, base + pendHead[slot], serverTick);
+            pendHead[slot] = (pendHead[slot] + 1) & PENDING_MASK;
+            count--;
+        }
+
+        int idx = base + ((pendHead[slot] + count) & PENDING_MASK);
+        pendTick[idx] = applyTick;
+        pendForward[idx] = forward;
+        pendStrafe[idx] = strafe;
+        pendYaw[idx] = yaw;
+        pendFlags[idx] = (byte) ((sprint ? SPRINT : 0) | (jump ? JUMP : 0));
+        pendSeq[idx] = seq;
+        pendCount[slot] = count + 1;
+    }
+
+    /** Applies every queued input that is due. Call once per server tick, before any reads. */
+    public static void advance(int serverTick) {
+        for (int slot = 0; slot < nextSlot; slot++) {
+            int count = pendCount[slot];
+            if (count == 0) continue;
+
+            int base = slot * PENDING;
+            int head = pendHead[slot];
+
+            while (count > 0 && pendTick[base + head] <= serverTick) {
+                apply(slot, base + head, serverTick);
+                head = (head + 1) & PENDING_MASK;
+                count--;
+            }
+
+            pendHead[slot] = head;
+            pendCount[slot] = count;
+        }
     }
 
-    public static Control get(UUID playerId) {
-        return STATE.get(playerId);
+    private static void apply(int slot, int idx, int serverTick) {
+        forward[slot] = pendForward[idx];
+        strafe[slot] = pendStrafe[idx];
+        yaw[slot] = pendYaw[idx];
+        flags[slot] = pendFlags[idx];
+        seq[slot] = pendSeq[idx];
+        lastInputTick[slot] = serverTick;
+        generation[slot]++;
+        controlling[slot >>> 6] |= 1L << slot;
     }
 
-    /** Consider "controlling" if we saw input recently (prevents 1-tick flicker). */
-    public static Control getRecent(UUID playerId, int serverTick, int graceTicks) {
-        Control c = STATE.get(playerId);
-        if (c == null) return null;
-        return (serverTick - c.lastInputTick) <= graceTicks ? c : null;
+    // =========================================================
+    // Reads
+    // =========================================================
+
+    /** Player's slot, or -1 if they never sent input (or logged out). */
+    public static int slotOf(UUID playerId) {
+        return SLOTS.getInt(playerId);
     }
 
+    /** Copies the player's current input into out; false if they are not controlling. */
+    public static boolean read(UUID playerId, Control out) {
+        return readSlot(SLOTS.getInt(playerId), out);
+    }
+
+    /** Same as {@link #read(UUID, Control)} for a slot from {@link #slotOf}. */
+    public static boolean readSlot(int slot, Control out) {
+        if (!isControllingSlot(slot)) return false;
+
+        out.forward = forward[slot];
+        out.strafe = strafe[slot];
+        out.yaw = yaw[slot];
+        out.sprint = (flags[slot] & SPRINT) != 0;
+        out.jump = (flags[slot] & JUMP) != 0;
+        out.lastInputTick = lastInputTick[slot];
+        out.seq = seq[slot];
+        out.generation = generation[slot];
+        return true;
+    }
+
+    /**
+     * Input as of serverTick, riding out gaps: the last input holds for graceTicks,
+     * then forward/strafe fade to zero over INPUT_DECAY_TICKS (jump is dropped).
+     * False once fully decayed (prevents 1-tick flicker without pinning stale input).
+     */
+    public static boolean readRecent(UUID playerId, int serverTick, int graceTicks, Control out) {
+        if (!readSlot(SLOTS.getInt(playerId), out)) return false;
+
+        int late = serverTick - out.lastInputTick - graceTicks;
+        if (late <= 0) return true;
+        if (late >= ControlTuning.INPUT_DECAY_TICKS) return false;
+
+        float k = 1.0f - (float) late / ControlTuning.INPUT_DECAY_TICKS;
+        out.forward *= k;
+        out.strafe *= k;
+        out.jump = false;
+        return true;
+    }
+
+    /**
+     * Client tick (u16) whose input the state at the end of serverTick reflects, or -1
+     * if this player's clock is not mapped yet. Stamped on control corrections so client
+     * prediction can compare against what it predicted for that same tick.
+     */
+    public static int clientTickAt(UUID playerId, int serverTick) {
+        int slot = SLOTS.getInt(playerId);
+        if (slot < 0 || !synced[slot]) return -1;
+
+        // advance() runs at tick START, which still sees the previous tick count
+        return (serverTick - 1 - offset[slot]) & 0xFFFF;
+    }
+
+    public static boolean isControlling(UUID playerId) {
+        return isControllingSlot(SLOTS.getInt(playerId));
+    }
+
+    private static boolean isControllingSlot(int slot) {
+        return slot >= 0 && (controlling[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    // =========================================================
+    // Lifecycle
+    // =========================================================
+
+    /** Drops the player's live and queued input (whip put away). Keeps the slot and clock. */
     public static void clear(UUID playerId) {
-        STATE.remove(playerId);
+        int slot = SLOTS.getInt(playerId);
+        if (slot < 0) return;
+
+        controlling[slot >>> 6] &= ~(1L << slot);
+        pendCount[slot] = 0;
+    }
+
+    /** Frees the player's slot (logout). */
+    public static void release(UUID playerId) {
+        int slot = SLOTS.removeInt(playerId);
+        if (slot < 0) return;
+
+        controlling[slot >>> 6] &= ~(1L << slot);
+        pendCount[slot] = 0;
+        FREE.add(slot);
+    }
+
+    /** Forget everything (server stop). */
+    public static void reset() {
+        SLOTS.clear();
+        FREE.clear();
+        nextSlot = 0;
+        Arrays.fill(controlling, 0L);
+        Arrays.fill(pendCount, 0);
+    }
+
+    private static int slotFor(UUID playerId) {
+        int slot = SLOTS.getInt(playerId);
+        if (slot >= 0) return slot;
+
+        slot = FREE.isEmpty() ? nextSlot++ : FREE.popInt();
+        if (slot >= forward.length) grow();
+
+        // Fresh slot: stale input (or clock) from a previous owner must never leak
+        forward[slot] = 0.0f;
+        strafe[slot] = 0.0f;
+        yaw[slot] = 0.0f;
+        flags[slot] = 0;
+        lastInputTick[slot] = 0;
+        seq[slot] = 0;
+        synced[slot] = false;
+        clientTick[slot] = 0;
+        offset[slot] = 0;
+        pendHead[slot] = 0;
+        pendCount[slot] = 0;
+
+        SLOTS.put(playerId, slot);
+        return slot;
+    }
+
+    private static void grow() {
+        int n = forward.length * 2;
+        forward = Arrays.copyOf(forward, n);
+        strafe = Arrays.copyOf(strafe, n);
+        yaw = Arrays.copyOf(yaw, n);
+        flags = Arrays.copyOf(flags, n);
+        lastInputTick = Arrays.copyOf(lastInputTick, n);
+        seq = Arrays.copyOf(seq, n);
+        generation = Arrays.copyOf(generation, n);
+        controlling = Arrays.copyOf(controlling, (n + 63) >>> 6);
+
+        synced = Arrays.copyOf(synced, n);
+        clientTick = Arrays.copyOf(clientTick, n);
+        offset = Arrays.copyOf(offset, n);
+        minSlack = Arrays.copyOf(minSlack, n);
+        slackWindowStart = Arrays.copyOf(slackWindowStart, n);
+
+        pendHead = Arrays.copyOf(pendHead, n);
+        pendCount = Arrays.copyOf(pendCount, n);
+        pendTick = Arrays.copyOf(pendTick, n * PENDING);
+        pendForward = Arrays.copyOf(pendForward, n * PENDING);
+        pendStrafe = Arrays.copyOf(pendStrafe, n * PENDING);
+        pendYaw = Arrays.copyOf(pendYaw, n * PENDING);
+        pendFlags = Arrays.copyOf(pendFlags, n * PENDING);
+        pendSeq = Arrays.copyOf(pendSeq, n * PENDING);
     }
 }
@@ -20,6 +20,7 @@ public class CapabilityEvents {
     @SubscribeEvent
     public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
 
+        // Every animal gets one; it holds no state until reined (see ReinedAnimalProvider)
         if (event.getObject() instanceof Animal) {
             event.addCapability(
                     new ResourceLocation(ReinsMod.MODID, "reined_animal"),
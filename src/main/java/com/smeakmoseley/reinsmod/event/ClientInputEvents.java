@@ -1,6 +1,10 @@
 package com.smeakmoseley.reinsmod.event;
 
+import com.smeakmoseley.reinsmod.client.ClientAnimalPredictor;
+import com.smeakmoseley.reinsmod.client.ClientControlState;
 import com.smeakmoseley.reinsmod.client.ClientSprintIntent;
+import com.smeakmoseley.reinsmod.client.ClientTowState;
+import com.smeakmoseley.reinsmod.control.ControlTuning;
 import com.smeakmoseley.reinsmod.item.ModItems;
 import com.smeakmoseley.reinsmod.network.AnimalControlInputPacket;
 import com.smeakmoseley.reinsmod.network.NetworkHandler;
@@ -8,6 +12,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.util.Mth;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -16,9 +21,13 @@ import org.joml.Vector3f;
 @Mod.EventBusSubscriber(value = Dist.CLIENT, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class ClientInputEvents {
 
+    // Own tick counter: player.tickCount restarts on respawn / dimension change
+    private static int clientTick = 0;
+
     @SubscribeEvent
     public static void onClientTick(TickEvent.ClientTickEvent event) {
         if (event.phase != TickEvent.Phase.END) return;
+        clientTick++;
 
         Minecraft mc = Minecraft.getInstance();
         LocalPlayer player = mc.player;
@@ -27,12 +36,17 @@ public class ClientInputEvents {
         boolean holdingWhip = player.getMainHandItem().is(ModItems.WHIP.get());
         if (!holdingWhip) {
             ClientSprintIntent.reset();
+            ClientControlState.resetSent();
+            ClientAnimalPredictor.stop();
             return;
         }
 
         // ✅ MUST update sprint intent every tick while whip is held
         ClientSprintIntent.tick();
 
+        // Server says no controllable animals in range: send nothing
+        if (!ClientControlState.isInputEnabled()) return;
+
         float forward = 0f;
         if (mc.options.keyUp.isDown()) forward += 1f;
         if (mc.options.keyDown.isDown()) forward -= 1f;
@@ -50,9 +64,29 @@ public class ClientInputEvents {
         // ============================================================
         float yaw = computeYawFromCameraLook(mc);
 
-        NetworkHandler.CHANNEL.sendToServer(
-                new AnimalControlInputPacket(forward, strafe, yaw, sprint, jump)
-        );
+        // Only on change (after quantisation) or when the keepalive is due
+        int buttons = AnimalControlInputPacket.packButtons(forward, strafe, sprint, jump);
+        int yawQ = AnimalControlInputPacket.quantizeYaw(yaw);
+
+        int seq = ClientControlState.nextSeqIfChanged(buttons, yawQ, clientTick, ControlTuning.INPUT_KEEPALIVE_TICKS);
+        if (seq >= 0) {
+            NetworkHandler.CHANNEL.sendToServer(
+                    new AnimalControlInputPacket(seq, clientTick, buttons, yawQ)
+            );
+        }
+
+        // Predict locally with exactly the input the server will apply for this tick
+        if (mc.level != null) {
+            ClientAnimalPredictor.tick(mc.level, clientTick, forward, strafe,
+                    AnimalControlInputPacket.dequantizeYaw(yawQ), sprint);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        ClientControlState.reset();
+        ClientAnimalPredictor.clear();
+        ClientTowState.clear();
     }
 
     /**
@@ -0,0 +1,148 @@
+package com.smeakmoseley.reinsmod.event;
+
+import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import com.smeakmoseley.reinsmod.control.ServerControlState;
+import com.smeakmoseley.reinsmod.tracking.LeashKnotIndex;
+import com.smeakmoseley.reinsmod.tracking.ReinedAnimalIndex;
+import com.smeakmoseley.reinsmod.tracking.ReinedAnimalRegistry;
+import com.smeakmoseley.reinsmod.tracking.ShipLeashRegistry;
+import com.smeakmoseley.reinsmod.tracking.TowStateSync;
+import com.smeakmoseley.reinsmod.vs.ShipDirectory;
+import com.smeakmoseley.reinsmod.vs.ShipKinematics;
+import com.smeakmoseley.reinsmod.vs.ShipWakeManager;
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
+import com.smeakmoseley.reinsmod.vs.VsShipForces;
+import com.smeakmoseley.reinsmod.vs.VsShipTransforms;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraft.world.entity.decoration.LeashFenceKnotEntity;
+import net.minecraft.world.level.block.FenceBlock;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Keeps {@link ReinedAnimalRegistry}, {@link ShipLeashRegistry},
+ * {@link LeashKnotIndex} and the saved {@link ReinedAnimalIndex} in sync with the world.
+ *
+ * Chunk unloads are covered by EntityLeaveLevelEvent: it fires for every entity
+ * whose section is unloaded, not just for killed/discarded ones.
+ */
+@Mod.EventBusSubscriber(
+        modid = ReinsMod.MODID,
+        bus = Mod.EventBusSubscriber.Bus.FORGE
+)
+public class ReinedAnimalTrackingEvents {
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide()) return;
+
+        if (event.getEntity() instanceof LeashFenceKnotEntity knot) {
+            LeashKnotIndex.addKnot(knot);
+            return;
+        }
+
+        if (!(event.getEntity() instanceof Animal animal)) return;
+
+        // Capability NBT is already deserialized at this point
+        ReinedAnimalRegistry.refresh(animal);
+        ReinedAnimalIndex.sync(animal);
+
+        // A saved leash is restored on the animal's first tick
+        LeashKnotIndex.syncLater(animal);
+
+        // Re-register a saved ship leash; the knot may not be restored yet, so use the
+        // saved ship id if that ship is loaded, else locate it from the cached anchor.
+        // If VS has not loaded the ship, the control tick re-attaches it later.
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        animal.getCapability(ReinedAnimalProvider.CAPABILITY).ifPresent(cap -> {
+            if (!cap.hasReins() || !cap.isLeashedToShip() || cap.getShipAnchorPos() == null) return;
+
+            if (VsShipAccess.getLoadedShipById(level, cap.getAnchorShipId()) != null) {
+                ShipLeashRegistry.attach(level, animal, cap.getAnchorShipId());
+                return;
+            }
+
+            VsShipAccess.getShipManagingPos(level, cap.getShipAnchorPos()).ifPresent(ship ->
+                    ShipLeashRegistry.attach(level, animal, VsShipAccess.getShipId(ship))
+            );
+        });
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide()) return;
+
+        if (event.getEntity() instanceof LeashFenceKnotEntity knot) {
+            LeashKnotIndex.removeKnot(knot);
+            return;
+        }
+
+        if (!(event.getEntity() instanceof Animal animal)) return;
+
+        ReinedAnimalRegistry.untrack(animal);
+        ShipLeashRegistry.detach(animal);
+        LeashKnotIndex.removeAnimal(animal);
+
+        // Unloaded: stays indexed at its last chunk. Dead or gone to another dimension: dropped
+        // (a dimension change re-indexes it when it joins the new level)
+        Entity.RemovalReason reason = animal.getRemovalReason();
+        if (event.getLevel() instanceof ServerLevel level && reason != null
+                && (reason.shouldDestroy() || reason == Entity.RemovalReason.CHANGED_DIMENSION)) {
+            ReinedAnimalIndex.remove(level, animal.getUUID());
+        } else {
+            ReinedAnimalIndex.sync(animal);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        LeashKnotIndex.flushPending();
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+
+        ReinedAnimalIndex.unload(level);
+
+        // Its ships are gone from VS's loaded set
+        ShipDirectory.invalidate();
+    }
+
+    @SubscribeEvent
+    public static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (!(event.getState().getBlock() instanceof FenceBlock)) return;
+
+        LeashKnotIndex.onFenceRemoved(level, event.getPos());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        ReinedAnimalRegistry.clear();
+        ShipLeashRegistry.clear();
+        LeashKnotIndex.clear();
+        ServerControlState.reset();
+        ServerAnimalControlTick.clear();
+        TowStateSync.clear();
+        ReinedAnimalIndex.clear();
+
+        // GTPA instances, ship snapshots, matrices and the ship directory belong to the stopped server
+        VsShipForces.clearGtpaCache();
+        ShipKinematics.clear();
+        ShipWakeManager.clear();
+        VsShipTransforms.clear();
+        ShipDirectory.clear();
+    }
+}
@@ -3,6 +3,9 @@ package com.smeakmoseley.reinsmod.event;
 import com.smeakmoseley.reinsmod.ReinsMod;
 import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
 import com.smeakmoseley.reinsmod.item.ModItems;
+import com.smeakmoseley.reinsmod.tracking.ReinedAnimalIndex;
+import com.smeakmoseley.reinsmod.tracking.ReinedAnimalRegistry;
+import com.smeakmoseley.reinsmod.tracking.ShipLeashRegistry;
 import com.smeakmoseley.reinsmod.vs.ShipLeashDetection;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.animal.Animal;
@@ -47,6 +50,10 @@ public class ReinsInteractionEvents {
                 cap.setShipFencePos(null);
                 cap.setShipAnchorPos(null);
 
+                ReinedAnimalRegistry.untrack(animal);
+                ShipLeashRegistry.detach(animal);
+                ReinedAnimalIndex.sync(animal);
+
                 // Drop the reins item for survival compatibility
                 animal.spawnAtLocation(new ItemStack(ModItems.REINS.get(), 1));
 
@@ -70,6 +77,9 @@ public class ReinsInteractionEvents {
             cap.setHasReins(true);
             cap.setOwner(player.getUUID());
 
+            ReinedAnimalRegistry.track(animal, player.getUUID());
+            ReinedAnimalIndex.sync(animal);
+
             player.sendSystemMessage(Component.literal("Reins attached to animal"));
 
             // Detect ship leash immediately (optional message)
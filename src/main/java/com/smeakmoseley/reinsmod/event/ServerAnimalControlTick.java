@@ -1,199 +1,473 @@
 package com.smeakmoseley.reinsmod.event;
 
 import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
 import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import com.smeakmoseley.reinsmod.control.AnimalSteering;
+import com.smeakmoseley.reinsmod.control.ControlTuning;
 import com.smeakmoseley.reinsmod.control.ServerControlState;
 import com.smeakmoseley.reinsmod.item.ModItems;
+import com.smeakmoseley.reinsmod.network.AnimalControlInputPacket;
+import com.smeakmoseley.reinsmod.network.ControlCorrectionPacket;
+import com.smeakmoseley.reinsmod.network.ControlEnablePacket;
+import com.smeakmoseley.reinsmod.network.NetworkHandler;
+import com.smeakmoseley.reinsmod.tow.ControlStep;
+import com.smeakmoseley.reinsmod.tow.RopeClamp;
+import com.smeakmoseley.reinsmod.tracking.LeashKnotIndex;
+import com.smeakmoseley.reinsmod.tracking.ReinedAnimalRegistry;
+import com.smeakmoseley.reinsmod.tracking.ShipLeashRegistry;
+import com.smeakmoseley.reinsmod.vs.ShipAnchorResolver;
 import com.smeakmoseley.reinsmod.vs.ShipLeashDetection;
 import com.smeakmoseley.reinsmod.vs.ShipLeashInfo;
 import com.smeakmoseley.reinsmod.vs.ShipRopeConstraint;
-import net.minecraft.core.BlockPos;
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Mob;
-import net.minecraft.world.entity.MoverType;
 import net.minecraft.world.entity.animal.Animal;
-import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.entity.decoration.LeashFenceKnotEntity;
+import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.PacketDistributor;
 
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 @Mod.EventBusSubscriber(modid = ReinsMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class ServerAnimalControlTick {
 
-    private static final float WALK_SPEED = 0.20f;
-    private static final float SPRINT_MULT = 1.80f;
-
-    // Allow 1-block step-up while controlled
-    private static final float CONTROL_STEP = 1.0f;
-
     // ⏳ Grace window to allow VS to register a new fence knot (ticks)
     private static final int SHIP_LEASH_GRACE_TICKS = 10; // ~0.5s
 
-    // Per-animal grace tracking
-    private static final Map<UUID, Integer> SHIP_LEASH_GRACE = new ConcurrentHashMap<>();
+    // Per-animal grace tracking (server thread only)
+    private static final Object2IntOpenHashMap<UUID> SHIP_LEASH_GRACE = new Object2IntOpenHashMap<>();
+
+    // Rope clamp output (server thread only)
+    private static final RopeClamp.Move MOVE_SCRATCH = new RopeClamp.Move();
+
+    // Current player's input snapshot (server thread only; refilled per player)
+    private static final ServerControlState.Control CONTROL_SCRATCH = new ServerControlState.Control();
+
+    // Steering step output (server thread only); shared math with the client predictor
+    private static final ControlStep.Result STEP_SCRATCH = new ControlStep.Result();
+
+    // World rope anchor of the current animal, for motion corrections (server thread only)
+    private static final ShipAnchorResolver.Anchor ROPE_ANCHOR = new ShipAnchorResolver.Anchor();
+
+    // Owner must be within this box of the animal (matches the old per-player scan)
+    private static final double CONTROL_RANGE = 48.0;
+
+    /** What the client was last told it controls. */
+    private static final class InputLink {
+        int lastInRangeTick;
+        long fingerprint;
+    }
+
+    // Players whose client may send whip input (absent = disabled)
+    private static final Object2ObjectOpenHashMap<UUID, InputLink> INPUT_LINKS = new Object2ObjectOpenHashMap<>();
+
+    // Current player's animals in range (server thread only; refilled per player)
+    private static final IntArrayList IN_RANGE_IDS = new IntArrayList();
 
-    // How fast the animal can rotate toward camera yaw
-    private static final float MAX_TURN_DEG_PER_TICK = 18.0f;
+    /** One steered animal: its step state, and where the client's prediction of it should be. */
+    private static final class Motion {
+        final AnimalSteering.Body body = new AnimalSteering.Body();
+
+        // Expected client state; only meaningful once a correction went out
+        boolean sent;
+        double x, y, z;
+        float yaw;
+
+        // Rope anchor the client was last given (NaN = none)
+        double anchorX = Double.NaN, anchorZ = Double.NaN;
+
+        int sentTick;
+        int steeredTick;
+    }
+
+    // Steered animals by entity id (server thread only); dropped once no longer steered
+    private static final Int2ObjectOpenHashMap<Motion> MOTION = new Int2ObjectOpenHashMap<>();
+
+    // Current player's diverged animals, batched into one correction (server thread only)
+    private static int corrCount = 0;
+    private static int[] corrIds = new int[8];
+    private static double[] corrX = new double[8];
+    private static double[] corrY = new double[8];
+    private static double[] corrZ = new double[8];
+    private static int[] corrYaw = new int[8];
+    private static double[] corrAnchorX = new double[8];
+    private static double[] corrAnchorZ = new double[8];
 
     @SubscribeEvent
     public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
+        int nowTick = event.getServer().getTickCount();
+
+        if (event.phase == TickEvent.Phase.START) {
+            // Release buffered whip input meant for this tick, before any level ticks read it
+            ServerControlState.advance(nowTick);
+            return;
+        }
 
         for (ServerLevel level : event.getServer().getAllLevels()) {
             for (ServerPlayer player : level.players()) {
 
+                UUID playerId = player.getUUID();
                 boolean holdingWhip = player.getMainHandItem().is(ModItems.WHIP.get());
-                ServerControlState.Control control = ServerControlState.get(player.getUUID());
+                ServerControlState.Control control =
+                        ServerControlState.readRecent(playerId, nowTick, ControlTuning.INPUT_GRACE_TICKS, CONTROL_SCRATCH)
+                                ? CONTROL_SCRATCH
+                                : null;
+
+                if (!holdingWhip && control != null) {
+                    ServerControlState.clear(playerId);
+                }
+
+                // Only this player's reined animals; each animal has exactly one owner,
+                // so it is processed once no matter how many players stand near it.
+                List<Animal> owned = ReinedAnimalRegistry.animalsOf(playerId);
+                IN_RANGE_IDS.clear();
+                corrCount = 0;
+
+                if (owned.isEmpty()) {
+                    updateInputEnabled(player, IN_RANGE_IDS, nowTick);
+                    continue;
+                }
+
+                AABB range = player.getBoundingBox().inflate(CONTROL_RANGE);
+
+                // Client tick this tick's input came from (-1 = no clock mapping: nothing to correct against)
+                int clientTick = ServerControlState.clientTickAt(playerId, nowTick);
+
+                for (int i = 0; i < owned.size(); i++) {
+                    Animal animal = owned.get(i);
+                    if (animal.isRemoved() || animal.level() != level) continue;
+
+                    // Keep the knot graph current even for animals out of range
+                    LeashKnotIndex.syncLeash(animal);
+
+                    if (!range.intersects(animal.getBoundingBox())) continue;
+
+                    IReinedAnimal cap = animal.getCapability(ReinedAnimalProvider.CAPABILITY).orElse(null);
+                    if (cap == null || !cap.hasReins()) continue;
+
+                    IN_RANGE_IDS.add(animal.getId());
+                    ROPE_ANCHOR.dist = Double.NaN;
+
+                    double x0 = animal.getX(), y0 = animal.getY(), z0 = animal.getZ();
+                    float yaw0 = animal.getYRot();
+                    if (tickAnimal(level, animal, cap, holdingWhip, control, nowTick)) {
+                        trackMotion(animal, x0, y0, z0, yaw0, nowTick, clientTick >= 0);
+                    }
+                    ROPE_ANCHOR.ship = null;
+                }
+
+                updateInputEnabled(player, IN_RANGE_IDS, nowTick);
+
+                if (corrCount > 0) {
+                    sendCorrection(player, control.seq, clientTick);
+                }
+            }
+        }
+
+        // Not steered this tick: the client stops predicting too, next steer starts fresh
+        Iterator<Int2ObjectMap.Entry<Motion>> it = MOTION.int2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().steeredTick != nowTick) it.remove();
+        }
+    }
 
-                if (!holdingWhip) {
-                    ServerControlState.clear(player.getUUID());
+    /**
+     * Tells the client which animals it controls (and so whether to send input at all).
+     * A changed set goes out at once; an empty set only after none has been in range
+     * for a while (no flapping at the edge of the range).
+     */
+    private static void updateInputEnabled(ServerPlayer player, IntArrayList inRange, int nowTick) {
+        UUID id = player.getUUID();
+        InputLink link = INPUT_LINKS.get(id);
+
+        if (!inRange.isEmpty()) {
+            long fp = fingerprint(inRange);
+            if (link == null) {
+                link = new InputLink();
+                INPUT_LINKS.put(id, link);
+            } else if (link.fingerprint == fp) {
+                link.lastInRangeTick = nowTick;
+                return;
+            }
+
+            link.lastInRangeTick = nowTick;
+            link.fingerprint = fp;
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player),
+                    new ControlEnablePacket(inRange.toIntArray()));
+
+        } else if (link != null && nowTick - link.lastInRangeTick > ControlTuning.INPUT_DISABLE_DELAY_TICKS) {
+            INPUT_LINKS.remove(id);
+            // The client goes quiet now; never replay its last input when re-enabled
+            ServerControlState.clear(id);
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player),
+                    new ControlEnablePacket(new int[0]));
+        }
+    }
+
+    // Order-independent: the owner list may reorder without the set changing
+    private static long fingerprint(IntArrayList ids) {
+        int sum = 0, xor = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            int h = HashCommon.mix(ids.getInt(i));
+            sum += h;
+            xor ^= h;
+        }
+        return (((long) sum << 32) | (xor & 0xFFFFFFFFL)) ^ (ids.size() * 0x9E3779B97F4A7C15L);
+    }
+
+    // =========================================================
+    // Motion corrections (client prediction reconciles against these)
+    // =========================================================
+
+    /** This animal's step state, created when steering starts. */
+    private static Motion motionOf(Animal animal, int nowTick) {
+        Motion m = MOTION.get(animal.getId());
+        if (m == null) {
+            m = new Motion();
+            m.body.vy = animal.getDeltaMovement().y;
+            MOTION.put(animal.getId(), m);
+        }
+        m.steeredTick = nowTick;
+        return m;
+    }
+
+    /**
+     * Advances the client's expected trajectory by the displacement and turn this tick's
+     * AnimalSteering step produced (the client runs the same step), and queues a
+     * correction once the real state has left it: ship drag, pushes, knockback, anything
+     * that moved the animal outside the step. Agreeing ticks send nothing.
+     */
+    private static void trackMotion(Animal animal, double x0, double y0, double z0, float yaw0,
+                                    int nowTick, boolean canSend) {
+        Motion m = MOTION.get(animal.getId());
+        if (m == null) return;
+
+        if (m.sent) {
+            m.x += animal.getX() - x0;
+            m.y += animal.getY() - y0;
+            m.z += animal.getZ() - z0;
+            m.yaw += ControlStep.wrapDegrees(animal.getYRot() - yaw0);
+        }
+
+        // No clock mapping: nothing the client could line a correction up with
+        if (!canSend) return;
+
+        double dx = animal.getX() - m.x;
+        double dy = animal.getY() - m.y;
+        double dz = animal.getZ() - m.z;
+        double tol = ControlTuning.CORRECTION_TOLERANCE;
+
+        boolean hasAnchor = !Double.isNaN(ROPE_ANCHOR.dist);
+        double anchorX = hasAnchor ? ROPE_ANCHOR.x : Double.NaN;
+        double anchorZ = hasAnchor ? ROPE_ANCHOR.z : Double.NaN;
+
+        boolean diverged = !m.sent
+                || dx * dx + dy * dy + dz * dz > tol * tol
+                || Math.abs(ControlStep.wrapDegrees(animal.getYRot() - m.yaw)) > ControlTuning.CORRECTION_YAW_TOLERANCE
+                || anchorMoved(m, hasAnchor, anchorX, anchorZ, tol)
+                || nowTick - m.sentTick >= ControlTuning.CORRECTION_HEARTBEAT_TICKS;
+
+        if (!diverged) return;
+
+        // The client converges on what we send: that is the new expectation
+        m.x = animal.getX();
+        m.y = animal.getY();
+        m.z = animal.getZ();
+        m.yaw = animal.getYRot();
+        m.anchorX = anchorX;
+        m.anchorZ = anchorZ;
+        m.sentTick = nowTick;
+        m.sent = true;
+
+        addCorrection(animal, anchorX, anchorZ);
+    }
+
+    private static boolean anchorMoved(Motion m, boolean hasAnchor, double anchorX, double anchorZ, double tol) {
+        boolean hadAnchor = !Double.isNaN(m.anchorX);
+        if (hasAnchor != hadAnchor) return true;
+        if (!hasAnchor) return false;
+
+        double dx = anchorX - m.anchorX, dz = anchorZ - m.anchorZ;
+        return dx * dx + dz * dz > tol * tol;
+    }
+
+    private static void addCorrection(Animal animal, double anchorX, double anchorZ) {
+        int i = corrCount;
+        if (i == corrIds.length) {
+            int n = i * 2;
+            corrIds = Arrays.copyOf(corrIds, n);
+            corrX = Arrays.copyOf(corrX, n);
+            corrY = Arrays.copyOf(corrY, n);
+            corrZ = Arrays.copyOf(corrZ, n);
+            corrYaw = Arrays.copyOf(corrYaw, n);
+            corrAnchorX = Arrays.copyOf(corrAnchorX, n);
+            corrAnchorZ = Arrays.copyOf(corrAnchorZ, n);
+        }
+
+        corrIds[i] = animal.getId();
+        corrX[i] = animal.getX();
+        corrY[i] = animal.getY();
+        corrZ[i] = animal.getZ();
+        corrYaw[i] = AnimalControlInputPacket.quantizeYaw(animal.getYRot());
+        corrAnchorX[i] = anchorX;
+        corrAnchorZ[i] = anchorZ;
+
+        corrCount = i + 1;
+    }
+
+    private static void sendCorrection(ServerPlayer player, int seq, int clientTick) {
+        int n = corrCount;
+        NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player),
+                new ControlCorrectionPacket(seq, clientTick, n,
+                        Arrays.copyOf(corrIds, n),
+                        Arrays.copyOf(corrX, n), Arrays.copyOf(corrY, n), Arrays.copyOf(corrZ, n),
+                        Arrays.copyOf(corrYaw, n),
+                        Arrays.copyOf(corrAnchorX, n), Arrays.copyOf(corrAnchorZ, n)));
+    }
+
+    /** @return true if the player steered the animal this tick */
+    private static boolean tickAnimal(ServerLevel level,
+                                      Animal animal,
+                                      IReinedAnimal cap,
+                                      boolean holdingWhip,
+                                      ServerControlState.Control control,
+                                      int nowTick) {
+
+        UUID id = animal.getUUID();
+
+        // =========================================================
+        // SHIP LEASH DETECTION (EVENTUALLY CONSISTENT)
+        // =========================================================
+        if (isSettledShipLeash(level, animal, cap)) {
+            // Steady state: already attached to this knot's ship, nothing to re-detect
+            SHIP_LEASH_GRACE.removeInt(id);
+        } else if (animal.isLeashed()) {
+            Optional<ShipLeashInfo> infoOpt =
+                    ShipLeashDetection.detectFenceOnShip(animal);
+
+            if (infoOpt.isPresent()) {
+                ShipLeashInfo info = infoOpt.get();
+
+                cap.setLeashedToShip(true);
+                cap.setShipFencePos(info.fencePos);
+                cap.setShipAnchorPos(info.anchorPos);
+                ShipLeashRegistry.attach(level, animal, info.shipId);
+
+                // Success: clear grace
+                SHIP_LEASH_GRACE.removeInt(id);
+            } else {
+                // Knot exists but VS may not have registered it yet
+                int grace = SHIP_LEASH_GRACE.getOrDefault(id, 0);
+                if (grace < SHIP_LEASH_GRACE_TICKS) {
+                    SHIP_LEASH_GRACE.put(id, grace + 1);
+                    return false; // ⏳ wait, do NOT clear yet
                 }
 
-                level.getEntitiesOfClass(
-                        Animal.class,
-                        player.getBoundingBox().inflate(48.0)
-                ).forEach(animal -> {
-
-                    animal.getCapability(ReinedAnimalProvider.CAPABILITY).ifPresent(cap -> {
-                        if (!cap.hasReins()) return;
-                        if (!player.getUUID().equals(cap.getOwner())) return;
-
-                        UUID id = animal.getUUID();
-
-                        // =========================================================
-                        // SHIP LEASH DETECTION (EVENTUALLY CONSISTENT)
-                        // =========================================================
-                        if (animal.isLeashed()) {
-                            Optional<ShipLeashInfo> infoOpt =
-                                    ShipLeashDetection.detectFenceOnShip(animal);
-
-                            if (infoOpt.isPresent()) {
-                                ShipLeashInfo info = infoOpt.get();
-
-                                cap.setLeashedToShip(true);
-                                cap.setShipFencePos(info.fencePos);
-                                cap.setShipAnchorPos(info.anchorPos);
-
-                                // Success: clear grace
-                                SHIP_LEASH_GRACE.remove(id);
-                            } else {
-                                // Knot exists but VS may not have registered it yet
-                                int grace = SHIP_LEASH_GRACE.getOrDefault(id, 0);
-                                if (grace < SHIP_LEASH_GRACE_TICKS) {
-                                    SHIP_LEASH_GRACE.put(id, grace + 1);
-                                    return; // ⏳ wait, do NOT clear yet
-                                }
-
-                                // Grace expired: now we can clear
-                                cap.setLeashedToShip(false);
-                                cap.setShipFencePos(null);
-                                cap.setShipAnchorPos(null);
-                                SHIP_LEASH_GRACE.remove(id);
-                            }
-                        } else {
-                            // Not leashed at all
-                            cap.setLeashedToShip(false);
-                            cap.setShipFencePos(null);
-                            cap.setShipAnchorPos(null);
-                            SHIP_LEASH_GRACE.remove(id);
-                        }
-
-                        // =========================================================
-                        // AI suppression only (not physics)
-                        // =========================================================
-                        Mob mob = (Mob) animal;
-                        mob.setTarget(null);
-                        mob.getNavigation().stop();
-
-                        if (!holdingWhip || control == null) return;
-
-                        // Step height while controlled
-                        animal.setMaxUpStep(CONTROL_STEP);
-
-                        // =========================================================
-                        // ✅ Copy camera yaw onto animal (smoothly, works in seats)
-                        // control.yaw is ABSOLUTE camera yaw (sent by client)
-                        // =========================================================
-                        float targetYaw = control.yaw;
-                        float currentYaw = animal.getYRot();
-
-                        float deltaYaw = Mth.wrapDegrees(targetYaw - currentYaw);
-                        deltaYaw = Mth.clamp(deltaYaw, -MAX_TURN_DEG_PER_TICK, MAX_TURN_DEG_PER_TICK);
-
-                        float newYaw = currentYaw + deltaYaw;
-
-                        animal.setYRot(newYaw);
-                        animal.setYHeadRot(newYaw);
-                        try { animal.yBodyRot = newYaw; } catch (Throwable ignored) {}
-
-                        // Feed movement inputs for animation
-                        try {
-                            animal.zza = control.forward;
-                            animal.xxa = control.strafe;
-                        } catch (Throwable ignored) {}
-
-                        // =========================================================
-                        // Movement direction based on animal's current yaw
-                        // =========================================================
-                        float yawRad = (float) Math.toRadians(animal.getYRot());
-
-                        Vec3 forward = new Vec3(
-                                -Math.sin(yawRad),
-                                0,
-                                Math.cos(yawRad)
-                        );
-
-                        Vec3 right = new Vec3(
-                                -forward.z,
-                                0,
-                                forward.x
-                        );
-
-                        float speed = WALK_SPEED * (control.sprint ? SPRINT_MULT : 1.0f);
-
-                        // Desired horizontal displacement
-                        Vec3 moveXZ = forward.scale(control.forward)
-                                .add(right.scale(control.strafe))
-                                .scale(speed);
-
-                        // =========================================================
-                        // RIGID ROPE CONSTRAINT (SHIP LEASH)
-                        // =========================================================
-                        if (cap.isLeashedToShip()) {
-                            Vec3 anchorShipyard = cap.getShipAnchorPos();
-                            BlockPos fencePos = cap.getShipFencePos();
-                            if (anchorShipyard != null && fencePos != null) {
-                                moveXZ = ShipRopeConstraint.applyRigid(
-                                        level,
-                                        animal,
-                                        fencePos,
-                                        anchorShipyard,
-                                        moveXZ
-                                );
-                            }
-                        }
-
-                        // Preserve vanilla Y
-                        Vec3 dm = animal.getDeltaMovement();
-                        Vec3 move = new Vec3(moveXZ.x, dm.y, moveXZ.z);
-
-                        // Apply motion
-                        animal.setDeltaMovement(move);
-                        animal.move(MoverType.SELF, move);
-                        animal.hurtMarked = true;
-
-                        // (Jump ignored for now, per your request)
-                    });
-                });
+                // Grace expired: now we can clear
+                cap.setLeashedToShip(false);
+                cap.setShipFencePos(null);
+                cap.setShipAnchorPos(null);
+                ShipLeashRegistry.detach(animal);
+                SHIP_LEASH_GRACE.removeInt(id);
             }
+        } else {
+            // Not leashed at all
+            cap.setLeashedToShip(false);
+            cap.setShipFencePos(null);
+            cap.setShipAnchorPos(null);
+            ShipLeashRegistry.detach(animal);
+            SHIP_LEASH_GRACE.removeInt(id);
+        }
+
+        // =========================================================
+        // AI suppression only (not physics)
+        // =========================================================
+        Mob mob = (Mob) animal;
+        mob.setTarget(null);
+        mob.getNavigation().stop();
+
+        if (!holdingWhip || control == null) return false;
+
+        // Player is steering: run this animal's ship from the next physics tick
+        if (cap.isLeashedToShip() && (control.forward != 0.0f || control.strafe != 0.0f)) {
+            ShipLeashRegistry.wake(animal);
+        }
+
+        // =========================================================
+        // ✅ Copy camera yaw onto animal (smoothly, works in seats)
+        // control.yaw is ABSOLUTE camera yaw (sent by client)
+        // Yaw slew, walk/sprint, rope clamp, gravity, move: AnimalSteering
+        // (the same step the client predicts)
+        // =========================================================
+
+        // RIGID ROPE CONSTRAINT (SHIP LEASH): the step clamps against this anchor
+        if (cap.isLeashedToShip()) {
+            ShipRopeConstraint.resolveAnchor(level, animal, cap, ROPE_ANCHOR);
         }
+        boolean hasAnchor = !Double.isNaN(ROPE_ANCHOR.dist);
+
+        // No hurtMarked: the controlling client predicts this step, and trackMotion()
+        // corrects it only when the two part ways
+        AnimalSteering.step(
+                animal,
+                motionOf(animal, nowTick).body,
+                animal.getYRot(),
+                control.yaw,
+                control.forward,
+                control.strafe,
+                control.sprint,
+                hasAnchor ? ROPE_ANCHOR.x : Double.NaN,
+                hasAnchor ? ROPE_ANCHOR.z : Double.NaN,
+                STEP_SCRATCH,
+                MOVE_SCRATCH
+        );
+
+        // (Jump ignored for now, per your request)
+        return true;
+    }
+
+    /** Already attached (or saved as attached) to the ship that owns our knot: no detection needed. */
+    private static boolean isSettledShipLeash(ServerLevel level, Animal animal, IReinedAnimal cap) {
+        if (!cap.isLeashedToShip() || cap.getShipAnchorPos() == null) return false;
+        if (!(animal.getLeashHolder() instanceof LeashFenceKnotEntity knot)) return false;
+        if (!knot.blockPosition().equals(cap.getShipFencePos())) return false;
+        if (ShipLeashRegistry.shipIdOf(animal) != VsShipAccess.NO_SHIP_ID) return true;
+
+        // Reloaded with a saved resolution: rejoin that ship without re-detecting
+        long savedShipId = cap.getAnchorShipId();
+        if (savedShipId == VsShipAccess.NO_SHIP_ID) return false;
+
+        ShipLeashRegistry.attach(level, animal, savedShipId);
+        return true;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        UUID id = event.getEntity().getUUID();
+        ServerControlState.release(id);
+        INPUT_LINKS.remove(id);
+    }
+
+    public static void clear() {
+        MOTION.clear();
+        corrCount = 0;
     }
 }
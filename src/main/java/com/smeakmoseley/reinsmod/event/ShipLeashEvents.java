@@ -2,23 +2,25 @@ package com.smeakmoseley.reinsmod.event;
 
 import com.smeakmoseley.reinsmod.ReinsMod;
 import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import com.smeakmoseley.reinsmod.tracking.LeashKnotIndex;
+import com.smeakmoseley.reinsmod.tracking.ShipLeashRegistry;
 import com.smeakmoseley.reinsmod.vs.ShipLeashDetection;
 import com.smeakmoseley.reinsmod.vs.ShipLeashInfo;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.TickTask;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.animal.Animal;
 import net.minecraft.world.entity.decoration.LeashFenceKnotEntity;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.block.FenceBlock;
-import net.minecraft.world.phys.AABB;
 
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Mod.EventBusSubscriber(
@@ -27,6 +29,30 @@ import java.util.Optional;
 )
 public class ShipLeashEvents {
 
+    /** Leads change hands on animal and knot clicks; keep LeashKnotIndex current. */
+    @SubscribeEvent
+    public static void onInteractEntity(PlayerInteractEvent.EntityInteract event) {
+        if (event.getLevel().isClientSide()) return;
+
+        if (event.getTarget() instanceof Animal animal) {
+            LeashKnotIndex.syncLater(animal);
+            return;
+        }
+
+        // A knot click either ties the player's leads to it or hands its animals back
+        if (event.getTarget() instanceof LeashFenceKnotEntity knot && event.getLevel() instanceof ServerLevel level) {
+            List<Animal> tied = LeashKnotIndex.animalsAt(level, knot.getPos());
+            for (int i = 0; i < tied.size(); i++) {
+                LeashKnotIndex.syncLater(tied.get(i));
+            }
+
+            List<Animal> held = LeashKnotIndex.heldBy(event.getEntity());
+            for (int i = 0; i < held.size(); i++) {
+                LeashKnotIndex.syncLater(held.get(i));
+            }
+        }
+    }
+
     @SubscribeEvent
     public static void onRightClickFence(PlayerInteractEvent.RightClickBlock event) {
         if (event.getLevel().isClientSide()) return;
@@ -40,24 +66,25 @@ public class ShipLeashEvents {
         // Only fences
         if (!(level.getBlockState(pos).getBlock() instanceof FenceBlock)) return;
 
+        // Vanilla ties exactly the player's leashed animals to the knot after this event
+        List<Animal> held = new ArrayList<>(LeashKnotIndex.heldBy(event.getEntity()));
+
         int runTick = level.getServer().getTickCount() + 1;
         level.getServer().tell(new TickTask(runTick, () -> {
 
-            // Find ONLY the knot for the clicked fence position
-            LeashFenceKnotEntity knot = level.getEntitiesOfClass(
-                    LeashFenceKnotEntity.class,
-                    new AABB(pos).inflate(0.75)
-            ).stream().filter(k -> k.blockPosition().equals(pos)).findFirst().orElse(null);
-
+            // Knot for the clicked fence position (indexed on spawn)
+            LeashFenceKnotEntity knot = LeashKnotIndex.knotAt(level, pos);
             if (knot == null) return;
 
-            // Scan nearby animals and pick ONLY those leashed to THIS knot
-            for (Animal animal : level.getEntitiesOfClass(
-                    Animal.class,
-                    knot.getBoundingBox().inflate(48.0)
-            )) {
-                Entity holder = animal.getLeashHolder();
-                if (holder != knot) continue;
+            // Move the player's leads onto the knot, then read who is tied to THIS knot
+            for (int i = 0; i < held.size(); i++) {
+                LeashKnotIndex.syncLeash(held.get(i));
+            }
+
+            List<Animal> tied = LeashKnotIndex.animalsAt(level, pos);
+            for (int i = 0; i < tied.size(); i++) {
+                Animal animal = tied.get(i);
+                if (animal.getLeashHolder() != knot) continue;
 
                 // Detect that this knot is on a VS ship (in shipyard-managed space)
                 Optional<ShipLeashInfo> infoOpt = ShipLeashDetection.detectFenceOnShip(animal);
@@ -78,6 +105,10 @@ public class ShipLeashEvents {
                     // ✅ Store SHIPYARD-space anchor directly (no conversion)
                     cap.setShipAnchorPos(info.anchorPos);
 
+                    if (cap.hasReins()) {
+                        ShipLeashRegistry.attach(level, animal, info.shipId);
+                    }
+
                     if (!alreadySame) {
                         event.getEntity().sendSystemMessage(
                                 net.minecraft.network.chat.Component.literal(
@@ -1,27 +1,36 @@
 package com.smeakmoseley.reinsmod.event;
 
 import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
 import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import com.smeakmoseley.reinsmod.control.ControlTuning;
 import com.smeakmoseley.reinsmod.control.ServerControlState;
-import com.smeakmoseley.reinsmod.vs.VsShipAccess;
-import com.smeakmoseley.reinsmod.vs.VsShipForces;
-import com.smeakmoseley.reinsmod.vs.VsShipMass;
-import com.smeakmoseley.reinsmod.vs.VsShipTransforms;
+import com.smeakmoseley.reinsmod.tracking.LeashKnotIndex;
+import com.smeakmoseley.reinsmod.tow.TowBatch;
+import com.smeakmoseley.reinsmod.tow.TowController;
+import com.smeakmoseley.reinsmod.tow.TowForce;
+import com.smeakmoseley.reinsmod.tow.TowHold;
+import com.smeakmoseley.reinsmod.tracking.ShipLeashRegistry;
+import com.smeakmoseley.reinsmod.vs.ShipAnchorResolver;
+import com.smeakmoseley.reinsmod.vs.ShipForceAccumulator;
+import com.smeakmoseley.reinsmod.vs.ShipKinematics;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.animal.Animal;
 import net.minecraft.world.entity.decoration.LeashFenceKnotEntity;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import org.joml.Vector3d;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Mod.EventBusSubscriber(
         modid = ReinsMod.MODID,
@@ -29,58 +38,26 @@ import java.util.concurrent.ConcurrentHashMap;
 )
 public final class ShipLeashPhysicsTick {
 
-    private static final double SCAN_RADIUS = 16.0;
-
-    // Rope geometry
-    private static final double SLACK = 2.5;
-    private static final double PLAYER_SLACK = 0.25;
-
-    // Spring leash (passive / stretch component)
-    private static final double SPRING = 2800.0;
-    private static final double DAMPING = 280.0;
-
-    // Player intent pulling – proportional to mass, no light-ship favoritism
-    private static final double BASE_INTENT_FORCE_PER_TON = 30_000.0;
-    private static final double INTENT_FORCE_MASS_EXPONENT = 0.75;
-    private static final double MAX_INTENT_FORCE = 8_000_000.0;
-    private static final double MIN_INTENT_FORCE = 5_000.0;
-
-    // Smooth + rate limit (pull force only)
-    private static final double FORCE_SMOOTHING = 0.75;
-    private static final double MIN_FORCE_MASS_MULT = 2.0;
-    private static final double FORCE_RATE_LIMIT_MULT_LIGHT = 400.0;
-    private static final double FORCE_RATE_LIMIT_MULT_HEAVY = 220.0;
-
-    // Safety rule: shipSpeedAlong must NOT exceed allowedAlong + eps
-    private static final double VELOCITY_EPS = 0.015;
-
-    // Hysteresis band to prevent brake/pull pumping
-    private static final double SPEED_HYST = 0.05; // tune 0.03–0.08
-
-    // Braking controller (COM braking only)
-    private static final double BRAKE_GAIN = 1.25; // tune 0.8–2.0
-    private static final double MAX_FORCE = 1_000_000.0;
-
-    // STOP-INTENT braking (player released movement input)
-    // When player is controlling but not giving movement input, brake any forward ship motion along reins.
-    private static final double STOP_BRAKE_GAIN = 2.25;      // stronger than BRAKE_GAIN
-    private static final double STOP_BRAKE_DEADZONE = 0.005; // ignore jitter (blocks/tick)
-    private static final double STOP_MAX_FORCE = 1_500_000.0;
-
     private static final double MAX_REASONABLE_DIST = 128.0;
 
-    // --- commanded speed constants (match ServerAnimalControlTick) ---
-    private static final double CMD_WALK_SPEED = 0.20;
-    private static final double CMD_SPRINT_MULT = 1.80;
+    // An animal moving more than this in a tick wakes its ship group early (blocks)
+    private static final double MOVE_WAKE_DIST = 0.01;
 
-    // "no input" threshold (stick noise guard)
-    private static final double INPUT_MAG_EPS = 0.05;
+    // Server thread only: primitive values, no boxing per animal per tick
+    private static final Object2DoubleOpenHashMap<UUID> LAST_PULL_FORCE = new Object2DoubleOpenHashMap<>();
+    private static final Object2IntOpenHashMap<UUID> LAST_BAD_ANCHOR_TICK = new Object2IntOpenHashMap<>();
 
-    // VS velocity is *likely* blocks/sec, Minecraft movement is blocks/tick
-    private static final double SEC_PER_TICK = 1.0 / 20.0;
+    // Per-tick SoA batch: controller inputs/outputs in tow-core, commit-side rows here (same index)
+    private static final TowBatch BATCH = new TowBatch(64);
+    private static UUID[] rowKey = new UUID[64];
+    private static ShipKinematics.Snapshot[] rowShip = new ShipKinematics.Snapshot[64];
+    private static ShipLeashRegistry.ShipGroup[] rowGroup = new ShipLeashRegistry.ShipGroup[64];
+    private static double[] rowAnchorX = new double[64];
+    private static double[] rowAnchorY = new double[64];
+    private static double[] rowAnchorZ = new double[64];
 
-    private static final ConcurrentHashMap<UUID, Double> LAST_PULL_FORCE = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<UUID, Integer> LAST_BAD_ANCHOR_TICK = new ConcurrentHashMap<>();
+    // Ships whose schedule ran this tick
+    private static final List<ShipLeashRegistry.ShipGroup> UPDATED = new ArrayList<>();
 
     private static final boolean DEBUG = false;
 
@@ -91,284 +68,248 @@ public final class ShipLeashPhysicsTick {
         if (event.phase != TickEvent.Phase.END) return;
         if (!(event.level instanceof ServerLevel level)) return;
 
-        // 🔹 Performance: run at 10 Hz instead of 20 Hz (remove this line if undesired)
-        if ((level.getServer().getTickCount() & 1) != 0) return;
-
         int nowTick = level.getServer().getTickCount();
 
-        Set<Integer> seen = new HashSet<>();
+        List<ShipLeashRegistry.ShipGroup> groups = ShipLeashRegistry.groups(level);
+
+        // 1) Gather (server thread): validate leashes, resolve anchors, fill the SoA batch.
+        //    🔹 Performance: each ship runs at its own adaptive rate (1..100 ticks, TowSchedule)
+        BATCH.clear();
+        UPDATED.clear();
+
+        for (int g = 0; g < groups.size(); g++) {
+            ShipLeashRegistry.ShipGroup group = groups.get(g);
+            if (!group.schedule.isDue(nowTick)) {
+                // Between updates: keep the last forces on the ship, and come back early
+                // if the rope geometry changed under a long interval
+                if (animalsMoved(group)) group.schedule.wake();
+                applyHeld(level, group);
+                continue;
+            }
 
-        for (ServerPlayer player : level.players()) {
-            AABB scan = player.getBoundingBox().inflate(SCAN_RADIUS);
+            int dtTicks = group.schedule.begin(nowTick);
+            group.held.clear();
+            UPDATED.add(group);
 
-            for (Animal animal : level.getEntitiesOfClass(Animal.class, scan)) {
-                if (!seen.add(animal.getId())) continue;
+            List<Animal> animals = group.animals;
 
-                animal.getCapability(ReinedAnimalProvider.CAPABILITY).ifPresent(cap -> {
-                    if (!cap.hasReins()) return;
-                    if (!cap.isLeashedToShip()) return;
-                    if (!animal.isLeashed()) return;
+            for (int i = 0; i < animals.size(); i++) {
+                Animal animal = animals.get(i);
+                gatherLeash(level, group, animal, nowTick, dtTicks);
 
-                    if (!(animal.getLeashHolder() instanceof LeashFenceKnotEntity knot)) {
-                        cleanup(animal);
-                        return;
-                    }
+                // gatherLeash may have detached this animal (and emptied the group)
+                if (i < animals.size() && animals.get(i) != animal) i--;
+            }
 
-                    Vec3 knotPos = knot.position();
+            if (g < groups.size() && groups.get(g) != group) g--;
+        }
 
-                    Vec3 animalPosStable = new Vec3(
-                            animal.position().x,
-                            knotPos.y,
-                            animal.position().z
-                    );
+        // 2) Solve: pure controller math over the batch (parallel when large)
+        BATCH.solve();
 
-                    Object ship0 = VsShipAccess.getShipManagingPos(level, knotPos).orElse(null);
-                    if (ship0 == null) return;
+        // 3) Commit (server thread): remember pull forces, hold them per ship, reschedule
+        commit();
 
-                    AnchorSolve solved = resolveAnchorWorld(level, ship0, knotPos, animalPosStable);
-                    if (!solved.ok || solved.anchorWorld == null) {
-                        maybeWarnBadAnchor(player, animal.getUUID(), knotPos, cap.getShipAnchorPos());
-                        return;
-                    }
+        for (int g = 0; g < UPDATED.size(); g++) {
+            applyHeld(level, UPDATED.get(g));
+        }
 
-                    Vec3 anchorWorld = solved.anchorWorld;
-                    Object ship = solved.shipObj;
+        for (int g = 0; g < UPDATED.size(); g++) {
+            UPDATED.get(g).schedule.end(nowTick);
+        }
+        UPDATED.clear();
 
-                    Vec3 delta = animal.position().subtract(anchorWorld);
-                    delta = new Vec3(delta.x, 0.0, delta.z);
-                    double dist = delta.length();
-                    if (dist < 1.0e-6) return;
+        // One combined force/torque per ship, one VS call each; wake/sleep via ShipWakeManager
+        ShipForceAccumulator.flush(level);
+    }
 
-                    Vec3 dir = delta.scale(1.0 / dist);
+    private static void gatherLeash(ServerLevel level, ShipLeashRegistry.ShipGroup group, Animal animal,
+                                    int nowTick, int dtTicks) {
+        if (animal.isRemoved()) {
+            cleanup(animal);
+            return;
+        }
 
-                    UUID owner = cap.getOwner();
-                    ServerControlState.Control ctl = (owner == null)
-                            ? null
-                            : ServerControlState.getRecent(owner, nowTick, 5);
+        IReinedAnimal cap = animal.getCapability(ReinedAnimalProvider.CAPABILITY).orElse(null);
+        if (cap == null) return;
 
-                    boolean playerControlled = (ctl != null);
+        if (!cap.hasReins() || !cap.isLeashedToShip()) {
+            ShipLeashRegistry.detach(animal);
+            return;
+        }
 
-                    double commandedSpeed = 0.0;
-                    double inputMag = 0.0;
+        // Leash may not be restored yet right after a chunk load; keep the entry
+        if (!animal.isLeashed()) return;
 
-                    if (playerControlled) {
-                        inputMag = Math.sqrt(
-                                (double) ctl.forward * ctl.forward +
-                                (double) ctl.strafe * ctl.strafe
-                        );
-                        if (inputMag > 1.0) inputMag = 1.0;
+        if (!(animal.getLeashHolder() instanceof LeashFenceKnotEntity knot)) {
+            cleanup(animal);
+            return;
+        }
 
-                        double mult = ctl.sprint ? CMD_SPRINT_MULT : 1.0;
-                        commandedSpeed = CMD_WALK_SPEED * mult * inputMag;
-                    }
-
-                    boolean hasInput = playerControlled && inputMag > INPUT_MAG_EPS;
-
-                    double slack = playerControlled ? PLAYER_SLACK : SLACK;
-                    double stretch = dist - slack;
-
-                    Vec3 animalVel = animal.getDeltaMovement();
-                    double animalSpeedAlong = animalVel.dot(dir);
-
-                    Vec3 shipVelWorldPerSec = getShipVelocity(ship);
-                    double shipSpeedAlong = shipVelWorldPerSec.dot(dir) * SEC_PER_TICK;
-
-                    double shipMass = VsShipMass.getShipMass(ship);
-                    if (shipMass <= 0) shipMass = 20_000.0;
-
-                    // =========================
-                    // STOP INTENT (hard brake)
-                    // =========================
-                    if (playerControlled && !hasInput) {
-                        UUID key = animal.getUUID();
-
-                        Vec3 vXZ = new Vec3(shipVelWorldPerSec.x, 0.0, shipVelWorldPerSec.z);
-                        double speed = vXZ.length();
-
-                        if (speed > 0.02) {
-                            final double STOP_VEL_GAIN = 6.0;
-                            final double STOP_MAX_FORCE_LOCAL = 2_500_000.0;
-
-                            Vec3 dirBrake = vXZ.scale(1.0 / speed);
-                            double brakeMag = shipMass * speed * STOP_VEL_GAIN;
-                            brakeMag = Math.min(brakeMag, STOP_MAX_FORCE_LOCAL);
-
-                            VsShipForces.applyWorldForce(ship, dirBrake.scale(-brakeMag), null);
-                        }
-
-                        LAST_PULL_FORCE.put(key, 0.0);
-                        return;
-                    }
-
-                    double allowedAlong;
-                    if (playerControlled) {
-                        allowedAlong = Math.max(commandedSpeed, Math.max(0.0, animalSpeedAlong));
-                    } else {
-                        allowedAlong = Math.max(0.0, animalSpeedAlong);
-                    }
-                    allowedAlong += VELOCITY_EPS;
-
-                    double hi = allowedAlong + SPEED_HYST;
-                    double lo = Math.max(0.0, allowedAlong - SPEED_HYST);
-
-                    UUID key = animal.getUUID();
-
-                    // =========================
-                    // BRAKE
-                    // =========================
-                    if (shipSpeedAlong > hi) {
-                        double excess = shipSpeedAlong - allowedAlong;
-                        double brakeMag = Math.min(excess * shipMass * BRAKE_GAIN, MAX_FORCE);
-
-                        VsShipForces.applyWorldForce(ship, dir.scale(-brakeMag), null);
-                        LAST_PULL_FORCE.put(key, 0.0);
-                        return;
-                    }
-
-                    // =========================
-                    // HOLD
-                    // =========================
-                    if (shipSpeedAlong >= lo) {
-                        LAST_PULL_FORCE.put(key, 0.0);
-                        return;
-                    }
-
-                    // =========================
-                    // PULL
-                    // =========================
-                    double minForce = Math.max(1.0, shipMass * MIN_FORCE_MASS_MULT);
-                    double targetForce = 0.0;
-
-                    if (playerControlled && hasInput) {
-                        double intent = Math.max(0.0, commandedSpeed);
-
-                        if (intent < 0.08 && shipSpeedAlong < 0.15) {
-                            intent = Math.max(intent, 0.12);
-                        }
-
-                        if (intent > 0.01) {
-                            double shipTons = shipMass / 1000.0;
-                            double intentBase = intent * BASE_INTENT_FORCE_PER_TON;
-                            double massFactor = Math.pow(shipTons, INTENT_FORCE_MASS_EXPONENT);
-
-                            double intentForce = Math.min(
-                                    MAX_INTENT_FORCE,
-                                    Math.max(MIN_INTENT_FORCE, intentBase * massFactor)
-                            );
-
-                            double stretchForce = Math.max(0.0, stretch) * SPRING * 6.0;
-                            targetForce = Math.max(intentForce + stretchForce, minForce);
-                        }
-                    } else if (stretch > 0.0) {
-                        double relVel = animalVel.dot(dir);
-                        targetForce = Math.max((stretch * SPRING) + (relVel * DAMPING), 0.0);
-                    }
-
-                    double prev = LAST_PULL_FORCE.getOrDefault(key, targetForce);
-                    double smoothed = prev + (targetForce - prev) * FORCE_SMOOTHING;
-
-                    double rateLimit = shipMass < 80_000
-                            ? FORCE_RATE_LIMIT_MULT_LIGHT
-                            : FORCE_RATE_LIMIT_MULT_HEAVY;
-
-                    double maxDelta = shipMass * rateLimit;
-                    double df = Math.max(-maxDelta, Math.min(maxDelta, smoothed - prev));
-
-                    double forceMag = Math.min(MAX_FORCE, Math.max(0.0, prev + df));
-                    LAST_PULL_FORCE.put(key, forceMag);
-
-                    if (forceMag > 0.0) {
-                        VsShipForces.applyWorldForce(ship, dir.scale(forceMag), anchorWorld);
-                    }
-                });
-            }
+        LeashKnotIndex.syncLeash(animal);
+
+        // Hot path: primitives and reused scratch only (knot/animal positions are entity fields)
+        Vec3 knotPos = knot.position();
+        Vec3 animalPos = animal.position();
+
+        // Stored ship + interpretation: one matrix multiply; two-way search only on invalidation
+        ShipAnchorResolver.Anchor anchor = ANCHOR;
+        if (!ShipAnchorResolver.resolve(level, cap, knotPos, animalPos.x, animalPos.z, MAX_REASONABLE_DIST, anchor)) {
+            maybeWarnBadAnchor(nowTick, animal.getUUID());
+            return;
         }
-    }
 
-    // Anchor resolution helpers (unchanged)
-    private static final class AnchorSolve {
-        final boolean ok;
-        final Vec3 anchorWorld;
-        final Object shipObj;
-        final String mode;
-
-        AnchorSolve(boolean ok, Vec3 anchorWorld, Object shipObj, String mode) {
-            this.ok = ok;
-            this.anchorWorld = anchorWorld;
-            this.shipObj = shipObj;
-            this.mode = mode;
+        ShipKinematics.Snapshot ship = anchor.ship;
+        if (ship.shipId != group.shipId) {
+            // Knot now belongs to another ship (e.g. reassembled): regroup, pull from next update
+            ShipLeashRegistry.attach(level, animal, ship.shipId);
+            return;
         }
-    }
 
-    private static final class BestAnchor {
-        Vec3 anchorWorld = null;
-        Object shipObj = null;
-        String mode = "none";
-        double dist = Double.POSITIVE_INFINITY;
-    }
+        double ax = anchor.x, ay = anchor.y, az = anchor.z;
+
+        double deltaX = animalPos.x - ax;
+        double deltaZ = animalPos.z - az;
+        double dist = Math.sqrt(deltaX * deltaX + deltaZ * deltaZ);
+        if (dist < 1.0e-6) return;
 
-    private static AnchorSolve resolveAnchorWorld(ServerLevel level, Object ship0, Vec3 knotPos, Vec3 animalWorldPos) {
-        BestAnchor best = new BestAnchor();
+        double dirX = deltaX / dist;
+        double dirZ = deltaZ / dist;
 
-        considerAnchor(level, ship0, animalWorldPos,
-                VsShipTransforms.shipyardToWorld(ship0, knotPos),
-                "knot_as_shipyard", best);
+        UUID owner = cap.getOwner();
+        ServerControlState.Control ctl =
+                (owner != null && ServerControlState.readRecent(owner, nowTick, ControlTuning.INPUT_GRACE_TICKS, CONTROL))
+                        ? CONTROL
+                        : null;
 
-        considerAnchor(level, ship0, animalWorldPos,
-                knotPos,
-                "knot_as_world", best);
+        boolean playerControlled = (ctl != null);
 
-        if (best.anchorWorld == null) return new AnchorSolve(false, null, ship0, "no_candidate");
-        if (!Double.isFinite(best.dist)) return new AnchorSolve(false, null, ship0, "nan_dist");
-        if (best.dist > MAX_REASONABLE_DIST) {
-            VsShipTransforms.clearCacheFor(ship0.getClass());
-            return new AnchorSolve(false, best.anchorWorld, best.shipObj, "all_bad:" + best.mode);
+        double inputMag = 0.0;
+        boolean sprint = false;
+
+        if (playerControlled) {
+            inputMag = Math.sqrt(
+                    (double) ctl.forward * ctl.forward +
+                    (double) ctl.strafe * ctl.strafe
+            );
+            if (inputMag > 1.0) inputMag = 1.0;
+            sprint = ctl.sprint;
         }
 
-        return new AnchorSolve(true, best.anchorWorld, best.shipObj, best.mode);
+        Vec3 animalVel = animal.getDeltaMovement();
+        double animalSpeedAlong = animalVel.x * dirX + animalVel.z * dirZ;
+
+        UUID key = animal.getUUID();
+        double prev = LAST_PULL_FORCE.getOrDefault(key, Double.NaN);
+
+        double shipSpeed = Math.sqrt(ship.vx * ship.vx + ship.vy * ship.vy + ship.vz * ship.vz);
+        group.schedule.observe(shipSpeed, ship.mass, TowController.stretch(dist, playerControlled),
+                playerControlled, playerControlled && inputMag > TowController.INPUT_MAG_EPS);
+
+        int row = BATCH.add(dirX, dirZ, dist, animalSpeedAlong,
+                ship.vx, ship.vz, ship.mass,
+                playerControlled, inputMag, sprint, prev, dtTicks);
+
+        if (row == rowKey.length) growRows();
+        rowKey[row] = key;
+        rowGroup[row] = group;
+        rowShip[row] = ship;
+        rowAnchorX[row] = ax;
+        rowAnchorY[row] = ay;
+        rowAnchorZ[row] = az;
     }
 
-    private static void considerAnchor(ServerLevel level, Object fallbackShip, Vec3 animalWorldPos,
-                                       Vec3 anchorWorld, String mode, BestAnchor best) {
-        if (anchorWorld == null) return;
-        Object shipHere = VsShipAccess.getShipManagingPos(level, anchorWorld).orElse(fallbackShip);
+    private static void commit() {
+        TowBatch b = BATCH;
+
+        for (int i = 0; i < b.size; i++) {
+            LAST_PULL_FORCE.put(rowKey[i], b.nextPull[i]);
+
+            double fx = b.fx[i], fz = b.fz[i];
+            if (fx != 0.0 || fz != 0.0) {
+                ShipLeashRegistry.ShipGroup group = rowGroup[i];
+                group.schedule.addForce(Math.sqrt(fx * fx + fz * fz));
+
+                // Held every tick until the group's next update (applyHeld), never scaled up
+                if (b.mode[i] != TowForce.MODE_PULL) {
+                    // Brakes act at the centre of mass: no yaw torque from an off-centre fence
+                    group.held.add(fx, fz, true, false, 0.0, 0.0, 0.0);
+                } else if (rowShip[i].worldToShipyard(rowAnchorX[i], rowAnchorY[i], rowAnchorZ[i], POINT)) {
+                    group.held.add(fx, fz, false, true, POINT.x, POINT.y, POINT.z);
+                } else {
+                    group.held.add(fx, fz, false, false, rowAnchorX[i], rowAnchorY[i], rowAnchorZ[i]);
+                }
+            }
 
-        Vec3 d = animalWorldPos.subtract(anchorWorld);
-        d = new Vec3(d.x, 0.0, d.z);
-        double dist = d.length();
+            // Don't pin entities/ships between ticks
+            rowKey[i] = null;
+            rowShip[i] = null;
+            rowGroup[i] = null;
+        }
+    }
 
-        if (dist < best.dist) {
-            best.dist = dist;
-            best.anchorWorld = anchorWorld;
-            best.shipObj = shipHere;
-            best.mode = mode;
+    /** Re-applies the group's held forces on this tick's ship snapshot. */
+    private static void applyHeld(ServerLevel level, ShipLeashRegistry.ShipGroup group) {
+        TowHold h = group.held;
+        if (h.size == 0) return;
+
+        ShipKinematics.Snapshot ship = ShipKinematics.getById(level, group.shipId);
+        if (ship == null) return;
+
+        for (int i = 0; i < h.size; i++) {
+            if (h.atCom[i]) {
+                ShipForceAccumulator.addAtCom(ship, h.fx[i], 0.0, h.fz[i]);
+            } else if (!h.shipyard[i]) {
+                ShipForceAccumulator.add(ship, h.fx[i], 0.0, h.fz[i], h.px[i], h.py[i], h.pz[i]);
+            } else if (ship.shipyardToWorld(h.px[i], h.py[i], h.pz[i], POINT)) {
+                ShipForceAccumulator.add(ship, h.fx[i], 0.0, h.fz[i], POINT.x, POINT.y, POINT.z);
+            }
         }
     }
 
-    private static void maybeWarnBadAnchor(ServerPlayer p, UUID animalId, Vec3 knotPos, Vec3 capAnchor) {
-        int now = p.tickCount;
+    /** Any of the group's animals moved this tick (its rope is no longer where the last update saw it). */
+    private static boolean animalsMoved(ShipLeashRegistry.ShipGroup group) {
+        List<Animal> animals = group.animals;
+        for (int i = 0; i < animals.size(); i++) {
+            Animal a = animals.get(i);
+            double dx = a.getX() - a.xo, dz = a.getZ() - a.zo;
+            if (dx * dx + dz * dz > MOVE_WAKE_DIST * MOVE_WAKE_DIST) return true;
+        }
+        return false;
+    }
+
+    private static void growRows() {
+        int n = rowKey.length * 2;
+        rowKey = Arrays.copyOf(rowKey, n);
+        rowShip = Arrays.copyOf(rowShip, n);
+        rowGroup = Arrays.copyOf(rowGroup, n);
+        rowAnchorX = Arrays.copyOf(rowAnchorX, n);
+        rowAnchorY = Arrays.copyOf(rowAnchorY, n);
+        rowAnchorZ = Arrays.copyOf(rowAnchorZ, n);
+    }
+
+    // Anchor resolution scratch (server thread only)
+    private static final ShipAnchorResolver.Anchor ANCHOR = new ShipAnchorResolver.Anchor();
+    private static final Vector3d POINT = new Vector3d();
+    private static final ServerControlState.Control CONTROL = new ServerControlState.Control();
+
+    /** Last pull force applied for this animal's leash (N), or NaN if none. */
+    public static double lastPullForce(UUID animalId) {
+        return LAST_PULL_FORCE.getOrDefault(animalId, Double.NaN);
+    }
+
+    private static void maybeWarnBadAnchor(int now, UUID animalId) {
         int last = LAST_BAD_ANCHOR_TICK.getOrDefault(animalId, -999999);
         if (now - last < 40) return;
 
         LAST_BAD_ANCHOR_TICK.put(animalId, now);
     }
 
-    // Use true VS ship velocity (assumed world space, units likely blocks/sec). If unavailable, returns ZERO (safe).
-    private static Vec3 getShipVelocity(Object ship) {
-        try {
-            var m = ship.getClass().getMethod("getVelocity");
-            Object v = m.invoke(ship);
-            if (v instanceof org.joml.Vector3dc j) {
-                return new Vec3(j.x(), j.y(), j.z());
-            }
-        } catch (Throwable ignored) {}
-        return Vec3.ZERO;
-    }
-
     private static void cleanup(Animal animal) {
         UUID id = animal.getUUID();
-        LAST_PULL_FORCE.remove(id);
-        LAST_BAD_ANCHOR_TICK.remove(id);
+        LAST_PULL_FORCE.removeDouble(id);
+        LAST_BAD_ANCHOR_TICK.removeInt(id);
+        ShipLeashRegistry.detach(animal);
         animal.getCapability(ReinedAnimalProvider.CAPABILITY).ifPresent(cap -> {
             cap.setLeashedToShip(false);
             cap.setShipFencePos(null);
@@ -1,39 +1,115 @@
 package com.smeakmoseley.reinsmod.network;
 
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.util.Mth;
 
+/**
+ * Whip input, client -> server (protocol v2; 7 payload bytes, plus the channel's 1-byte
+ * message id).
+ *
+ * Layout:
+ *  - u16 seq     wraps; lets the server tell a keepalive from a fresh input
+ *  - u16 tick    client tick the input was sampled on (wraps; jitter buffer key)
+ *  - u8  buttons forward+/forward-/left/right/sprint/jump bits
+ *  - u16 yaw     camera yaw quantised to 360/65536 degrees
+ *
+ * IMPORTANT:
+ *  - Only sent on change plus a low-rate keepalive (see ClientInputEvents), and only
+ *    while the server has enabled input (ControlEnablePacket).
+ *  - Keyboard input is digital, so forward/strafe are exactly -1, 0 or +1.
+ */
 public class AnimalControlInputPacket {
 
-    public final float forward;
-    public final float strafe;
-    public final float yaw;
+    public static final int FORWARD_POS = 1;
+    public static final int FORWARD_NEG = 1 << 1;
+    public static final int STRAFE_NEG = 1 << 2;
+    public static final int STRAFE_POS = 1 << 3;
+    public static final int SPRINT = 1 << 4;
+    public static final int JUMP = 1 << 5;
 
-    public final boolean sprint;
-    public final boolean jump;
+    private static final float YAW_STEPS = 65536.0f;
 
-    public AnimalControlInputPacket(float forward, float strafe, float yaw, boolean sprint, boolean jump) {
-        this.forward = forward;
-        this.strafe = strafe;
-        this.yaw = yaw;
-        this.sprint = sprint;
-        this.jump = jump;
+    public final int seq;
+    public final int tick;
+    public final int buttons;
+    public final int yawQ;
+
+    public AnimalControlInputPacket(int seq, int tick, int buttons, int yawQ) {
+        this.seq = seq & 0xFFFF;
+        this.tick = tick & 0xFFFF;
+        this.buttons = buttons & 0xFF;
+        this.yawQ = yawQ & 0xFFFF;
+    }
+
+    // =========================================================
+    // Packing helpers (shared by client encode and server decode)
+    // =========================================================
+
+    public static int packButtons(float forward, float strafe, boolean sprint, boolean jump) {
+        int b = 0;
+        if (forward > 0.0f) b |= FORWARD_POS;
+        else if (forward < 0.0f) b |= FORWARD_NEG;
+        if (strafe < 0.0f) b |= STRAFE_NEG;
+        else if (strafe > 0.0f) b |= STRAFE_POS;
+        if (sprint) b |= SPRINT;
+        if (jump) b |= JUMP;
+        return b;
+    }
+
+    public static int quantizeYaw(float yawDeg) {
+        return Math.round(Mth.wrapDegrees(yawDeg) * (YAW_STEPS / 360.0f)) & 0xFFFF;
     }
 
+    public float forward() {
+        return axis(buttons, FORWARD_POS, FORWARD_NEG);
+    }
+
+    public float strafe() {
+        return axis(buttons, STRAFE_POS, STRAFE_NEG);
+    }
+
+    /** Degrees in [-180, 180). */
+    public float yaw() {
+        return dequantizeYaw(yawQ);
+    }
+
+    /** Inverse of {@link #quantizeYaw}; the server steers with exactly this value. */
+    public static float dequantizeYaw(int yawQ) {
+        return (short) yawQ * (360.0f / YAW_STEPS);
+    }
+
+    public boolean sprint() {
+        return (buttons & SPRINT) != 0;
+    }
+
+    public boolean jump() {
+        return (buttons & JUMP) != 0;
+    }
+
+    private static float axis(int b, int pos, int neg) {
+        float v = 0.0f;
+        if ((b & pos) != 0) v += 1.0f;
+        if ((b & neg) != 0) v -= 1.0f;
+        return v;
+    }
+
+    // =========================================================
+    // Wire
+    // =========================================================
+
     public static void encode(AnimalControlInputPacket msg, FriendlyByteBuf buf) {
-        buf.writeFloat(msg.forward);
-        buf.writeFloat(msg.strafe);
-        buf.writeFloat(msg.yaw);
-        buf.writeBoolean(msg.sprint);
-        buf.writeBoolean(msg.jump);
+        buf.writeShort(msg.seq);
+        buf.writeShort(msg.tick);
+        buf.writeByte(msg.buttons);
+        buf.writeShort(msg.yawQ);
     }
 
     public static AnimalControlInputPacket decode(FriendlyByteBuf buf) {
         return new AnimalControlInputPacket(
-                buf.readFloat(),
-                buf.readFloat(),
-                buf.readFloat(),
-                buf.readBoolean(),
-                buf.readBoolean()
+                buf.readUnsignedShort(),
+                buf.readUnsignedShort(),
+                buf.readUnsignedByte(),
+                buf.readUnsignedShort()
         );
     }
-}
\ No newline at end of file
+}
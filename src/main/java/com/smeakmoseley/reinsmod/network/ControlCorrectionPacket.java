@@ -0,0 +1,113 @@
+package com.smeakmoseley.reinsmod.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Server -> controlling client: authoritative state of the steered animals whose
+ * server trajectory left the one the client predicts, stamped with the input it
+ * reflects, for client-side prediction to reconcile against.
+ *
+ * Layout:
+ *  - u16 seq   last input sequence number the server applied
+ *  - u16 tick  client tick whose input the server state corresponds to
+ *  - varint n, then n x (varint entityId, f64 x, f64 y, f64 z, u16 yaw, bool hasAnchor
+ *    [, f64 anchorX, f64 anchorZ])
+ *
+ * The anchor is the world-space rope anchor the server clamped against this tick
+ * (ship leashes only), so the client can apply the same rigid rope clamp.
+ *
+ * IMPORTANT:
+ *  - One packet per player per tick at most, holding only the animals that diverged
+ *    (or are due a heartbeat); a tick where prediction holds sends nothing.
+ *  - The server only reports state it already has; it never simulates for the client.
+ */
+public class ControlCorrectionPacket {
+
+    public final int seq;
+    public final int tick;
+
+    public final int count;
+    public final int[] entityIds;
+    public final double[] xs;
+    public final double[] ys;
+    public final double[] zs;
+    public final int[] yawQs;
+
+    // NaN = no rope clamp for this animal
+    public final double[] anchorXs;
+    public final double[] anchorZs;
+
+    public ControlCorrectionPacket(int seq, int tick, int count,
+                                   int[] entityIds, double[] xs, double[] ys, double[] zs, int[] yawQs,
+                                   double[] anchorXs, double[] anchorZs) {
+        this.seq = seq & 0xFFFF;
+        this.tick = tick & 0xFFFF;
+        this.count = count;
+        this.entityIds = entityIds;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        this.yawQs = yawQs;
+        this.anchorXs = anchorXs;
+        this.anchorZs = anchorZs;
+    }
+
+    public float yaw(int i) {
+        return AnimalControlInputPacket.dequantizeYaw(yawQs[i]);
+    }
+
+    public static void encode(ControlCorrectionPacket msg, FriendlyByteBuf buf) {
+        buf.writeShort(msg.seq);
+        buf.writeShort(msg.tick);
+        buf.writeVarInt(msg.count);
+        for (int i = 0; i < msg.count; i++) {
+            buf.writeVarInt(msg.entityIds[i]);
+            buf.writeDouble(msg.xs[i]);
+            buf.writeDouble(msg.ys[i]);
+            buf.writeDouble(msg.zs[i]);
+            buf.writeShort(msg.yawQs[i]);
+
+            boolean hasAnchor = !Double.isNaN(msg.anchorXs[i]);
+            buf.writeBoolean(hasAnchor);
+            if (hasAnchor) {
+                buf.writeDouble(msg.anchorXs[i]);
+                buf.writeDouble(msg.anchorZs[i]);
+            }
+        }
+    }
+
+    public static ControlCorrectionPacket decode(FriendlyByteBuf buf) {
+        int seq = buf.readUnsignedShort();
+        int tick = buf.readUnsignedShort();
+
+        // Bound by what the buffer can actually hold (28 bytes minimum per animal)
+        int n = buf.readVarInt();
+        if (n < 0 || n > buf.readableBytes() / 28) {
+            throw new IllegalArgumentException("Bad control correction size: " + n);
+        }
+
+        int[] ids = new int[n];
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        int[] yaws = new int[n];
+        double[] axs = new double[n];
+        double[] azs = new double[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = buf.readVarInt();
+            xs[i] = buf.readDouble();
+            ys[i] = buf.readDouble();
+            zs[i] = buf.readDouble();
+            yaws[i] = buf.readUnsignedShort();
+
+            if (buf.readBoolean()) {
+                axs[i] = buf.readDouble();
+                azs[i] = buf.readDouble();
+            } else {
+                axs[i] = Double.NaN;
+                azs[i] = Double.NaN;
+            }
+        }
+        return new ControlCorrectionPacket(seq, tick, n, ids, xs, ys, zs, yaws, axs, azs);
+    }
+}
@@ -0,0 +1,28 @@
+package com.smeakmoseley.reinsmod.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Server -> client: the entity ids of this player's reined animals in control range.
+ * Empty = disabled: the client sends no whip input and predicts nothing.
+ */
+public class ControlEnablePacket {
+
+    public final int[] animalIds;
+
+    public ControlEnablePacket(int[] animalIds) {
+        this.animalIds = animalIds;
+    }
+
+    public boolean enabled() {
+        return animalIds.length > 0;
+    }
+
+    public static void encode(ControlEnablePacket msg, FriendlyByteBuf buf) {
+        buf.writeVarIntArray(msg.animalIds);
+    }
+
+    public static ControlEnablePacket decode(FriendlyByteBuf buf) {
+        return new ControlEnablePacket(buf.readVarIntArray());
+    }
+}
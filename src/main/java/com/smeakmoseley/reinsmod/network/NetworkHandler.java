@@ -1,14 +1,22 @@
 package com.smeakmoseley.reinsmod.network;
 
 import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.client.ClientPacketHandlers;
 import com.smeakmoseley.reinsmod.control.AnimalControlLogic;
+import com.smeakmoseley.reinsmod.tracking.TowStateSync;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 
+import java.util.Optional;
+
 public class NetworkHandler {
 
-    private static final String PROTOCOL = "1";
+    // 2: compact ticked input, server enable packet, divergence corrections, batched tow state sync
+    private static final String PROTOCOL = "2";
 
     public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
             new ResourceLocation(ReinsMod.MODID, "main"),
@@ -33,7 +41,63 @@ public class NetworkHandler {
                         }
                     });
                     ctx.get().setPacketHandled(true);
-                }
+                },
+                Optional.of(NetworkDirection.PLAY_TO_SERVER)
+        );
+
+        CHANNEL.registerMessage(
+                1,
+                ControlEnablePacket.class,
+                ControlEnablePacket::encode,
+                ControlEnablePacket::decode,
+                (msg, ctx) -> {
+                    ctx.get().enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                            () -> () -> ClientPacketHandlers.handleControlEnable(msg)));
+                    ctx.get().setPacketHandled(true);
+                },
+                Optional.of(NetworkDirection.PLAY_TO_CLIENT)
+        );
+
+        CHANNEL.registerMessage(
+                2,
+                ControlCorrectionPacket.class,
+                ControlCorrectionPacket::encode,
+                ControlCorrectionPacket::decode,
+                (msg, ctx) -> {
+                    ctx.get().enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                            () -> () -> ClientPacketHandlers.handleControlCorrection(msg)));
+                    ctx.get().setPacketHandled(true);
+                },
+                Optional.of(NetworkDirection.PLAY_TO_CLIENT)
+        );
+
+        CHANNEL.registerMessage(
+                3,
+                TowStatePacket.class,
+                TowStatePacket::encode,
+                TowStatePacket::decode,
+                (msg, ctx) -> {
+                    ctx.get().enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                            () -> () -> ClientPacketHandlers.handleTowState(msg)));
+                    ctx.get().setPacketHandled(true);
+                },
+                Optional.of(NetworkDirection.PLAY_TO_CLIENT)
+        );
+
+        CHANNEL.registerMessage(
+                4,
+                TowStateAckPacket.class,
+                TowStateAckPacket::encode,
+                TowStateAckPacket::decode,
+                (msg, ctx) -> {
+                    ctx.get().enqueueWork(() -> {
+                        if (ctx.get().getSender() != null) {
+                            TowStateSync.onAck(ctx.get().getSender(), msg.batch);
+                        }
+                    });
+                    ctx.get().setPacketHandled(true);
+                },
+                Optional.of(NetworkDirection.PLAY_TO_SERVER)
         );
     }
 }
@@ -0,0 +1,24 @@
+package com.smeakmoseley.reinsmod.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Client -> server: every TowStatePacket up to and including this batch is applied.
+ * The server deltas later state against what this confirms.
+ */
+public class TowStateAckPacket {
+
+    public final int batch;
+
+    public TowStateAckPacket(int batch) {
+        this.batch = batch;
+    }
+
+    public static void encode(TowStateAckPacket msg, FriendlyByteBuf buf) {
+        buf.writeVarInt(msg.batch);
+    }
+
+    public static TowStateAckPacket decode(FriendlyByteBuf buf) {
+        return new TowStateAckPacket(buf.readVarInt());
+    }
+}
@@ -0,0 +1,100 @@
+package com.smeakmoseley.reinsmod.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.UUID;
+
+/**
+ * Server -> client: tow state of reined animals this player can see, as deltas
+ * against what the client last acknowledged (TowStateAckPacket). One packet per
+ * player per tick at most, and only when something changed.
+ *
+ * Layout:
+ *  - varint batch  echoed back in the ack
+ *  - varint n, then n x (varint entityId, u8 mask, fields present in mask, in bit order)
+ *
+ * Mask bits / fields:
+ *  - OWNER  UUID                       (presence in the set = reined)
+ *  - SHIP   i64 ship id                (Long.MIN_VALUE = not tied to a ship)
+ *  - ANCHOR i64 fence BlockPos.asLong  (Long.MIN_VALUE = none)
+ *  - PULL   u8 pull force bucket       (0 = none, else ~log2(kN))
+ *  - REMOVE (no fields)                no longer reined, or out of this player's interest
+ */
+public class TowStatePacket {
+
+    public static final int OWNER = 1;
+    public static final int SHIP = 1 << 1;
+    public static final int ANCHOR = 1 << 2;
+    public static final int PULL = 1 << 3;
+    public static final int REMOVE = 1 << 7;
+
+    public static final int ALL = OWNER | SHIP | ANCHOR | PULL;
+
+    public static final long NONE = Long.MIN_VALUE;
+
+    public final int batch;
+
+    public final int count;
+    public final int[] entityIds;
+    public final int[] masks;
+    public final UUID[] owners;
+    public final long[] shipIds;
+    public final long[] anchors;
+    public final byte[] pulls;
+
+    public TowStatePacket(int batch, int count, int[] entityIds, int[] masks,
+                          UUID[] owners, long[] shipIds, long[] anchors, byte[] pulls) {
+        this.batch = batch;
+        this.count = count;
+        this.entityIds = entityIds;
+        this.masks = masks;
+        this.owners = owners;
+        this.shipIds = shipIds;
+        this.anchors = anchors;
+        this.pulls = pulls;
+    }
+
+    public static void encode(TowStatePacket msg, FriendlyByteBuf buf) {
+        buf.writeVarInt(msg.batch);
+        buf.writeVarInt(msg.count);
+        for (int i = 0; i < msg.count; i++) {
+            int mask = msg.masks[i];
+            buf.writeVarInt(msg.entityIds[i]);
+            buf.writeByte(mask);
+
+            if ((mask & OWNER) != 0) buf.writeUUID(msg.owners[i]);
+            if ((mask & SHIP) != 0) buf.writeLong(msg.shipIds[i]);
+            if ((mask & ANCHOR) != 0) buf.writeLong(msg.anchors[i]);
+            if ((mask & PULL) != 0) buf.writeByte(msg.pulls[i]);
+        }
+    }
+
+    public static TowStatePacket decode(FriendlyByteBuf buf) {
+        int batch = buf.readVarInt();
+
+        // Bound by what the buffer can actually hold (2 bytes minimum per entry)
+        int n = buf.readVarInt();
+        if (n < 0 || n > buf.readableBytes() / 2) {
+            throw new IllegalArgumentException("Bad tow state size: " + n);
+        }
+
+        int[] ids = new int[n];
+        int[] masks = new int[n];
+        UUID[] owners = new UUID[n];
+        long[] ships = new long[n];
+        long[] anchors = new long[n];
+        byte[] pulls = new byte[n];
+
+        for (int i = 0; i < n; i++) {
+            ids[i] = buf.readVarInt();
+            int mask = buf.readUnsignedByte();
+            masks[i] = mask;
+
+            if ((mask & OWNER) != 0) owners[i] = buf.readUUID();
+            if ((mask & SHIP) != 0) ships[i] = buf.readLong();
+            if ((mask & ANCHOR) != 0) anchors[i] = buf.readLong();
+            if ((mask & PULL) != 0) pulls[i] = buf.readByte();
+        }
+        return new TowStatePacket(batch, n, ids, masks, owners, ships, anchors, pulls);
+    }
+}
@@ -0,0 +1,238 @@
+package com.smeakmoseley.reinsmod.tracking;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraft.world.entity.decoration.LeashFenceKnotEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-level bidirectional leash graph:
+ *   fence BlockPos -> LeashFenceKnotEntity -> leashed animals,
+ *   animal -> knot entry,
+ *   player -> animals on the player's own leads.
+ *
+ * IMPORTANT:
+ *  - Server thread only.
+ *  - Knots are indexed on spawn/load and dropped on removal or fence break.
+ *  - Vanilla has no leash/unleash event, so edges are refreshed where a leash can
+ *    change hands: every animal and knot interaction and every animal join (a saved
+ *    leash is restored on the animal's first tick) queue a {@link #syncLater}, and
+ *    a fence click moves the clicking player's leads onto the knot
+ *    (ShipLeashEvents). A leash that snaps from distance leaves a stale edge until
+ *    the next sync; readers check getLeashHolder() anyway.
+ */
+public final class LeashKnotIndex {
+
+    private static final class KnotEntry {
+        final ResourceKey<Level> dimension;
+        final long pos;
+        LeashFenceKnotEntity knot;
+        final List<Animal> animals = new ArrayList<>(2);
+
+        KnotEntry(ResourceKey<Level> dimension, long pos) {
+            this.dimension = dimension;
+            this.pos = pos;
+        }
+    }
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<KnotEntry>> LEVELS = new HashMap<>();
+    private static final Map<Animal, KnotEntry> ENTRY_OF = new IdentityHashMap<>();
+
+    // Animals on a player's lead (a fence click ties exactly these to the knot)
+    private static final Map<UUID, List<Animal>> HELD_BY = new HashMap<>();
+    private static final Map<Animal, UUID> HOLDER_OF = new IdentityHashMap<>();
+
+    // syncLater queue: an entry waits one full tick so the animal has ticked (and
+    // restored or swapped its leash) before it is read
+    private static List<Animal> pending = new ArrayList<>();
+    private static List<Animal> pendingPrev = new ArrayList<>();
+
+    private LeashKnotIndex() {}
+
+    // ------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------
+
+    /** Live knot on this fence, or null. */
+    public static LeashFenceKnotEntity knotAt(ServerLevel level, BlockPos fencePos) {
+        if (level == null || fencePos == null) return null;
+
+        KnotEntry e = entry(level.dimension(), fencePos.asLong(), false);
+        if (e == null || e.knot == null || e.knot.isRemoved()) return null;
+        return e.knot;
+    }
+
+    /** Animals known to be leashed to the knot on this fence. Do not modify. */
+    public static List<Animal> animalsAt(ServerLevel level, BlockPos fencePos) {
+        if (level == null || fencePos == null) return Collections.emptyList();
+
+        KnotEntry e = entry(level.dimension(), fencePos.asLong(), false);
+        return e != null ? e.animals : Collections.emptyList();
+    }
+
+    /** Animals known to be on this player's lead. Do not modify. */
+    public static List<Animal> heldBy(Player player) {
+        if (player == null) return Collections.emptyList();
+
+        List<Animal> held = HELD_BY.get(player.getUUID());
+        return held != null ? held : Collections.emptyList();
+    }
+
+    // ------------------------------------------------------------
+    // Updates
+    // ------------------------------------------------------------
+
+    public static void addKnot(LeashFenceKnotEntity knot) {
+        if (knot == null || knot.level().isClientSide) return;
+
+        KnotEntry e = entry(knot.level().dimension(), knot.blockPosition().asLong(), true);
+        e.knot = knot;
+    }
+
+    public static void removeKnot(LeashFenceKnotEntity knot) {
+        if (knot == null || knot.level().isClientSide) return;
+
+        KnotEntry e = entry(knot.level().dimension(), knot.blockPosition().asLong(), false);
+        if (e == null || e.knot != knot) return;
+
+        removeEntry(e);
+    }
+
+    /** Fence block broken: the knot (and its leashes) is going away. */
+    public static void onFenceRemoved(ServerLevel level, BlockPos fencePos) {
+        if (level == null || fencePos == null) return;
+
+        KnotEntry e = entry(level.dimension(), fencePos.asLong(), false);
+        if (e != null) removeEntry(e);
+    }
+
+    /** Syncs the animal's leash after its next full tick (join, interaction). */
+    public static void syncLater(Animal animal) {
+        if (animal == null || animal.level().isClientSide) return;
+        pending.add(animal);
+    }
+
+    /** Once per server tick (END): syncs the animals queued during the previous tick. */
+    public static void flushPending() {
+        List<Animal> due = pendingPrev;
+        for (int i = 0; i < due.size(); i++) {
+            syncLeash(due.get(i));
+        }
+        due.clear();
+
+        pendingPrev = pending;
+        pending = due;
+    }
+
+    /** Re-reads the animal's leash holder and moves its edges if it changed. */
+    public static void syncLeash(Animal animal) {
+        if (animal == null || animal.level().isClientSide) return;
+
+        Entity holder = animal.getLeashHolder();
+        syncPlayer(animal, holder instanceof Player p && !animal.isRemoved() ? p.getUUID() : null);
+
+        KnotEntry current = ENTRY_OF.get(animal);
+
+        if (!(holder instanceof LeashFenceKnotEntity knot) || knot.isRemoved() || animal.isRemoved()) {
+            if (current != null) removeAnimal(animal);
+            return;
+        }
+
+        ResourceKey<Level> dim = knot.level().dimension();
+        long pos = knot.blockPosition().asLong();
+        if (current != null && current.pos == pos && current.dimension == dim) return;
+
+        if (current != null) removeAnimal(animal);
+
+        KnotEntry e = entry(dim, pos, true);
+        if (e.knot == null || e.knot.isRemoved()) e.knot = knot;
+
+        e.animals.add(animal);
+        ENTRY_OF.put(animal, e);
+    }
+
+    public static void removeAnimal(Animal animal) {
+        syncPlayer(animal, null);
+
+        KnotEntry e = ENTRY_OF.remove(animal);
+        if (e == null) return;
+
+        e.animals.remove(animal);
+        if (e.animals.isEmpty() && e.knot == null) {
+            Long2ObjectOpenHashMap<KnotEntry> byPos = LEVELS.get(e.dimension);
+            if (byPos != null && byPos.get(e.pos) == e) byPos.remove(e.pos);
+        }
+    }
+
+    public static void clear() {
+        LEVELS.clear();
+        ENTRY_OF.clear();
+        HELD_BY.clear();
+        HOLDER_OF.clear();
+        pending.clear();
+        pendingPrev.clear();
+    }
+
+    // ------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------
+
+    private static KnotEntry entry(ResourceKey<Level> dim, long pos, boolean create) {
+        Long2ObjectOpenHashMap<KnotEntry> byPos = LEVELS.get(dim);
+        if (byPos == null) {
+            if (!create) return null;
+            byPos = new Long2ObjectOpenHashMap<>();
+            LEVELS.put(dim, byPos);
+        }
+
+        KnotEntry e = byPos.get(pos);
+        if (e == null && create) {
+            e = new KnotEntry(dim, pos);
+            byPos.put(pos, e);
+        }
+        return e;
+    }
+
+    private static void syncPlayer(Animal animal, UUID player) {
+        UUID current = HOLDER_OF.get(animal);
+        if (current == null ? player == null : current.equals(player)) return;
+
+        if (current != null) {
+            HOLDER_OF.remove(animal);
+            List<Animal> held = HELD_BY.get(current);
+            if (held != null && held.remove(animal) && held.isEmpty()) HELD_BY.remove(current);
+        }
+
+        if (player != null) {
+            HOLDER_OF.put(animal, player);
+            HELD_BY.computeIfAbsent(player, k -> new ArrayList<>(2)).add(animal);
+        }
+    }
+
+    private static void removeEntry(KnotEntry e) {
+        for (int i = 0; i < e.animals.size(); i++) {
+            ENTRY_OF.remove(e.animals.get(i));
+        }
+        e.animals.clear();
+        e.knot = null;
+
+        Long2ObjectOpenHashMap<KnotEntry> byPos = LEVELS.get(e.dimension);
+        if (byPos == null) return;
+
+        if (byPos.get(e.pos) == e) byPos.remove(e.pos);
+        if (byPos.isEmpty()) LEVELS.remove(e.dimension);
+    }
+}
@@ -0,0 +1,279 @@
+package com.smeakmoseley.reinsmod.tracking;
+
+import com.mojang.logging.LogUtils;
+import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
+import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-dimension saved index of reined animals: owner, last known chunk, ship and
+ * fence, readable without loading or scanning any entity ("where are my animals",
+ * pre-warming ship leashes after a restart, chunk ticket decisions).
+ *
+ * Kept current incrementally: reins attach/remove and entity join/leave update the
+ * entry at once; chunk, ship and fence changes are picked up by a sweep over the
+ * loaded reined animals every SWEEP_TICKS. Only a real change marks it dirty.
+ *
+ * NBT (data/reinsmod_reined_animals.dat): one long array per column instead of a
+ * compound per animal.
+ *  - Ids     2 longs per entry (UUID msb, lsb)
+ *  - Owners  2 longs per entry
+ *  - Chunks  ChunkPos.toLong
+ *  - Ships   VS ship id (NO_SHIP_ID = none)
+ *  - Fences  BlockPos.asLong (Long.MIN_VALUE = none)
+ *
+ * IMPORTANT:
+ *  - Server thread only.
+ *  - Each level's index is looked up in DimensionDataStorage once and then held here
+ *    until the level unloads: sync() runs for every animal join/leave, and for an
+ *    unreined animal it must cost no more than one map probe.
+ *  - An animal unloaded with its chunk stays indexed at its last chunk; only death,
+ *    discard, a dimension change or removing the reins drops it.
+ */
+@Mod.EventBusSubscriber(modid = ReinsMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class ReinedAnimalIndex extends SavedData {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final String NAME = ReinsMod.MODID + "_reined_animals";
+
+    // Chunk / ship / fence changes of loaded animals are picked up this often
+    private static final int SWEEP_TICKS = 20;
+
+    public static final long NO_FENCE = Long.MIN_VALUE;
+
+    /** One reined animal as last seen. */
+    public static final class Entry {
+        public final UUID animal;
+        UUID owner;
+        long chunk;
+        long shipId;
+        long fence;
+
+        Entry(UUID animal) {
+            this.animal = animal;
+        }
+
+        public UUID owner() { return owner; }
+
+        /** ChunkPos.toLong of the chunk the animal was last in. */
+        public long chunk() { return chunk; }
+
+        /** VS ship id it is tied to, or VsShipAccess.NO_SHIP_ID. */
+        public long shipId() { return shipId; }
+
+        /** BlockPos.asLong of its ship fence, or NO_FENCE. */
+        public long fence() { return fence; }
+    }
+
+    // Loaded indexes by level (server thread only)
+    private static final Reference2ObjectOpenHashMap<ServerLevel, ReinedAnimalIndex> LOADED =
+            new Reference2ObjectOpenHashMap<>();
+
+    private final Object2ObjectOpenHashMap<UUID, Entry> entries = new Object2ObjectOpenHashMap<>();
+
+    // Owner -> their entries (ownedBy without a scan)
+    private final Object2ObjectOpenHashMap<UUID, ObjectOpenHashSet<Entry>> byOwner = new Object2ObjectOpenHashMap<>();
+
+    private ReinedAnimalIndex() {}
+
+    public static ReinedAnimalIndex get(ServerLevel level) {
+        ReinedAnimalIndex index = LOADED.get(level);
+        if (index == null) {
+            index = level.getDataStorage().computeIfAbsent(ReinedAnimalIndex::load, ReinedAnimalIndex::new, NAME);
+            LOADED.put(level, index);
+        }
+        return index;
+    }
+
+    /** Level unloaded: drop its cached index (DimensionDataStorage still saves it). */
+    public static void unload(ServerLevel level) {
+        LOADED.remove(level);
+    }
+
+    public static void clear() {
+        LOADED.clear();
+    }
+
+    // =========================================================
+    // Queries
+    // =========================================================
+
+    public Entry get(UUID animal) {
+        return entries.get(animal);
+    }
+
+    /** Every indexed animal in this dimension. Do not modify. */
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /** This player's reined animals in this dimension, loaded or not. */
+    public List<Entry> ownedBy(UUID owner) {
+        ObjectOpenHashSet<Entry> owned = byOwner.get(owner);
+        return owned != null ? new ArrayList<>(owned) : new ArrayList<>();
+    }
+
+    // =========================================================
+    // Updates
+    // =========================================================
+
+    /** Re-reads the animal and indexes, updates or drops it. */
+    public static void sync(Animal animal) {
+        if (!(animal.level() instanceof ServerLevel level)) return;
+
+        ReinedAnimalIndex index = get(level);
+
+        IReinedAnimal cap = animal.getCapability(ReinedAnimalProvider.CAPABILITY).orElse(null);
+        if (cap == null || !cap.hasReins() || cap.getOwner() == null) {
+            // The common case: an unreined animal that was never indexed
+            if (index.entries.containsKey(animal.getUUID())) index.drop(animal.getUUID());
+            return;
+        }
+
+        index.put(animal, cap);
+    }
+
+    /** Gone for good from this level (killed, discarded, changed dimension). */
+    public static void remove(ServerLevel level, UUID animal) {
+        get(level).drop(animal);
+    }
+
+    private void drop(UUID animal) {
+        Entry e = entries.remove(animal);
+        if (e == null) return;
+
+        unlinkOwner(e);
+        setDirty();
+    }
+
+    private void put(Animal animal, IReinedAnimal cap) {
+        UUID owner = cap.getOwner();
+        long chunk = animal.chunkPosition().toLong();
+
+        long shipId = ShipLeashRegistry.shipIdOf(animal);
+        if (shipId == VsShipAccess.NO_SHIP_ID && cap.isLeashedToShip()) shipId = cap.getAnchorShipId();
+
+        BlockPos fencePos = cap.isLeashedToShip() ? cap.getShipFencePos() : null;
+        long fence = fencePos != null ? fencePos.asLong() : NO_FENCE;
+
+        Entry e = entries.get(animal.getUUID());
+        if (e == null) {
+            e = new Entry(animal.getUUID());
+            entries.put(e.animal, e);
+        } else if (e.owner.equals(owner) && e.chunk == chunk && e.shipId == shipId && e.fence == fence) {
+            return;
+        } else if (!e.owner.equals(owner)) {
+            unlinkOwner(e);
+            e.owner = null;
+        }
+
+        if (e.owner == null) {
+            e.owner = owner;
+            linkOwner(e);
+        }
+        e.chunk = chunk;
+        e.shipId = shipId;
+        e.fence = fence;
+        setDirty();
+    }
+
+    private void linkOwner(Entry e) {
+        byOwner.computeIfAbsent(e.owner, k -> new ObjectOpenHashSet<>()).add(e);
+    }
+
+    private void unlinkOwner(Entry e) {
+        ObjectOpenHashSet<Entry> owned = byOwner.get(e.owner);
+        if (owned != null && owned.remove(e) && owned.isEmpty()) byOwner.remove(e.owner);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        if (event.getServer().getTickCount() % SWEEP_TICKS != 0) return;
+
+        for (Animal animal : ReinedAnimalRegistry.all()) {
+            if (!animal.isRemoved()) sync(animal);
+        }
+    }
+
+    // =========================================================
+    // NBT
+    // =========================================================
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        int n = entries.size();
+        long[] ids = new long[n * 2];
+        long[] owners = new long[n * 2];
+        long[] chunks = new long[n];
+        long[] ships = new long[n];
+        long[] fences = new long[n];
+
+        int i = 0;
+        for (Entry e : entries.values()) {
+            ids[i * 2] = e.animal.getMostSignificantBits();
+            ids[i * 2 + 1] = e.animal.getLeastSignificantBits();
+            owners[i * 2] = e.owner.getMostSignificantBits();
+            owners[i * 2 + 1] = e.owner.getLeastSignificantBits();
+            chunks[i] = e.chunk;
+            ships[i] = e.shipId;
+            fences[i] = e.fence;
+            i++;
+        }
+
+        tag.putLongArray("Ids", ids);
+        tag.putLongArray("Owners", owners);
+        tag.putLongArray("Chunks", chunks);
+        tag.putLongArray("Ships", ships);
+        tag.putLongArray("Fences", fences);
+        return tag;
+    }
+
+    private static ReinedAnimalIndex load(CompoundTag tag) {
+        ReinedAnimalIndex index = new ReinedAnimalIndex();
+
+        long[] ids = tag.getLongArray("Ids");
+        long[] owners = tag.getLongArray("Owners");
+        long[] chunks = tag.getLongArray("Chunks");
+        long[] ships = tag.getLongArray("Ships");
+        long[] fences = tag.getLongArray("Fences");
+
+        // Columns must agree; a damaged file is rebuilt from the animals as they load
+        int n = chunks.length;
+        if (ids.length != n * 2 || owners.length != n * 2 || ships.length != n || fences.length != n) {
+            LOGGER.warn("Discarding inconsistent reined animal index ({} entries)", n);
+            return index;
+        }
+
+        for (int i = 0; i < n; i++) {
+            Entry e = new Entry(new UUID(ids[i * 2], ids[i * 2 + 1]));
+            e.owner = new UUID(owners[i * 2], owners[i * 2 + 1]);
+            e.chunk = chunks[i];
+            e.shipId = ships[i];
+            e.fence = fences[i];
+            index.entries.put(e.animal, e);
+            index.linkOwner(e);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,89 @@
+package com.smeakmoseley.reinsmod.tracking;
+
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
+import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import net.minecraft.world.entity.animal.Animal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Live index of reined animals, keyed by owner UUID.
+ *
+ * IMPORTANT:
+ *  - Only animals whose capability reports hasReins() (with an owner) are held.
+ *  - Server thread only (entity join/leave, interaction and tick events).
+ *  - Per-owner lists keep insertion order so the control tick walks them stably
+ *    by index; a removal mid-walk only shifts the remaining entries.
+ */
+public final class ReinedAnimalRegistry {
+
+    private static final Map<UUID, List<Animal>> BY_OWNER = new HashMap<>();
+    private static final Map<Animal, UUID> OWNER_OF = new IdentityHashMap<>();
+
+    private ReinedAnimalRegistry() {}
+
+    /** Re-reads the capability and tracks/untracks the animal accordingly. */
+    public static void refresh(Animal animal) {
+        if (animal == null || animal.level().isClientSide) return;
+
+        IReinedAnimal cap = animal.getCapability(ReinedAnimalProvider.CAPABILITY).orElse(null);
+        if (cap == null || !cap.hasReins() || cap.getOwner() == null || animal.isRemoved()) {
+            untrack(animal);
+            return;
+        }
+
+        track(animal, cap.getOwner());
+    }
+
+    public static void track(Animal animal, UUID owner) {
+        if (animal == null || owner == null) return;
+
+        UUID prev = OWNER_OF.put(animal, owner);
+        if (owner.equals(prev)) return;
+
+        if (prev != null) removeFromOwner(prev, animal);
+        BY_OWNER.computeIfAbsent(owner, id -> new ArrayList<>()).add(animal);
+    }
+
+    public static void untrack(Animal animal) {
+        if (animal == null) return;
+
+        UUID prev = OWNER_OF.remove(animal);
+        if (prev != null) removeFromOwner(prev, animal);
+    }
+
+    /** Reined animals owned by this player (all levels). Do not modify. */
+    public static List<Animal> animalsOf(UUID owner) {
+        List<Animal> list = BY_OWNER.get(owner);
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /** Every reined animal (all owners, all levels). Do not modify. */
+    public static Set<Animal> all() {
+        return OWNER_OF.keySet();
+    }
+
+    public static boolean isTracked(Animal animal) {
+        return OWNER_OF.containsKey(animal);
+    }
+
+    public static void clear() {
+        BY_OWNER.clear();
+        OWNER_OF.clear();
+    }
+
+    private static void removeFromOwner(UUID owner, Animal animal) {
+        List<Animal> list = BY_OWNER.get(owner);
+        if (list == null) return;
+
+        list.remove(animal);
+        if (list.isEmpty()) BY_OWNER.remove(owner);
+    }
+}
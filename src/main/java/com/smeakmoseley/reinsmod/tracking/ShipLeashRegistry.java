@@ -0,0 +1,122 @@
+package com.smeakmoseley.reinsmod.tracking;
+
+import com.smeakmoseley.reinsmod.tow.TowHold;
+import com.smeakmoseley.reinsmod.tow.TowSchedule;
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-level registry of active ship leashes, grouped by VS ship id.
+ *
+ * IMPORTANT:
+ *  - Server thread only.
+ *  - Groups and their animal lists keep insertion order, so the physics tick
+ *    walks them by index in a stable order without allocating.
+ *  - Callers walking the lists must tolerate a detach of the current entry
+ *    (see ShipLeashPhysicsTick).
+ */
+public final class ShipLeashRegistry {
+
+    public static final class ShipGroup {
+        public final ResourceKey<Level> dimension;
+        public final long shipId;
+
+        /** Leashed animals in attach order. Do not modify. */
+        public final List<Animal> animals = new ArrayList<>();
+
+        /** Adaptive physics update rate for this ship (ShipLeashPhysicsTick). */
+        public final TowSchedule schedule = new TowSchedule();
+
+        /** Forces from the last update, re-applied every tick until the next one. */
+        public final TowHold held = new TowHold();
+
+        ShipGroup(ResourceKey<Level> dimension, long shipId) {
+            this.dimension = dimension;
+            this.shipId = shipId;
+        }
+    }
+
+    private static final class LevelLeashes {
+        final List<ShipGroup> groups = new ArrayList<>();
+        final Long2ObjectOpenHashMap<ShipGroup> byShip = new Long2ObjectOpenHashMap<>();
+    }
+
+    private static final Map<ResourceKey<Level>, LevelLeashes> LEVELS = new HashMap<>();
+    private static final Map<Animal, ShipGroup> GROUP_OF = new IdentityHashMap<>();
+
+    private ShipLeashRegistry() {}
+
+    /** Registers (or moves) the animal's leash under the given ship. */
+    public static void attach(ServerLevel level, Animal animal, long shipId) {
+        if (level == null || animal == null || shipId == VsShipAccess.NO_SHIP_ID) return;
+
+        ResourceKey<Level> dim = level.dimension();
+
+        ShipGroup current = GROUP_OF.get(animal);
+        if (current != null && current.shipId == shipId && current.dimension == dim) return;
+
+        if (current != null) detach(animal);
+
+        LevelLeashes leashes = LEVELS.computeIfAbsent(dim, k -> new LevelLeashes());
+        ShipGroup group = leashes.byShip.get(shipId);
+        if (group == null) {
+            group = new ShipGroup(dim, shipId);
+            leashes.byShip.put(shipId, group);
+            leashes.groups.add(group);
+        }
+
+        group.animals.add(animal);
+        GROUP_OF.put(animal, group);
+        group.schedule.wake();
+    }
+
+    /** Runs this animal's ship on the next physics tick (e.g. player input arrived). */
+    public static void wake(Animal animal) {
+        ShipGroup group = GROUP_OF.get(animal);
+        if (group != null) group.schedule.wake();
+    }
+
+    public static void detach(Animal animal) {
+        if (animal == null) return;
+
+        ShipGroup group = GROUP_OF.remove(animal);
+        if (group == null) return;
+
+        group.animals.remove(animal);
+        if (!group.animals.isEmpty()) return;
+
+        LevelLeashes leashes = LEVELS.get(group.dimension);
+        if (leashes == null) return;
+
+        leashes.byShip.remove(group.shipId);
+        leashes.groups.remove(group);
+        if (leashes.groups.isEmpty()) LEVELS.remove(group.dimension);
+    }
+
+    /** Ship groups in this level, in stable order. Do not modify. */
+    public static List<ShipGroup> groups(ServerLevel level) {
+        LevelLeashes leashes = LEVELS.get(level.dimension());
+        return leashes != null ? leashes.groups : Collections.emptyList();
+    }
+
+    public static long shipIdOf(Animal animal) {
+        ShipGroup group = GROUP_OF.get(animal);
+        return group != null ? group.shipId : VsShipAccess.NO_SHIP_ID;
+    }
+
+    public static void clear() {
+        LEVELS.clear();
+        GROUP_OF.clear();
+    }
+}
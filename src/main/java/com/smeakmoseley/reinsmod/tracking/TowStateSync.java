@@ -0,0 +1,312 @@
+package com.smeakmoseley.reinsmod.tracking;
+
+import com.smeakmoseley.reinsmod.ReinsMod;
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
+import com.smeakmoseley.reinsmod.capability.reined.ReinedAnimalProvider;
+import com.smeakmoseley.reinsmod.event.ShipLeashPhysicsTick;
+import com.smeakmoseley.reinsmod.network.NetworkHandler;
+import com.smeakmoseley.reinsmod.network.TowStatePacket;
+import com.smeakmoseley.reinsmod.vs.VsShipAccess;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Server -> client sync of tow state (reins/owner, ship, fence anchor, pull force
+ * bucket) for reined animals, one batched TowStatePacket per player per tick.
+ *
+ * Interest: a player only hears about reined animals within vanilla's tracking range
+ * for that entity (a little inside it, so the client always still has the entity).
+ * Delta: each player's entry keeps the state the client last acknowledged; only
+ * fields that differ from it, or from the change still in flight, are sent. A change already in flight is not re-sent
+ * until RESEND_TICKS pass without an ack.
+ *
+ * IMPORTANT:
+ *  - Server thread only.
+ *  - Current state is read once per reined animal per tick, then compared per player;
+ *    a tick where nothing changed sends nothing.
+ *  - Animals that stop being reined, leave interest or are removed get a REMOVE entry
+ *    and are forgotten (a later re-entry starts from a full state).
+ */
+@Mod.EventBusSubscriber(modid = ReinsMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class TowStateSync {
+
+    // An unacknowledged change is sent again after this long
+    private static final int RESEND_TICKS = 20;
+
+    // Stay this far inside vanilla's tracking range (blocks)
+    private static final double INTEREST_MARGIN = 8.0;
+
+    /** One animal's tow state as the client sees it. */
+    private static final class State {
+        UUID owner;
+        long shipId = TowStatePacket.NONE;
+        long anchor = TowStatePacket.NONE;
+        byte pull;
+
+        int diff(State o) {
+            int mask = 0;
+            if (!Objects.equals(owner, o.owner)) mask |= TowStatePacket.OWNER;
+            if (shipId != o.shipId) mask |= TowStatePacket.SHIP;
+            if (anchor != o.anchor) mask |= TowStatePacket.ANCHOR;
+            if (pull != o.pull) mask |= TowStatePacket.PULL;
+            return mask;
+        }
+
+        void copy(State o) {
+            owner = o.owner;
+            shipId = o.shipId;
+            anchor = o.anchor;
+            pull = o.pull;
+        }
+    }
+
+    /** One animal as known to one player. */
+    private static final class Entry {
+        final State acked = new State();
+        boolean hasAcked;
+
+        final State sent = new State();
+        int sentBatch = -1;
+        int sentTick;
+
+        boolean seen;
+    }
+
+    private static final class PlayerSync {
+        final Int2ObjectOpenHashMap<Entry> entries = new Int2ObjectOpenHashMap<>();
+        int nextBatch;
+    }
+
+    private static final Object2ObjectOpenHashMap<UUID, PlayerSync> PLAYERS = new Object2ObjectOpenHashMap<>();
+
+    // This tick's reined animals in the current level (server thread only)
+    private static int rowCount = 0;
+    private static int[] rowId = new int[32];
+    private static double[] rowX = new double[32];
+    private static double[] rowZ = new double[32];
+    private static double[] rowRangeSqr = new double[32];
+    private static State[] rowState = newStates(32);
+
+    // Outgoing batch for the current player (server thread only)
+    private static int outCount = 0;
+    private static int[] outId = new int[32];
+    private static int[] outMask = new int[32];
+    private static UUID[] outOwner = new UUID[32];
+    private static long[] outShip = new long[32];
+    private static long[] outAnchor = new long[32];
+    private static byte[] outPull = new byte[32];
+
+    private TowStateSync() {}
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        int nowTick = event.getServer().getTickCount();
+        int viewRange = (event.getServer().getPlayerList().getViewDistance() - 1) * 16;
+
+        for (ServerLevel level : event.getServer().getAllLevels()) {
+            if (level.players().isEmpty()) continue;
+
+            gather(level, viewRange);
+
+            for (ServerPlayer player : level.players()) {
+                PlayerSync ps = PLAYERS.get(player.getUUID());
+                if (ps == null) {
+                    if (rowCount == 0) continue;
+                    ps = new PlayerSync();
+                    PLAYERS.put(player.getUUID(), ps);
+                }
+                sync(player, ps, nowTick);
+            }
+        }
+
+        // Don't pin owners between ticks
+        Arrays.fill(outOwner, null);
+    }
+
+    /** Client confirmed every batch up to this one. */
+    public static void onAck(ServerPlayer player, int batch) {
+        PlayerSync ps = PLAYERS.get(player.getUUID());
+        if (ps == null) return;
+
+        for (Entry e : ps.entries.values()) {
+            if (e.sentBatch >= 0 && e.sentBatch <= batch) {
+                e.acked.copy(e.sent);
+                e.hasAcked = true;
+                e.sentBatch = -1;
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PLAYERS.remove(event.getEntity().getUUID());
+    }
+
+    public static void clear() {
+        PLAYERS.clear();
+        rowCount = 0;
+    }
+
+    // =========================================================
+    // Gather (once per level per tick)
+    // =========================================================
+
+    private static void gather(ServerLevel level, int viewRange) {
+        rowCount = 0;
+
+        for (Animal animal : ReinedAnimalRegistry.all()) {
+            if (animal.isRemoved() || animal.level() != level) continue;
+
+            IReinedAnimal cap = animal.getCapability(ReinedAnimalProvider.CAPABILITY).orElse(null);
+            if (cap == null || !cap.hasReins()) continue;
+
+            int i = rowCount;
+            if (i == rowId.length) growRows();
+
+            double range = Math.min(animal.getType().clientTrackingRange() * 16, viewRange) - INTEREST_MARGIN;
+            rowId[i] = animal.getId();
+            rowX[i] = animal.getX();
+            rowZ[i] = animal.getZ();
+            rowRangeSqr[i] = range > 0.0 ? range * range : 0.0;
+
+            State s = rowState[i];
+            s.owner = cap.getOwner();
+            long shipId = ShipLeashRegistry.shipIdOf(animal);
+            s.shipId = shipId != VsShipAccess.NO_SHIP_ID ? shipId : TowStatePacket.NONE;
+            BlockPos fence = cap.isLeashedToShip() ? cap.getShipFencePos() : null;
+            s.anchor = fence != null ? fence.asLong() : TowStatePacket.NONE;
+            s.pull = pullBucket(ShipLeashPhysicsTick.lastPullForce(animal.getUUID()));
+
+            rowCount = i + 1;
+        }
+    }
+
+    /** 0 = no pull, else 1 + floor(log2(kN)), capped at 15. */
+    private static byte pullBucket(double force) {
+        if (!(force > 0.0)) return 0;
+
+        double kn = force / 1000.0;
+        if (kn < 1.0) return 1;
+
+        int b = 1 + (63 - Long.numberOfLeadingZeros((long) kn));
+        return (byte) Math.min(b, 15);
+    }
+
+    // =========================================================
+    // Per-player delta
+    // =========================================================
+
+    private static void sync(ServerPlayer player, PlayerSync ps, int nowTick) {
+        outCount = 0;
+
+        for (Entry e : ps.entries.values()) {
+            e.seen = false;
+        }
+
+        double px = player.getX(), pz = player.getZ();
+
+        for (int i = 0; i < rowCount; i++) {
+            double dx = rowX[i] - px, dz = rowZ[i] - pz;
+            if (dx * dx + dz * dz > rowRangeSqr[i]) continue;
+
+            Entry e = ps.entries.get(rowId[i]);
+            if (e == null) {
+                e = new Entry();
+                ps.entries.put(rowId[i], e);
+            }
+            e.seen = true;
+
+            State cur = rowState[i];
+            int mask = e.hasAcked ? e.acked.diff(cur) : TowStatePacket.ALL;
+
+            // The client applies deltas on top of what it has, which includes batches
+            // still in flight: a field that changed there and changed back must be resent
+            if (e.sentBatch >= 0) mask |= e.sent.diff(cur);
+            if (mask == 0) continue; // client has it
+
+            // Same change already in flight: wait for its ack
+            if (e.sentBatch >= 0 && e.sent.diff(cur) == 0 && nowTick - e.sentTick < RESEND_TICKS) continue;
+
+            addOut(rowId[i], mask, cur);
+            e.sent.copy(cur);
+            e.sentBatch = ps.nextBatch;
+            e.sentTick = nowTick;
+        }
+
+        Iterator<Int2ObjectMap.Entry<Entry>> it = ps.entries.int2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Int2ObjectMap.Entry<Entry> en = it.next();
+            if (en.getValue().seen) continue;
+
+            addOut(en.getIntKey(), TowStatePacket.REMOVE, null);
+            it.remove();
+        }
+
+        if (outCount == 0) return;
+
+        int n = outCount;
+        NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player),
+                new TowStatePacket(ps.nextBatch++, n,
+                        Arrays.copyOf(outId, n), Arrays.copyOf(outMask, n),
+                        Arrays.copyOf(outOwner, n), Arrays.copyOf(outShip, n),
+                        Arrays.copyOf(outAnchor, n), Arrays.copyOf(outPull, n)));
+    }
+
+    private static void addOut(int entityId, int mask, State s) {
+        int i = outCount;
+        if (i == outId.length) {
+            int n = i * 2;
+            outId = Arrays.copyOf(outId, n);
+            outMask = Arrays.copyOf(outMask, n);
+            outOwner = Arrays.copyOf(outOwner, n);
+            outShip = Arrays.copyOf(outShip, n);
+            outAnchor = Arrays.copyOf(outAnchor, n);
+            outPull = Arrays.copyOf(outPull, n);
+        }
+
+        outId[i] = entityId;
+        outMask[i] = mask;
+        if (s != null) {
+            outOwner[i] = s.owner;
+            outShip[i] = s.shipId;
+            outAnchor[i] = s.anchor;
+            outPull[i] = s.pull;
+        }
+        outCount = i + 1;
+    }
+
+    private static void growRows() {
+        int n = rowId.length * 2;
+        rowId = Arrays.copyOf(rowId, n);
+        rowX = Arrays.copyOf(rowX, n);
+        rowZ = Arrays.copyOf(rowZ, n);
+        rowRangeSqr = Arrays.copyOf(rowRangeSqr, n);
+
+        State[] states = newStates(n);
+        System.arraycopy(rowState, 0, states, 0, rowState.length);
+        rowState = states;
+    }
+
+    private static State[] newStates(int n) {
+        State[] a = new State[n];
+        for (int i = 0; i < n; i++) a[i] = new State();
+        return a;
+    }
+}
@@ -0,0 +1,139 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Vector3d;
+
+/**
+ * Resolves a ship leash anchor to WORLD space and remembers how on the capability.
+ *
+ * The knot position may be shipyard-managed or already world, so the first
+ * resolution tries both ("knot_as_shipyard" / "knot_as_world") and keeps the one
+ * closest to the animal. The winner (ship id, interpretation, shipyard anchor) is
+ * stored in IReinedAnimal and saved with the entity; from then on resolution is one
+ * snapshot fetch by id plus one matrix multiply.
+ *
+ * IMPORTANT:
+ *  - The two-way search only runs when nothing is stored, the stored ship is not
+ *    loaded (or the ship directory is unavailable), or the stored answer lands
+ *    further than maxDist from the animal (the stored resolution is then dropped).
+ *  - Server thread only (shared scratch).
+ */
+public final class ShipAnchorResolver {
+
+    /** Resolved anchor, reused by the caller. Valid until the next resolve call. */
+    public static final class Anchor {
+        public double x, y, z;
+        /** Horizontal distance from the animal. */
+        public double dist;
+        /** This tick's snapshot of the anchor's ship. */
+        public ShipKinematics.Snapshot ship;
+    }
+
+    // Scratch (server thread only)
+    private static final Vector3d SCRATCH = new Vector3d();
+
+    private ShipAnchorResolver() {}
+
+    /**
+     * @param rawAnchor knot position as stored/read (may be shipyard OR world)
+     * @param maxDist   furthest plausible horizontal anchor distance from the animal
+     * @return false if no plausible anchor could be found (out is unspecified)
+     */
+    public static boolean resolve(ServerLevel level, IReinedAnimal cap, Vec3 rawAnchor,
+                                  double animalX, double animalZ, double maxDist, Anchor out) {
+        if (level == null || cap == null || rawAnchor == null || out == null) return false;
+
+        if (resolveStored(level, cap, rawAnchor, animalX, animalZ, maxDist, out)) return true;
+
+        return search(level, cap, rawAnchor, animalX, animalZ, maxDist, out);
+    }
+
+    // Steady state: stored ship id + interpretation, no ship lookup
+    private static boolean resolveStored(ServerLevel level, IReinedAnimal cap, Vec3 rawAnchor,
+                                         double animalX, double animalZ, double maxDist, Anchor out) {
+        IReinedAnimal.AnchorSpace space = cap.getAnchorSpace();
+        if (space == IReinedAnimal.AnchorSpace.UNRESOLVED) return false;
+
+        long shipId = cap.getAnchorShipId();
+        if (shipId == VsShipAccess.NO_SHIP_ID) return false;
+
+        ShipKinematics.Snapshot snap = ShipKinematics.getById(level, shipId);
+        if (snap == null) return false; // not loaded / unknown: search, keep the stored answer
+
+        if (space == IReinedAnimal.AnchorSpace.SHIPYARD) {
+            Vec3 local = cap.getShipLocalAnchor();
+            Vector3d w = SCRATCH;
+            if (local == null || !snap.shipyardToWorld(local.x, local.y, local.z, w)) {
+                cap.clearResolvedAnchor();
+                return false;
+            }
+            set(out, w.x, w.y, w.z, animalX, animalZ, snap);
+        } else {
+            set(out, rawAnchor.x, rawAnchor.y, rawAnchor.z, animalX, animalZ, snap);
+        }
+
+        if (Double.isFinite(out.dist) && out.dist <= maxDist) return true;
+
+        // Stored answer no longer fits (ship moved under the knot, reassembled, ...)
+        cap.clearResolvedAnchor();
+        return false;
+    }
+
+    // Both candidates belong to the ship managing the knot, so no per-candidate lookup
+    private static boolean search(ServerLevel level, IReinedAnimal cap, Vec3 rawAnchor,
+                                  double animalX, double animalZ, double maxDist, Anchor out) {
+        Object ship0 = VsShipAccess.getShipManagingPosOrNull(level, rawAnchor);
+        if (ship0 == null) return false;
+
+        ShipKinematics.Snapshot snap0 = ShipKinematics.get(level, ship0, rawAnchor);
+        if (snap0 == null) return false;
+
+        // knot_as_shipyard
+        Vector3d w = SCRATCH;
+        boolean hasShipyard = snap0.shipyardToWorld(rawAnchor.x, rawAnchor.y, rawAnchor.z, w);
+        double distShipyard = hasShipyard
+                ? horizontalDist(animalX, animalZ, w.x, w.z)
+                : Double.POSITIVE_INFINITY;
+
+        // knot_as_world
+        double distWorld = horizontalDist(animalX, animalZ, rawAnchor.x, rawAnchor.z);
+
+        // Ties favour the shipyard reading
+        IReinedAnimal.AnchorSpace space;
+        if (Double.isFinite(distShipyard) && !(distWorld < distShipyard)) {
+            set(out, w.x, w.y, w.z, animalX, animalZ, snap0);
+            space = IReinedAnimal.AnchorSpace.SHIPYARD;
+        } else {
+            set(out, rawAnchor.x, rawAnchor.y, rawAnchor.z, animalX, animalZ, snap0);
+            space = IReinedAnimal.AnchorSpace.WORLD;
+        }
+
+        if (!Double.isFinite(out.dist)) return false;
+        if (out.dist > maxDist) {
+            // One bad anchor only dents the resolver's confidence (see VsShipTransforms)
+            VsShipTransforms.reportSuspect(ship0);
+            return false;
+        }
+
+        cap.setResolvedAnchor(snap0.shipId, space,
+                space == IReinedAnimal.AnchorSpace.SHIPYARD ? rawAnchor : null);
+        return true;
+    }
+
+    private static void set(Anchor out, double x, double y, double z,
+                            double animalX, double animalZ, ShipKinematics.Snapshot ship) {
+        out.x = x;
+        out.y = y;
+        out.z = z;
+        out.dist = horizontalDist(animalX, animalZ, x, z);
+        out.ship = ship;
+    }
+
+    private static double horizontalDist(double ax, double az, double bx, double bz) {
+        double dx = ax - bx;
+        double dz = az - bz;
+        return Math.sqrt(dx * dx + dz * dz);
+    }
+}
@@ -0,0 +1,383 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-dimension directory of loaded VS ships: ship id -> ship and shipyard chunk
+ * -> ship (via each ship's chunk claim). Position-to-ship lookups become a
+ * long-keyed map hit instead of a reflective getShipManagingPos call.
+ *
+ * IMPORTANT:
+ *  - Built from VS's loaded-ship collection at most once per tick. Each tick the
+ *    collection is fingerprinted (count + order-independent id hash); the index is
+ *    only rebuilt when that changes, i.e. when a ship loads or unloads.
+ *  - Claims are indexed on a CELL_CHUNKS grid; a claim is filed under every cell it
+ *    overlaps and lookups re-check containment, so claim alignment doesn't matter.
+ *  - If anything needed is missing (no ship world, a ship without a readable
+ *    claim, ...) the directory reports {@link #UNAVAILABLE} and callers fall back
+ *    to VS's own lookup. Never a wrong "no ship".
+ *  - Server thread only; other threads always get UNAVAILABLE.
+ */
+public final class ShipDirectory {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    /** Returned when the directory cannot answer (caller must ask VS directly). */
+    public static final Object UNAVAILABLE = new Object();
+
+    // Index grid (chunks); VS claims are 256x256 chunks
+    private static final int CELL_CHUNKS = 256;
+
+    // A claim spanning more cells than this is not something we understand: give up
+    private static final int MAX_CELLS_PER_CLAIM = 16;
+
+    private static final String[] VS_UTIL_CANDIDATES = {
+            "org.valkyrienskies.mod.common.VSGameUtilsKt",
+            "org.valkyrienskies.mod.common.util.VSGameUtilsKt"
+    };
+
+    private static final MethodType LEVEL_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+
+    /** A ship's claim in chunk coordinates (inclusive), chained per cell. */
+    private static final class Claim {
+        final Object ship;
+        final int x0, x1, z0, z1;
+        Claim next;
+
+        Claim(Object ship, int x0, int x1, int z0, int z1) {
+            this.ship = ship;
+            this.x0 = x0;
+            this.x1 = x1;
+            this.z0 = z0;
+            this.z1 = z1;
+        }
+
+        boolean contains(int chunkX, int chunkZ) {
+            return chunkX >= x0 && chunkX <= x1 && chunkZ >= z0 && chunkZ <= z1;
+        }
+    }
+
+    private static final class DimensionShips {
+        final Long2ObjectOpenHashMap<Object> byId = new Long2ObjectOpenHashMap<>();
+        final Long2ObjectOpenHashMap<Claim> byCell = new Long2ObjectOpenHashMap<>();
+    }
+
+    /** Chunk claim getters resolved once per ship class (null handles = not available). */
+    private record ClaimAccess(MethodHandle claim, MethodHandle xStart, MethodHandle xEnd,
+                               MethodHandle zStart, MethodHandle zEnd) {
+        boolean ok() {
+            return claim != null && xStart != null && xEnd != null && zStart != null && zEnd != null;
+        }
+    }
+
+    // A dimension with no loaded ships
+    private static final DimensionShips NONE = new DimensionShips();
+
+    private static final ConcurrentHashMap<Class<?>, ClaimAccess> CLAIM_ACCESS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, MethodHandle> LOADED_SHIPS_GETTERS = new ConcurrentHashMap<>();
+    private static final MethodHandle NO_HANDLE = MethodHandles.constant(Object.class, null);
+
+    // VSGameUtilsKt.getShipObjectWorld(Level) / getDimensionId(Level); resolved once per session
+    private static MethodHandle shipWorldGetter;
+    private static MethodHandle dimensionIdGetter;
+    private static boolean resolved;
+
+    // Server thread state
+    private static final Map<String, DimensionShips> BY_DIMENSION = new HashMap<>();
+    private static final Map<ResourceKey<Level>, String> DIMENSION_IDS = new HashMap<>();
+    private static int builtTick = Integer.MIN_VALUE;
+    private static boolean available;
+    private static boolean dirty = true;
+    private static int shipCount = -1;
+    private static long fingerprint;
+
+    private ShipDirectory() {}
+
+    /**
+     * Ship whose shipyard claim contains the block column at (x, z), null if none,
+     * or {@link #UNAVAILABLE} if the directory cannot answer.
+     */
+    public static Object shipAt(ServerLevel level, double x, double z) {
+        DimensionShips ships = ships(level);
+        if (ships == null) return UNAVAILABLE;
+
+        int chunkX = ((int) Math.floor(x)) >> 4;
+        int chunkZ = ((int) Math.floor(z)) >> 4;
+
+        for (Claim c = ships.byCell.get(cellKey(chunkX, chunkZ)); c != null; c = c.next) {
+            if (c.contains(chunkX, chunkZ)) return c.ship;
+        }
+        return null;
+    }
+
+    /** Loaded ship by id in this level, null if not loaded, or {@link #UNAVAILABLE}. */
+    public static Object shipById(ServerLevel level, long shipId) {
+        DimensionShips ships = ships(level);
+        if (ships == null) return UNAVAILABLE;
+        return ships.byId.get(shipId);
+    }
+
+    /** Forces a rebuild on the next lookup (e.g. a level unloaded). */
+    public static void invalidate() {
+        dirty = true;
+    }
+
+    public static void clear() {
+        BY_DIMENSION.clear();
+        DIMENSION_IDS.clear();
+        builtTick = Integer.MIN_VALUE;
+        available = false;
+        dirty = true;
+        shipCount = -1;
+        fingerprint = 0L;
+    }
+
+    // =========================================================
+    // Build (once per tick at most)
+    // =========================================================
+
+    /** This level's ships (NONE if it has none), or null if the directory is unavailable. */
+    private static DimensionShips ships(ServerLevel level) {
+        if (level == null || !level.getServer().isSameThread()) return null;
+
+        int tick = level.getServer().getTickCount();
+        if (tick != builtTick) {
+            builtTick = tick;
+            refresh(level);
+        }
+        if (!available) return null;
+
+        String dimId = DIMENSION_IDS.computeIfAbsent(level.dimension(), k -> readDimensionId(level));
+        if (dimId == null) return null;
+
+        return BY_DIMENSION.getOrDefault(dimId, NONE);
+    }
+
+    private static void refresh(ServerLevel level) {
+        Iterable<?> loaded = loadedShips(level);
+        if (loaded == null) {
+            available = false;
+            return;
+        }
+
+        // Fingerprint: cheap per tick, changes when a ship loads or unloads
+        int count = 0;
+        long sum = 0L, xor = 0L;
+        for (Object ship : loaded) {
+            long mixed = HashCommon.mix(VsShipAccess.getShipId(ship));
+            sum += mixed;
+            xor ^= mixed;
+            count++;
+        }
+        long fp = sum * 31 + xor;
+
+        if (!dirty && count == shipCount && fp == fingerprint) return;
+
+        shipCount = count;
+        fingerprint = fp;
+        dirty = false;
+        available = rebuild(loaded);
+    }
+
+    private static boolean rebuild(Iterable<?> loaded) {
+        BY_DIMENSION.clear();
+
+        try {
+            for (Object ship : loaded) {
+                long id = VsShipAccess.getShipId(ship);
+                if (id == VsShipAccess.NO_SHIP_ID) return false;
+
+                String dimId = VsShipForces.readDimensionKey(ship);
+                if (dimId == null) return false;
+
+                ClaimAccess a = CLAIM_ACCESS.computeIfAbsent(ship.getClass(), ShipDirectory::resolveClaimAccess);
+                if (!a.ok()) return false;
+
+                Object claim = (Object) a.claim.invokeExact(ship);
+                if (claim == null) return false;
+
+                int x0 = (int) a.xStart.invokeExact(claim);
+                int x1 = (int) a.xEnd.invokeExact(claim);
+                int z0 = (int) a.zStart.invokeExact(claim);
+                int z1 = (int) a.zEnd.invokeExact(claim);
+
+                DimensionShips ships = BY_DIMENSION.computeIfAbsent(dimId, k -> new DimensionShips());
+                ships.byId.put(id, ship);
+                if (!file(ships, new Claim(ship, x0, x1, z0, z1))) return false;
+            }
+            return true;
+
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static boolean file(DimensionShips ships, Claim claim) {
+        int cx0 = Math.floorDiv(claim.x0, CELL_CHUNKS), cx1 = Math.floorDiv(claim.x1, CELL_CHUNKS);
+        int cz0 = Math.floorDiv(claim.z0, CELL_CHUNKS), cz1 = Math.floorDiv(claim.z1, CELL_CHUNKS);
+
+        long cells = (long) (cx1 - cx0 + 1) * (cz1 - cz0 + 1);
+        if (cx1 < cx0 || cz1 < cz0 || cells > MAX_CELLS_PER_CLAIM) return false;
+
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cz = cz0; cz <= cz1; cz++) {
+                long key = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+
+                // Cells hold a short chain; a claim appears in each cell it overlaps
+                Claim entry = (cx == cx0 && cz == cz0) ? claim : new Claim(claim.ship, claim.x0, claim.x1, claim.z0, claim.z1);
+                entry.next = ships.byCell.get(key);
+                ships.byCell.put(key, entry);
+            }
+        }
+        return true;
+    }
+
+    private static long cellKey(int chunkX, int chunkZ) {
+        int cx = Math.floorDiv(chunkX, CELL_CHUNKS);
+        int cz = Math.floorDiv(chunkZ, CELL_CHUNKS);
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    // =========================================================
+    // Resolution (reflective, once per session / class)
+    // =========================================================
+
+    private static Iterable<?> loadedShips(ServerLevel level) {
+        resolveUtils();
+        if (shipWorldGetter == null) return null;
+
+        try {
+            Object world = (Object) shipWorldGetter.invokeExact((Object) level);
+            if (world == null) return null;
+
+            MethodHandle getter = LOADED_SHIPS_GETTERS.computeIfAbsent(world.getClass(), ShipDirectory::resolveLoadedShips);
+            if (getter == NO_HANDLE) return null;
+
+            Object ships = (Object) getter.invokeExact(world);
+            return (ships instanceof Iterable<?> it) ? it : null;
+
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static String readDimensionId(ServerLevel level) {
+        resolveUtils();
+        if (dimensionIdGetter == null) return null;
+
+        try {
+            Object id = (Object) dimensionIdGetter.invokeExact((Object) level);
+            return (id != null) ? id.toString() : null;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static void resolveUtils() {
+        if (resolved) return;
+        resolved = true;
+
+        for (String cn : VS_UTIL_CANDIDATES) {
+            Class<?> util;
+            try {
+                util = Class.forName(cn);
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+
+            for (Method m : util.getMethods()) {
+                if (!Modifier.isStatic(m.getModifiers())) continue;
+                if (m.getParameterCount() != 1) continue;
+                if (!m.getParameterTypes()[0].isAssignableFrom(ServerLevel.class)) continue;
+
+                if (shipWorldGetter == null && m.getName().equals("getShipObjectWorld")
+                        && !m.getReturnType().isPrimitive()) {
+                    shipWorldGetter = unreflect(m, LEVEL_GETTER_TYPE);
+                }
+                if (dimensionIdGetter == null && m.getName().equals("getDimensionId")
+                        && m.getReturnType() == String.class) {
+                    dimensionIdGetter = unreflect(m, LEVEL_GETTER_TYPE);
+                }
+            }
+
+            if (shipWorldGetter != null) break;
+        }
+
+        LOGGER.info("[ReinsMod VS] Ship directory: shipObjectWorld={} dimensionId={}",
+                shipWorldGetter != null, dimensionIdGetter != null);
+    }
+
+    private static MethodHandle resolveLoadedShips(Class<?> worldClass) {
+        for (String name : new String[] { "getLoadedShips", "getAllShips" }) {
+            try {
+                Method m = worldClass.getMethod(name);
+                if (!Iterable.class.isAssignableFrom(m.getReturnType())) continue;
+
+                MethodHandle mh = unreflect(m, LEVEL_GETTER_TYPE);
+                if (mh != null) return mh;
+            } catch (Throwable ignored) {}
+        }
+
+        LOGGER.info("[ReinsMod VS] No loaded-ship collection on {}; ship directory disabled", worldClass.getName());
+        return NO_HANDLE;
+    }
+
+    private static ClaimAccess resolveClaimAccess(Class<?> shipClass) {
+        try {
+            // Kotlin "val chunkClaim: ChunkClaim" => getChunkClaim(); xStart/xEnd/zStart/zEnd in chunks
+            Method claim = shipClass.getMethod("getChunkClaim");
+            Class<?> claimClass = claim.getReturnType();
+
+            ClaimAccess a = new ClaimAccess(
+                    unreflect(claim, LEVEL_GETTER_TYPE),
+                    intGetter(claimClass, "getXStart"),
+                    intGetter(claimClass, "getXEnd"),
+                    intGetter(claimClass, "getZStart"),
+                    intGetter(claimClass, "getZEnd")
+            );
+
+            if (!a.ok()) {
+                LOGGER.info("[ReinsMod VS] Chunk claim on {} is unreadable; ship directory disabled", shipClass.getName());
+            }
+            return a;
+
+        } catch (Throwable t) {
+            LOGGER.info("[ReinsMod VS] No chunk claim on {}; ship directory disabled", shipClass.getName());
+            return new ClaimAccess(null, null, null, null, null);
+        }
+    }
+
+    private static MethodHandle intGetter(Class<?> cls, String name) {
+        try {
+            Method m = cls.getMethod(name);
+            if (m.getReturnType() != int.class) return null;
+            return unreflect(m, INT_GETTER_TYPE);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(Method m, MethodType erased) {
+        try {
+            m.setAccessible(true);
+            return MethodHandles.lookup().unreflect(m).asType(erased);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-tick, per-ship force accumulator.
+ *
+ * Every leash contribution is summed into one net force plus torque about the
+ * ship's centre of mass, clamped to a per-ship budget, and submitted to VS with
+ * a single call in {@link #flush(ServerLevel)}. Five animals pulling one ship = one
+ * VS call and one wake-up instead of five.
+ *
+ * IMPORTANT:
+ *  - Server thread only; call flush() once at the end of the physics tick.
+ *  - Each net load goes through ShipWakeManager first: small loads on a sleeping
+ *    ship are held back, and awake ships are not re-woken on every call.
+ *  - The net load is submitted as one force at the point on its line of action
+ *    (p = ref + F x tau / |F|^2). Only a torque component parallel to F (or a pure
+ *    couple) is left over; it goes through applyWorldTorque if VS exposes it.
+ */
+public final class ShipForceAccumulator {
+
+    // Total force any one ship may receive from leashes in a tick (Newtons)
+    public static final double MAX_SHIP_FORCE = 5_000_000.0;
+
+    // Below this, a net force/torque is treated as zero (matches VsShipForces)
+    private static final double EPS_SQR = 1.0e-6;
+
+    private static final class Entry {
+        Object ship;
+        long shipId;
+        double mass;
+
+        // Torque reference: COM if resolvable, else first contact point
+        boolean hasRef;
+        boolean refIsCom;
+        double rx, ry, rz;
+
+        double fx, fy, fz;
+        double tx, ty, tz;
+
+        void reset(Object ship, long shipId, double mass) {
+            this.ship = ship;
+            this.shipId = shipId;
+            this.mass = mass;
+            hasRef = false;
+            refIsCom = false;
+            rx = ry = rz = 0.0;
+            fx = fy = fz = 0.0;
+            tx = ty = tz = 0.0;
+        }
+    }
+
+    private static final Long2ObjectOpenHashMap<Entry> BY_SHIP = new Long2ObjectOpenHashMap<>();
+    private static final List<Entry> ACTIVE = new ArrayList<>();
+    private static final List<Entry> POOL = new ArrayList<>();
+
+    private ShipForceAccumulator() {}
+
+    /**
+     * Adds a WORLD-space force on this tick's ship snapshot.
+     *
+     * @param worldPos application point in WORLD space (null = centre of mass)
+     */
+    public static void add(ShipKinematics.Snapshot ship, Vec3 forceWorld, Vec3 worldPos) {
+        if (forceWorld == null) return;
+        if (worldPos == null) {
+            accumulate(ship, forceWorld.x, forceWorld.y, forceWorld.z, false, 0.0, 0.0, 0.0);
+        } else {
+            accumulate(ship, forceWorld.x, forceWorld.y, forceWorld.z, true, worldPos.x, worldPos.y, worldPos.z);
+        }
+    }
+
+    /** Primitive variant of {@link #add(ShipKinematics.Snapshot, Vec3, Vec3)} at the centre of mass (no torque). */
+    public static void addAtCom(ShipKinematics.Snapshot ship, double fx, double fy, double fz) {
+        accumulate(ship, fx, fy, fz, false, 0.0, 0.0, 0.0);
+    }
+
+    /** Primitive variant of {@link #add(ShipKinematics.Snapshot, Vec3, Vec3)} with a WORLD-space application point. */
+    public static void add(ShipKinematics.Snapshot ship, double fx, double fy, double fz,
+                           double px, double py, double pz) {
+        accumulate(ship, fx, fy, fz, true, px, py, pz);
+    }
+
+    private static void accumulate(ShipKinematics.Snapshot ship, double fx, double fy, double fz,
+                                   boolean hasPoint, double px, double py, double pz) {
+        if (ship == null || ship.ship == null) return;
+
+        Entry e = BY_SHIP.get(ship.shipId);
+        if (e == null) {
+            e = POOL.isEmpty() ? new Entry() : POOL.remove(POOL.size() - 1);
+            e.reset(ship.ship, ship.shipId, ship.mass);
+
+            if (ship.hasCom) {
+                e.hasRef = true;
+                e.refIsCom = true;
+                e.rx = ship.comWorld.x;
+                e.ry = ship.comWorld.y;
+                e.rz = ship.comWorld.z;
+            }
+
+            BY_SHIP.put(ship.shipId, e);
+            ACTIVE.add(e);
+        }
+
+        e.fx += fx;
+        e.fy += fy;
+        e.fz += fz;
+
+        if (!hasPoint) return; // at COM (or at the reference): no torque
+
+        if (!e.hasRef) {
+            e.hasRef = true;
+            e.rx = px;
+            e.ry = py;
+            e.rz = pz;
+            return;
+        }
+
+        // tau += (p - ref) x f
+        double ax = px - e.rx, ay = py - e.ry, az = pz - e.rz;
+        e.tx += ay * fz - az * fy;
+        e.ty += az * fx - ax * fz;
+        e.tz += ax * fy - ay * fx;
+    }
+
+    /** Submits one combined load per ship, lets settled ships sleep, and resets for the next tick. */
+    public static void flush(ServerLevel level) {
+        int now = level.getServer().getTickCount();
+
+        for (int i = 0; i < ACTIVE.size(); i++) {
+            submit(level, ACTIVE.get(i), now);
+        }
+
+        for (int i = 0; i < ACTIVE.size(); i++) {
+            Entry e = ACTIVE.get(i);
+            e.ship = null;
+            POOL.add(e);
+        }
+        ACTIVE.clear();
+        BY_SHIP.clear();
+
+        ShipWakeManager.tick(level, now);
+    }
+
+    private static void submit(ServerLevel level, Entry e, int now) {
+        double fx = e.fx, fy = e.fy, fz = e.fz;
+        double tx = e.tx, ty = e.ty, tz = e.tz;
+
+        // Per-ship budget: scale force and torque together (keeps the line of action)
+        double f2 = fx * fx + fy * fy + fz * fz;
+        if (f2 > MAX_SHIP_FORCE * MAX_SHIP_FORCE) {
+            double k = MAX_SHIP_FORCE / Math.sqrt(f2);
+            fx *= k; fy *= k; fz *= k;
+            tx *= k; ty *= k; tz *= k;
+            f2 = MAX_SHIP_FORCE * MAX_SHIP_FORCE;
+        }
+
+        double t2 = tx * tx + ty * ty + tz * tz;
+
+        if (f2 <= EPS_SQR) {
+            // Pure couple (e.g. two animals pulling opposite sides)
+            if (t2 <= EPS_SQR) return;
+
+            ShipWakeManager.Admit admit = ShipWakeManager.admit(level, e.ship, e.shipId, e.mass, Math.sqrt(t2), now);
+            if (admit == ShipWakeManager.Admit.HOLD) return;
+
+            VsShipForces.applyWorldTorque(e.ship, new Vec3(tx, ty, tz), admit == ShipWakeManager.Admit.WAKE);
+            return;
+        }
+
+        ShipWakeManager.Admit admit = ShipWakeManager.admit(level, e.ship, e.shipId, e.mass, Math.sqrt(f2), now);
+        if (admit == ShipWakeManager.Admit.HOLD) return;
+        boolean wake = (admit == ShipWakeManager.Admit.WAKE);
+
+        Vec3 force = new Vec3(fx, fy, fz);
+
+        if (!e.hasRef) {
+            VsShipForces.applyWorldForce(e.ship, force, null, wake);
+            return;
+        }
+
+        // Point on the line of action closest to the reference: ref + (F x tau) / |F|^2
+        double px = e.rx + (fy * tz - fz * ty) / f2;
+        double py = e.ry + (fz * tx - fx * tz) / f2;
+        double pz = e.rz + (fx * ty - fy * tx) / f2;
+
+        Vec3 point = (e.refIsCom && t2 <= EPS_SQR) ? null : new Vec3(px, py, pz);
+        VsShipForces.applyWorldForce(e.ship, force, point, wake);
+
+        // Leftover torque along F cannot be produced by a single force (skip if < 1% of tau)
+        double along = (tx * fx + ty * fy + tz * fz) / f2;
+        double rpx = along * fx, rpy = along * fy, rpz = along * fz;
+        double rp2 = rpx * rpx + rpy * rpy + rpz * rpz;
+        if (e.refIsCom && rp2 > EPS_SQR && rp2 > 1.0e-4 * t2) {
+            VsShipForces.applyWorldTorque(e.ship, new Vec3(rpx, rpy, rpz), false);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tick, per-ship snapshot of the ship state the leash code reads:
+ * velocity, mass, ship<->world matrices and world-space centre of mass.
+ *
+ * IMPORTANT:
+ *  - Built lazily the first time any subsystem touches a ship in a tick, then
+ *    shared by every consumer (physics tick, rope constraint, force accumulator).
+ *    Reflective reads are O(ships) per tick instead of O(animals x call sites).
+ *  - Snapshot objects are reused across ticks; do not hold on to one past the tick.
+ *  - Server thread only.
+ */
+public final class ShipKinematics {
+
+    // Snapshots untouched for this long are dropped
+    private static final int EVICT_AFTER_TICKS = 200;
+
+    // Fallback when VS mass is unavailable (matches the old physics default)
+    private static final double DEFAULT_MASS = 20_000.0;
+
+    public static final class Snapshot {
+        public Object ship;
+        public long shipId;
+        int tick = Integer.MIN_VALUE;
+
+        /** World velocity, VS units (likely blocks/sec). Zero if unavailable. */
+        public double vx, vy, vz;
+
+        /** Ship mass (kg); DEFAULT_MASS if VS mass is unavailable. */
+        public double mass;
+
+        public boolean hasTransform;
+        public final Matrix4d shipToWorld = new Matrix4d();
+        public final Matrix4d worldToShip = new Matrix4d();
+
+        public boolean hasCom;
+        public final Vector3d comWorld = new Vector3d();
+
+        /** Shipyard -> world using this tick's matrix, or null if unresolved. */
+        public Vec3 shipyardToWorld(Vec3 shipyardPos) {
+            if (shipyardPos == null) return null;
+            Vector3d v = new Vector3d();
+            if (!shipyardToWorld(shipyardPos.x, shipyardPos.y, shipyardPos.z, v)) return null;
+            return new Vec3(v.x, v.y, v.z);
+        }
+
+        /** World -> shipyard using this tick's matrix, or null if unresolved. */
+        public Vec3 worldToShipyard(Vec3 worldPos) {
+            if (worldPos == null) return null;
+            Vector3d v = new Vector3d();
+            if (!worldToShipyard(worldPos.x, worldPos.y, worldPos.z, v)) return null;
+            return new Vec3(v.x, v.y, v.z);
+        }
+
+        /** Shipyard -> world into out (no allocation). Returns false if unresolved. */
+        public boolean shipyardToWorld(double x, double y, double z, Vector3d out) {
+            if (!hasTransform) return false;
+            shipToWorld.transformPosition(x, y, z, out);
+            return true;
+        }
+
+        /** World -> shipyard into out (no allocation). Returns false if unresolved. */
+        public boolean worldToShipyard(double x, double y, double z, Vector3d out) {
+            if (!hasTransform) return false;
+            worldToShip.transformPosition(x, y, z, out);
+            return true;
+        }
+    }
+
+    private static final Long2ObjectOpenHashMap<Snapshot> BY_SHIP = new Long2ObjectOpenHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, Method> VELOCITY_GETTERS = new ConcurrentHashMap<>();
+    private static final Method NO_GETTER;
+    static {
+        try {
+            NO_GETTER = Object.class.getMethod("hashCode");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static int lastEvictTick = 0;
+
+    private ShipKinematics() {}
+
+    /**
+     * This tick's snapshot for the ship, built on first touch.
+     *
+     * @param samplePos a shipyard position used to settle matrix direction on first use (nullable)
+     * @return null if the ship has no readable id
+     */
+    public static Snapshot get(ServerLevel level, Object ship, Vec3 samplePos) {
+        if (level == null || ship == null) return null;
+
+        long shipId = VsShipAccess.getShipId(ship);
+        if (shipId == VsShipAccess.NO_SHIP_ID) return null;
+
+        int tick = level.getServer().getTickCount();
+        evictStale(tick);
+
+        Snapshot s = BY_SHIP.get(shipId);
+        if (s == null) {
+            s = new Snapshot();
+            BY_SHIP.put(shipId, s);
+        }
+
+        if (s.tick != tick || s.ship != ship || (!s.hasTransform && samplePos != null)) {
+            refresh(s, ship, shipId, samplePos);
+            s.tick = tick;
+        }
+        return s;
+    }
+
+    /**
+     * This tick's snapshot for a ship, by id alone (no managing-pos lookup): a ship
+     * seen recently, else the loaded-ship directory. Null if neither knows it.
+     */
+    public static Snapshot getById(ServerLevel level, long shipId) {
+        Snapshot s = BY_SHIP.get(shipId);
+        if (s != null && s.ship != null) return get(level, s.ship, null);
+
+        Object ship = VsShipAccess.getLoadedShipById(level, shipId);
+        return (ship != null) ? get(level, ship, null) : null;
+    }
+
+    public static void clear() {
+        BY_SHIP.clear();
+    }
+
+    private static void refresh(Snapshot s, Object ship, long shipId, Vec3 samplePos) {
+        s.ship = ship;
+        s.shipId = shipId;
+
+        readVelocity(ship, s);
+
+        double mass = VsShipMass.getShipMass(ship);
+        s.mass = (mass > 0) ? mass : DEFAULT_MASS;
+
+        s.hasTransform = VsShipTransforms.readMatrices(ship, samplePos, s.shipToWorld, s.worldToShip);
+        s.hasCom = VsShipTransforms.getCenterOfMassWorld(ship, s.comWorld);
+    }
+
+    // Use true VS ship velocity (assumed world space, units likely blocks/sec). If unavailable, ZERO (safe).
+    private static void readVelocity(Object ship, Snapshot s) {
+        s.vx = s.vy = s.vz = 0.0;
+
+        Method m = VELOCITY_GETTERS.computeIfAbsent(ship.getClass(), ShipKinematics::resolveVelocityGetter);
+        if (m == NO_GETTER) return;
+
+        try {
+            if (m.invoke(ship) instanceof Vector3dc v) {
+                s.vx = v.x();
+                s.vy = v.y();
+                s.vz = v.z();
+            }
+        } catch (Throwable ignored) {}
+    }
+
+    private static Method resolveVelocityGetter(Class<?> shipClass) {
+        try {
+            Method m = shipClass.getMethod("getVelocity");
+            if (Vector3dc.class.isAssignableFrom(m.getReturnType())) {
+                m.setAccessible(true);
+                return m;
+            }
+        } catch (Throwable ignored) {}
+        return NO_GETTER;
+    }
+
+    private static void evictStale(int tick) {
+        if (tick - lastEvictTick < EVICT_AFTER_TICKS) return;
+        lastEvictTick = tick;
+
+        Iterator<Long2ObjectMap.Entry<Snapshot>> it = BY_SHIP.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            if (tick - it.next().getValue().tick > EVICT_AFTER_TICKS) it.remove();
+        }
+    }
+}
@@ -22,10 +22,11 @@ public class ShipLeashDetection {
         Vec3 anchorPos = knot.position();
 
         // 🔑 Must actually be managed by a ship at the knot position
-        if (VsShipAccess.getShipManagingPos(level, anchorPos).isEmpty()) {
+        Object ship = VsShipAccess.getShipManagingPos(level, anchorPos).orElse(null);
+        if (ship == null) {
             return Optional.empty();
         }
 
-        return Optional.of(new ShipLeashInfo(animal, fencePos, anchorPos));
+        return Optional.of(new ShipLeashInfo(animal, fencePos, anchorPos, VsShipAccess.getShipId(ship)));
     }
 }
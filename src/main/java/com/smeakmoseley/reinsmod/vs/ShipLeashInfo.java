@@ -19,9 +19,13 @@ public class ShipLeashInfo {
     /** Leash knot position in SHIPYARD space (ship-managed space) */
     public final Vec3 anchorPos;
 
-    public ShipLeashInfo(Animal animal, BlockPos fencePos, Vec3 anchorPos) {
+    /** VS id of the ship managing the knot (see VsShipAccess.getShipId) */
+    public final long shipId;
+
+    public ShipLeashInfo(Animal animal, BlockPos fencePos, Vec3 anchorPos, long shipId) {
         this.animal = animal;
         this.fencePos = fencePos.immutable();
         this.anchorPos = anchorPos; // Vec3 immutable
+        this.shipId = shipId;
     }
 }
@@ -1,5 +1,6 @@
 package com.smeakmoseley.reinsmod.vs;
 
+import com.smeakmoseley.reinsmod.tracking.LeashKnotIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.animal.Animal;
@@ -19,13 +20,7 @@ public final class ShipPullPhysics {
 
     public static void tickLeashPull(ServerLevel level, Animal animal, BlockPos fencePos) {
 
-        LeashFenceKnotEntity knot = level.getEntitiesOfClass(
-                LeashFenceKnotEntity.class,
-                animal.getBoundingBox().inflate(64)
-        ).stream()
-                .filter(k -> k.blockPosition().equals(fencePos))
-                .findFirst()
-                .orElse(null);
+        LeashFenceKnotEntity knot = LeashKnotIndex.knotAt(level, fencePos);
 
         if (knot == null) return;
 
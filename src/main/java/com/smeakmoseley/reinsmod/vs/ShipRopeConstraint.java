@@ -1,5 +1,8 @@
 package com.smeakmoseley.reinsmod.vs;
 
+import com.smeakmoseley.reinsmod.capability.reined.IReinedAnimal;
+import com.smeakmoseley.reinsmod.tow.RopeClamp;
+import com.smeakmoseley.reinsmod.tracking.LeashKnotIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.animal.Animal;
@@ -8,125 +11,45 @@ import net.minecraft.world.phys.Vec3;
 
 public final class ShipRopeConstraint {
 
-    private static final double ROPE_LEN = 2.5;
-    private static final double EPS = 1.0e-4;
-
-    private static final double MAX_REASONABLE_DIST = 256.0;
+    private static final double MAX_REASONABLE_DIST = RopeClamp.MAX_REASONABLE_DIST;
 
     private ShipRopeConstraint() {}
 
     /**
-     * Rigid rein: clamp the animal's move so that after moving,
-     * horizontal distance to anchorWorld <= ROPE_LEN.
+     * World anchor for the rigid rein: where the rope is tied, for the rope clamp in
+     * AnimalSteering (the server and the predicting client clamp against the same point).
      *
      * IMPORTANT:
      *  - In survival, LeashFenceKnotEntity.position() is often WORLD space.
      *  - In some VS contexts, you may see shipyard-managed coordinates.
-     *  - So we try BOTH interpretations and pick the best.
+     *  - So the anchor goes through {@link ShipAnchorResolver}: both interpretations
+     *    are tried once, then the stored choice is reused (shared with the physics tick).
+     *  - Allocation-free: the resolved anchor is written into out.
      *
-     * @param fencePos  the fence block that owns the knot (selects correct knot)
-     * @param anchorRaw cached anchor as stored (may be shipyard OR world)
+     * @param cap the animal's capability: fence pos, raw anchor and stored resolution
+     * @param out receives the resolved world anchor (dist = NaN if none)
+     * @return true if an anchor was resolved
      */
-    public static Vec3 applyRigid(ServerLevel level,
-                                  Animal animal,
-                                  BlockPos fencePos,
-                                  Vec3 anchorRaw,
-                                  Vec3 desiredMove) {
-        if (level == null || animal == null || fencePos == null || anchorRaw == null || desiredMove == null) {
-            return desiredMove;
-        }
-
-        // Find the knot for THIS fence pos (avoid “wrong knot” when multiple exist)
-        LeashFenceKnotEntity knot = level.getEntitiesOfClass(
-                LeashFenceKnotEntity.class,
-                animal.getBoundingBox().inflate(64)
-        ).stream()
-                .filter(k -> k.blockPosition().equals(fencePos))
-                .findFirst()
-                .orElse(null);
-
-        if (knot == null) return desiredMove;
-
-        // We use the knot position to locate the ship (this is world position)
-        Vec3 knotWorldPos = knot.position();
-        Object ship0 = VsShipAccess.getShipManagingPos(level, knotWorldPos).orElse(null);
-        if (ship0 == null) return desiredMove;
-
-        // Pick a sane anchorWorld using best-candidate logic
-        Vec3 anchorWorld = chooseBestAnchorWorld(level, ship0, animal, anchorRaw);
-        if (anchorWorld == null) return desiredMove;
-
-        Vec3 pos0 = animal.position();
-        Vec3 pos1 = pos0.add(desiredMove);
+    public static boolean resolveAnchor(ServerLevel level,
+                                        Animal animal,
+                                        IReinedAnimal cap,
+                                        ShipAnchorResolver.Anchor out) {
+        out.dist = Double.NaN;
+        if (level == null || animal == null || cap == null) return false;
 
-        // Horizontal constraint only
-        Vec3 d = pos1.subtract(anchorWorld);
-        d = new Vec3(d.x, 0.0, d.z);
+        BlockPos fencePos = cap.getShipFencePos();
+        Vec3 anchorRaw = cap.getShipAnchorPos(); // may be shipyard OR world
+        if (fencePos == null || anchorRaw == null) return false;
 
-        double dist = d.length();
-        if (dist < EPS) return desiredMove;
-        if (dist > MAX_REASONABLE_DIST) return desiredMove; // sanity
-        if (dist <= ROPE_LEN + EPS) return desiredMove;
+        // Knot for THIS fence pos (indexed by fence position, so never the “wrong knot”)
+        LeashFenceKnotEntity knot = LeashKnotIndex.knotAt(level, fencePos);
 
-        Vec3 dir = d.scale(1.0 / dist);
+        if (knot == null) return false;
 
-        Vec3 clampedPos1 = new Vec3(
-                anchorWorld.x + dir.x * ROPE_LEN,
-                pos1.y,
-                anchorWorld.z + dir.z * ROPE_LEN
-        );
-
-        return clampedPos1.subtract(pos0);
-    }
-
-    /**
-     * Try interpreting anchorRaw as:
-     *  A) shipyard-managed (transform to world)
-     *  B) already world
-     *
-     * Choose the candidate with smallest horizontal distance to the animal
-     * that is also "reasonable".
-     */
-    private static Vec3 chooseBestAnchorWorld(ServerLevel level, Object fallbackShip, Animal animal, Vec3 anchorRaw) {
-        Vec3 animalPos = animal.position();
-
-        // Candidate A: treat as shipyard -> world
-        Vec3 a = VsShipTransforms.shipyardToWorld(fallbackShip, anchorRaw);
-
-        // Candidate B: treat as already world
-        Vec3 b = anchorRaw;
-
-        Vec3 best = null;
-        double bestDist = Double.POSITIVE_INFINITY;
-
-        bestDist = considerCandidate(level, fallbackShip, animalPos, a, bestDist);
-        if (bestDist != Double.POSITIVE_INFINITY) best = a;
-
-        double bd = considerCandidate(level, fallbackShip, animalPos, b, bestDist);
-        if (bd < bestDist) {
-            bestDist = bd;
-            best = b;
+        if (!ShipAnchorResolver.resolve(level, cap, anchorRaw, animal.getX(), animal.getZ(), MAX_REASONABLE_DIST, out)) {
+            out.dist = Double.NaN;
+            return false;
         }
-
-        if (best == null) return null;
-        if (!Double.isFinite(bestDist)) return null;
-        if (bestDist > MAX_REASONABLE_DIST) return null;
-
-        return best;
-    }
-
-    private static double considerCandidate(ServerLevel level, Object fallbackShip, Vec3 animalPos, Vec3 anchorWorld, double currentBest) {
-        if (anchorWorld == null) return currentBest;
-
-        // Ensure the anchorWorld is actually on/near a ship-managed region; if not, still allow fallbackShip
-        Object shipHere = VsShipAccess.getShipManagingPos(level, anchorWorld).orElse(fallbackShip);
-        if (shipHere == null) return currentBest;
-
-        Vec3 d = animalPos.subtract(anchorWorld);
-        d = new Vec3(d.x, 0.0, d.z);
-        double dist = d.length();
-        if (!Double.isFinite(dist)) return currentBest;
-
-        return Math.min(currentBest, dist);
+        return true;
     }
 }
@@ -0,0 +1,292 @@
+package com.smeakmoseley.reinsmod.vs;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when leash loads may wake a static VS ship, and when a ship we woke may
+ * go back to static.
+ *
+ * A ship tied to a fence keeps receiving tiny spring forces forever. Waking it for
+ * each one keeps it in the physics pipeline (and un-interactable for Create) even
+ * though nothing visibly moves. Instead:
+ *  - a sleeping ship only wakes for a load above WAKE_ACCEL, or for a sub-threshold
+ *    load that persists for DWELL_TICKS (a slow steady pull still gets through);
+ *    everything else is held back and counted as suppressed;
+ *  - a ship we woke goes back to static once its net load stays under SLEEP_ACCEL
+ *    and its speed under SLEEP_SPEED for SLEEP_AFTER_TICKS.
+ *
+ * IMPORTANT:
+ *  - Only ships that were static before we first touched them are ever put back to
+ *    sleep. Ships VS was already simulating (or whose static flag we cannot read)
+ *    keep the old behaviour: every real load is submitted, nothing is frozen.
+ *  - Accelerations are net load / ship mass (m/s^2), so one threshold fits a rowboat
+ *    and a galleon.
+ *  - Server thread only.
+ */
+public final class ShipWakeManager {
+
+    // Loads at or above this wake a sleeping ship immediately (commanded pulls are >= 2 m/s^2)
+    public static final double WAKE_ACCEL = 0.5;
+
+    // A sub-threshold load must persist this long before it wakes the ship
+    public static final int DWELL_TICKS = 40;
+
+    // A pending sub-threshold run ends if no load arrives for this long
+    public static final int DWELL_GAP_TICKS = 25;
+
+    // An awake ship counts as quiet while its net load stays under this ...
+    public static final double SLEEP_ACCEL = 0.1;
+
+    // ... and its speed under this (VS units, blocks/sec)
+    public static final double SLEEP_SPEED = 0.1;
+
+    // Quiet this long -> back to static
+    public static final int SLEEP_AFTER_TICKS = 100;
+
+    // How often awake ships are checked for sleep
+    private static final int SLEEP_CHECK_INTERVAL = 10;
+
+    // VS may apply setStatic a few ticks late; ignore its flag this long after we flip it
+    private static final int FLAG_SETTLE_TICKS = 20;
+
+    // Ship state untouched for this long is dropped (ship unloaded / deleted)
+    private static final int EVICT_AFTER_TICKS = 1200;
+
+    /** What the accumulator should do with this tick's net load. */
+    public enum Admit {
+        /** Ship is already awake: submit without touching the static flag. */
+        SUBMIT,
+        /** Ship was asleep (or unknown): wake it and submit. */
+        WAKE,
+        /** Sub-threshold load on a sleeping ship: drop it. */
+        HOLD
+    }
+
+    private static final class WakeState {
+        Object ship;
+        ResourceKey<Level> dimension;
+
+        boolean awake;
+        // True only if the ship was static before we first woke it
+        boolean maySleep;
+
+        int pendingSince = -1;
+        int lastLoadTick;
+        int flippedAt;
+        int quietSince;
+        int lastSeen;
+    }
+
+    private static final Long2ObjectOpenHashMap<WakeState> BY_SHIP = new Long2ObjectOpenHashMap<>();
+
+    private static final LongAdder WAKES = new LongAdder();
+    private static final LongAdder SLEEPS = new LongAdder();
+    private static final LongAdder SUPPRESSED = new LongAdder();
+
+    private static final MethodType IS_STATIC_TYPE = MethodType.methodType(boolean.class, Object.class);
+
+    /** isStatic() getter resolved once per ship class (null handle = not available). */
+    private record StaticAccess(MethodHandle getter) {}
+
+    private static final ConcurrentHashMap<Class<?>, StaticAccess> STATIC_ACCESS = new ConcurrentHashMap<>();
+
+    // Per dimension: tick() runs once per level, and each level checks its own ships
+    private static final Reference2IntOpenHashMap<ResourceKey<Level>> LAST_SLEEP_CHECK = new Reference2IntOpenHashMap<>();
+    private static int lastEvictTick = 0;
+
+    private ShipWakeManager() {}
+
+    // =========================================================
+    // Counters
+    // =========================================================
+
+    public static long wakeCount() {
+        return WAKES.sum();
+    }
+
+    public static long sleepCount() {
+        return SLEEPS.sum();
+    }
+
+    public static long suppressedCount() {
+        return SUPPRESSED.sum();
+    }
+
+    /** e.g. "wakes=3 sleeps=2 suppressed=418 tracked=4 awake=1". */
+    public static String summary() {
+        int awake = 0;
+        for (WakeState s : BY_SHIP.values()) {
+            if (s.awake) awake++;
+        }
+        return "wakes=" + WAKES.sum()
+                + " sleeps=" + SLEEPS.sum()
+                + " suppressed=" + SUPPRESSED.sum()
+                + " tracked=" + BY_SHIP.size()
+                + " awake=" + awake;
+    }
+
+    public static void clear() {
+        BY_SHIP.clear();
+        LAST_SLEEP_CHECK.clear();
+        lastEvictTick = 0;
+    }
+
+    // =========================================================
+    // Load admission (called by ShipForceAccumulator.flush)
+    // =========================================================
+
+    /**
+     * Records this tick's net load on a ship and decides whether it reaches VS.
+     *
+     * @param loadMag |net force| in Newtons (or |torque| for a pure couple)
+     */
+    public static Admit admit(ServerLevel level, Object ship, long shipId, double mass,
+                              double loadMag, int now) {
+        int st = readStatic(ship);
+
+        WakeState s = BY_SHIP.get(shipId);
+        if (s == null) {
+            s = new WakeState();
+
+            // Static -> we own its sleep; dynamic -> VS owns it; unknown -> legacy (always wake)
+            s.awake = (st == 0);
+            s.maySleep = (st == 1);
+            s.quietSince = now;
+            BY_SHIP.put(shipId, s);
+
+        } else if (st == 1 && s.awake && now - s.flippedAt > FLAG_SETTLE_TICKS) {
+            // Made static behind our back (player toggle, other mod): treat as a fresh sleeper
+            s.awake = false;
+            s.maySleep = true;
+            s.pendingSince = -1;
+        }
+
+        s.ship = ship;
+        s.dimension = level.dimension();
+        s.lastSeen = now;
+
+        double accel = loadMag / Math.max(mass, 1.0);
+
+        if (s.awake) {
+            if (accel > SLEEP_ACCEL) s.quietSince = now;
+            return Admit.SUBMIT;
+        }
+
+        if (!s.maySleep) {
+            // Unknown static flag: keep waking on every real load (pre-manager behaviour)
+            return Admit.WAKE;
+        }
+
+        if (accel < WAKE_ACCEL) {
+            if (s.pendingSince < 0 || now - s.lastLoadTick > DWELL_GAP_TICKS) {
+                s.pendingSince = now;
+            }
+            s.lastLoadTick = now;
+
+            if (now - s.pendingSince < DWELL_TICKS) {
+                SUPPRESSED.increment();
+                return Admit.HOLD;
+            }
+        }
+
+        s.awake = true;
+        s.pendingSince = -1;
+        s.quietSince = now;
+        s.flippedAt = now;
+        WAKES.increment();
+        return Admit.WAKE;
+    }
+
+    // =========================================================
+    // Sleep (once per level tick, after the flush)
+    // =========================================================
+
+    /** Puts ships we woke back to static once they have been quiet and slow long enough. */
+    public static void tick(ServerLevel level, int now) {
+        evictStale(now);
+
+        if (BY_SHIP.isEmpty()) return;
+
+        ResourceKey<Level> dim = level.dimension();
+        if (now - LAST_SLEEP_CHECK.getInt(dim) < SLEEP_CHECK_INTERVAL) return;
+        LAST_SLEEP_CHECK.put(dim, now);
+
+        for (WakeState s : BY_SHIP.values()) {
+            if (!s.awake || !s.maySleep) continue;
+            if (s.dimension != dim || s.ship == null) continue;
+
+            ShipKinematics.Snapshot snap = ShipKinematics.get(level, s.ship, null);
+            if (snap == null) continue;
+
+            double speedSqr = snap.vx * snap.vx + snap.vy * snap.vy + snap.vz * snap.vz;
+            if (speedSqr >= SLEEP_SPEED * SLEEP_SPEED) {
+                s.quietSince = now;
+                continue;
+            }
+
+            if (now - s.quietSince < SLEEP_AFTER_TICKS) continue;
+
+            if (VsShipForces.setStatic(s.ship, true)) {
+                s.awake = false;
+                s.pendingSince = -1;
+                s.flippedAt = now;
+                SLEEPS.increment();
+            }
+        }
+    }
+
+    private static void evictStale(int now) {
+        if (now - lastEvictTick < EVICT_AFTER_TICKS) return;
+        lastEvictTick = now;
+
+        Iterator<Long2ObjectMap.Entry<WakeState>> it = BY_SHIP.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue().lastSeen > EVICT_AFTER_TICKS) it.remove();
+        }
+    }
+
+    // =========================================================
+    // Static flag (reflective, resolved once per ship class)
+    // =========================================================
+
+    /** 1 = static, 0 = simulated, -1 = unknown. */
+    private static int readStatic(Object ship) {
+        if (ship == null) return -1;
+
+        try {
+            StaticAccess a = STATIC_ACCESS.computeIfAbsent(ship.getClass(), ShipWakeManager::resolveStaticAccess);
+            if (a.getter == null) return -1;
+
+            return ((boolean) a.getter.invokeExact(ship)) ? 1 : 0;
+        } catch (Throwable ignored) {
+            return -1;
+        }
+    }
+
+    private static StaticAccess resolveStaticAccess(Class<?> shipClass) {
+        // Kotlin "var isStatic: Boolean" => Java getter "isStatic()"
+        for (String name : new String[] { "isStatic", "getStatic" }) {
+            try {
+                Method m = shipClass.getMethod(name);
+                if (m.getReturnType() != boolean.class && m.getReturnType() != Boolean.class) continue;
+
+                m.setAccessible(true);
+                return new StaticAccess(MethodHandles.lookup().unreflect(m).asType(IS_STATIC_TYPE));
+            } catch (Throwable ignored) {}
+        }
+        return new StaticAccess(null);
+    }
+}
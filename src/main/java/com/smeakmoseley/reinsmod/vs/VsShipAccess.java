@@ -1,21 +1,55 @@
 package com.smeakmoseley.reinsmod.vs;
 
+import com.mojang.logging.LogUtils;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.phys.Vec3;
 import org.joml.Vector3d;
+import org.slf4j.Logger;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class VsShipAccess {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    /** Returned by {@link #getShipId(Object)} when the ship has no readable id. */
+    public static final long NO_SHIP_ID = Long.MIN_VALUE;
 
     private enum PosKind { BLOCKPOS, VEC3, JOML3D }
 
-    private static volatile Method SHIP_LOOKUP;
-    private static volatile PosKind LOOKUP_KIND;
+    /** Erased id getter, (Object)long; null = ship class has no readable id. */
+    private record IdAccess(MethodHandle getter) {}
+
+    private static final ConcurrentHashMap<Class<?>, IdAccess> ID_ACCESS = new ConcurrentHashMap<>();
+
+    /** Erased call site generated for the resolved VS method: (ServerLevel, pos) -> ship/Optional. */
+    @FunctionalInterface
+    interface RawLookup {
+        Object apply(Object level, Object pos) throws Throwable;
+    }
+
+    /**
+     * RawLookup specialised for the detected PosKind (no varargs/boxing).
+     * worldPos may be null, in which case only x/y/z are used.
+     */
+    @FunctionalInterface
+    private interface ShipLookup {
+        Object find(ServerLevel level, Vec3 worldPos, double x, double y, double z) throws Throwable;
+    }
+
+    // Written before RESOLVED; a null LOOKUP with RESOLVED == true is a cached failure.
+    private static volatile ShipLookup LOOKUP;
+    private static volatile boolean RESOLVED;
 
     // Try a few known VS entrypoints. If your VS build uses a different one,
     // we still refuse to guess (because guessing is what caused shipify calls).
@@ -29,39 +63,159 @@ public final class VsShipAccess {
     private VsShipAccess() {}
 
     public static Optional<Object> getShipManagingPos(ServerLevel level, Vec3 worldPos) {
+        return Optional.ofNullable(getShipManagingPosOrNull(level, worldPos));
+    }
+
+    /** Same as {@link #getShipManagingPos(ServerLevel, Vec3)} without the Optional wrapper (hot paths). */
+    public static Object getShipManagingPosOrNull(ServerLevel level, Vec3 worldPos) {
+        if (worldPos == null) return null;
+        return find(level, worldPos, worldPos.x, worldPos.y, worldPos.z);
+    }
+
+    /** Primitive variant for callers holding coordinates in scratch buffers. */
+    public static Object getShipManagingPosOrNull(ServerLevel level, double x, double y, double z) {
+        return find(level, null, x, y, z);
+    }
+
+    public static Optional<Object> getShipManagingPos(ServerLevel level, BlockPos pos) {
+        return Optional.ofNullable(find(level, null, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5));
+    }
+
+    /** Loaded ship by id (ShipDirectory only; null if unknown or the directory is unavailable). */
+    public static Object getLoadedShipById(ServerLevel level, long shipId) {
+        if (level == null || shipId == NO_SHIP_ID) return null;
+
+        Object ship = ShipDirectory.shipById(level, shipId);
+        return (ship != ShipDirectory.UNAVAILABLE) ? ship : null;
+    }
+
+    private static Object find(ServerLevel level, Vec3 worldPos, double x, double y, double z) {
+        // Hot path: long-keyed claim lookup, rebuilt only when ships load/unload
+        Object known = ShipDirectory.shipAt(level, x, z);
+        if (known != ShipDirectory.UNAVAILABLE) return known;
+
+        ShipLookup lookup = resolvedLookup();
+        if (lookup == null) return null;
+
         try {
-            Method m = SHIP_LOOKUP;
-            PosKind kind = LOOKUP_KIND;
+            Object result = lookup.find(level, worldPos, x, y, z);
+            if (result instanceof Optional<?> opt) return opt.orElse(null);
+            return result;
 
-            if (m == null || kind == null) {
-                Lookup found = findShipLookupMethod();
-                if (found == null) return Optional.empty();
-                SHIP_LOOKUP = found.method;
-                LOOKUP_KIND = found.kind;
-                m = found.method;
-                kind = found.kind;
-            }
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
 
-            Object result;
-            if (kind == PosKind.VEC3) {
-                result = m.invoke(null, level, worldPos);
-            } else if (kind == PosKind.JOML3D) {
-                result = m.invoke(null, level, new Vector3d(worldPos.x, worldPos.y, worldPos.z));
-            } else {
-                result = m.invoke(null, level, BlockPos.containing(worldPos));
-            }
+    /** Reads the VS ship id (ShipId is a long), or {@link #NO_SHIP_ID}. */
+    public static long getShipId(Object ship) {
+        if (ship == null) return NO_SHIP_ID;
 
-            if (result == null) return Optional.empty();
-            if (result instanceof Optional<?> opt) return opt.map(o -> (Object) o);
-            return Optional.of(result);
+        try {
+            IdAccess a = ID_ACCESS.computeIfAbsent(ship.getClass(), VsShipAccess::resolveIdAccess);
+            if (a.getter == null) return NO_SHIP_ID;
 
+            return (long) a.getter.invokeExact(ship);
         } catch (Throwable ignored) {
-            return Optional.empty();
+            return NO_SHIP_ID;
         }
     }
 
-    public static Optional<Object> getShipManagingPos(ServerLevel level, BlockPos pos) {
-        return getShipManagingPos(level, Vec3.atCenterOf(pos));
+    private static IdAccess resolveIdAccess(Class<?> shipClass) {
+        MethodType erased = MethodType.methodType(long.class, Object.class);
+
+        // Kotlin "val id: ShipId" => Java getter "getId()" (long, or boxed Long)
+        try {
+            Method m = shipClass.getMethod("getId");
+            m.setAccessible(true);
+            return new IdAccess(MethodHandles.lookup().unreflect(m).asType(erased));
+        } catch (Throwable ignored) {}
+
+        try {
+            Field f = shipClass.getDeclaredField("id");
+            f.setAccessible(true);
+            return new IdAccess(MethodHandles.lookup().unreflectGetter(f).asType(erased));
+        } catch (Throwable ignored) {}
+
+        return new IdAccess(null);
+    }
+
+    /**
+     * Drops the resolved (or failed) lookup so the next call re-scans VS.
+     * Resolution otherwise happens once per session, including failures.
+     */
+    public static void reresolve() {
+        synchronized (VsShipAccess.class) {
+            LOOKUP = null;
+            RESOLVED = false;
+        }
+    }
+
+    private static ShipLookup resolvedLookup() {
+        if (RESOLVED) return LOOKUP;
+
+        synchronized (VsShipAccess.class) {
+            if (!RESOLVED) {
+                Lookup found = findShipLookupMethod();
+                LOOKUP = (found == null) ? null : compile(found);
+
+                if (found == null) {
+                    LOGGER.info("[ReinsMod VS] No managing-ship lookup found; ship features disabled until re-resolve");
+                } else {
+                    LOGGER.info("[ReinsMod VS] Ship lookup resolved: {}.{} ({}) -> {}",
+                            found.method.getDeclaringClass().getName(), found.method.getName(), found.kind,
+                            (LOOKUP == null ? "unavailable" : "compiled"));
+                }
+
+                RESOLVED = true;
+            }
+            return LOOKUP;
+        }
+    }
+
+    private static ShipLookup compile(Lookup found) {
+        RawLookup raw = compileRaw(found.method);
+        if (raw == null) return null;
+
+        return switch (found.kind) {
+            // VS takes an object argument; only the VEC3 form can pass the caller's instance through
+            case VEC3 -> (level, pos, x, y, z) -> raw.apply(level, pos != null ? pos : new Vec3(x, y, z));
+            case JOML3D -> (level, pos, x, y, z) -> raw.apply(level, new Vector3d(x, y, z));
+            case BLOCKPOS -> (level, pos, x, y, z) -> raw.apply(level, BlockPos.containing(x, y, z));
+        };
+    }
+
+    /**
+     * Prefer a LambdaMetafactory-spun implementation (a direct call the JIT can inline);
+     * fall back to an erased MethodHandle if the metafactory refuses the target.
+     * Package-private so the JMH benchmarks can compare it against other dispatch styles.
+     */
+    static RawLookup compileRaw(Method m) {
+        MethodHandles.Lookup caller = MethodHandles.lookup();
+
+        try {
+            MethodHandle target = caller.unreflect(m);
+            MethodType erased = MethodType.methodType(Object.class, Object.class, Object.class);
+
+            CallSite site = LambdaMetafactory.metafactory(
+                    caller,
+                    "apply",
+                    MethodType.methodType(RawLookup.class),
+                    erased,
+                    target,
+                    target.type()
+            );
+            return (RawLookup) site.getTarget().invokeExact();
+
+        } catch (Throwable lmfFailed) {
+            try {
+                MethodHandle mh = caller.unreflect(m)
+                        .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+                return (level, pos) -> (Object) mh.invokeExact(level, pos);
+            } catch (Throwable t) {
+                return null;
+            }
+        }
     }
 
     private record Lookup(Method method, PosKind kind) {}
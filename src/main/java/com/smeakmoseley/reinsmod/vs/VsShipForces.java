@@ -5,22 +5,89 @@ import net.minecraft.world.phys.Vec3;
 import org.joml.Vector3d;
 import org.slf4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class VsShipForces {
 
     private static final Logger LOGGER = LogUtils.getLogger();
 
-    private static volatile String SUMMARY = "unresolved";
+    /** Result of a single {@link #applyWorldForce} call. Each has its own counter. */
+    public enum Outcome {
+        OK_GTPA,
+        SKIPPED_ZERO_FORCE,
+        NO_SHIP_ID,
+        NO_DIMENSION_KEY,
+        NO_GTPA_GETTER,
+        NO_GTPA,
+        NO_APPLY_WORLD_FORCE,
+        INVOKE_FAILED
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final LongAdder[] COUNTERS = new LongAdder[OUTCOMES.length];
+    static {
+        for (int i = 0; i < COUNTERS.length; i++) COUNTERS[i] = new LongAdder();
+    }
 
     // Forces smaller than this are treated as "no-op"
     private static final double FORCE_EPS_SQR = 1.0e-6;
 
+    private static final String VS_MOD_CLASS = "org.valkyrienskies.mod.common.ValkyrienSkiesMod";
+
+    private static final MethodType DIM_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType APPLY_FORCE_TYPE =
+            MethodType.methodType(void.class, Object.class, long.class, Object.class, Object.class);
+    private static final MethodType APPLY_TORQUE_TYPE =
+            MethodType.methodType(void.class, Object.class, long.class, Object.class);
+    private static final MethodType SET_STATIC_TYPE =
+            MethodType.methodType(void.class, Object.class, long.class, boolean.class);
+
+    /** Handles resolved once per GTPA class (nullable members = not available). */
+    private record GtpaHandles(MethodHandle applyWorldForce, MethodHandle applyWorldTorque, MethodHandle setStatic) {}
+
+    /** Dimension-key getter resolved once per ship class (null handle = not available). */
+    private record DimAccess(MethodHandle getter) {}
+
+    private static final ConcurrentHashMap<Class<?>, DimAccess> DIM_ACCESS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, GtpaHandles> GTPA_HANDLES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Object> GTPA_BY_DIMENSION = new ConcurrentHashMap<>();
+
+    // ValkyrienSkiesMod.getOrCreateGTPA(String); null with GTPA_GETTER_RESOLVED == true is a cached failure
+    private static volatile MethodHandle GTPA_GETTER;
+    private static volatile boolean GTPA_GETTER_RESOLVED;
+
     private VsShipForces() {}
 
+    /** Per-outcome call counts since startup, e.g. "ok_gtpa=120 skipped_zero_force=4 ...". */
     public static String resolutionSummary() {
-        return SUMMARY;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(OUTCOMES[i].name().toLowerCase(Locale.ROOT)).append('=').append(COUNTERS[i].sum());
+        }
+        return sb.toString();
+    }
+
+    public static long outcomeCount(Outcome outcome) {
+        return COUNTERS[outcome.ordinal()].sum();
+    }
+
+    /** Forget cached GTPA instances (e.g. after a server restart in the same JVM). */
+    public static void clearGtpaCache() {
+        GTPA_BY_DIMENSION.clear();
+    }
+
+    /** Seeds the per-dimension GTPA cache (JMH benchmarks run without a VS server). */
+    static void cacheGtpa(String dimKey, Object gtpa) {
+        GTPA_BY_DIMENSION.put(dimKey, gtpa);
     }
 
     /**
@@ -28,159 +95,283 @@ public final class VsShipForces {
      *
      * IMPORTANT:
      *  - We DO NOT wake the ship unless a real force is applied.
+     *  - Callers that track sleep themselves (ShipWakeManager) use the
+     *    {@code wake == false} overload to skip the setStatic(false) call.
      *  - This is critical for Create compatibility: Create refuses interaction
      *    with contraptions that are being actively simulated.
+     *  - The force/position vectors are handed to VS, which may queue them for the
+     *    physics thread, so they are freshly allocated rather than reused.
      *
      * @param shipObj    usually org.valkyrienskies.core.impl.game.ships.ShipData
      * @param forceWorld force in WORLD space
      * @param worldPos   position in WORLD space where force is applied (null = COM)
      */
     public static boolean applyWorldForce(Object shipObj, Vec3 forceWorld, Vec3 worldPos) {
+        return applyWorldForce(shipObj, forceWorld, worldPos, true);
+    }
+
+    /** @param wake false = the ship is known to be awake; leave its static flag alone */
+    public static boolean applyWorldForce(Object shipObj, Vec3 forceWorld, Vec3 worldPos, boolean wake) {
         if (shipObj == null || forceWorld == null) return false;
 
         // 🚨 If the force is effectively zero, do NOTHING.
         // Do not wake the ship, do not touch GTPA.
         if (forceWorld.lengthSqr() <= FORCE_EPS_SQR) {
-            SUMMARY = "skipped_zero_force";
-            return false;
+            return count(Outcome.SKIPPED_ZERO_FORCE);
         }
 
         try {
             // 1) shipId (ShipId is basically a long in VS)
-            long shipId = readLongProperty(shipObj, "id", "getId");
+            long shipId = VsShipAccess.getShipId(shipObj);
+            if (shipId == VsShipAccess.NO_SHIP_ID) return count(Outcome.NO_SHIP_ID);
 
-            // 2) dimension key used by VS to route to correct phys world
-            String dimKey = readStringProperty(shipObj, "chunkClaimDimension", "getChunkClaimDimension");
-            if (dimKey == null || dimKey.isBlank()) {
-                SUMMARY = "no_dimension_key";
-                return false;
-            }
+            // 2) + 3) dimension key -> GTPA (cached per dimension)
+            Object gtpa = gtpaFor(shipObj);
+            if (gtpa == null) return false;
 
-            // 3) ValkyrienSkiesMod.getOrCreateGTPA(dimKey)
-            Class<?> vsm = Class.forName("org.valkyrienskies.mod.common.ValkyrienSkiesMod");
-            Method getOrCreate = null;
-            for (Method m : vsm.getMethods()) {
-                if (!m.getName().equals("getOrCreateGTPA")) continue;
-                if (m.getParameterCount() != 1) continue;
-                if (m.getParameterTypes()[0] == String.class) {
-                    getOrCreate = m;
-                    break;
-                }
-            }
-            if (getOrCreate == null) {
-                SUMMARY = "no_gtpa_getter";
-                return false;
-            }
-
-            Object gtpa = getOrCreate.invoke(null, dimKey);
-            if (gtpa == null) {
-                SUMMARY = "no_gtpa";
-                return false;
-            }
+            GtpaHandles h = GTPA_HANDLES.computeIfAbsent(gtpa.getClass(), VsShipForces::resolveGtpaHandles);
+            if (h.applyWorldForce == null) return count(Outcome.NO_APPLY_WORLD_FORCE);
 
             // 4) Wake ship ONLY because we have a real force
-            tryInvokeSetStatic(gtpa, shipId, false);
+            if (wake && h.setStatic != null) {
+                try {
+                    h.setStatic.invokeExact(gtpa, shipId, false);
+                } catch (Throwable ignored) {}
+            }
 
-            // 5) Call gtpa.applyWorldForce(shipId, Vector3dc, Vector3dc?)
+            // 5) gtpa.applyWorldForce(shipId, Vector3dc, Vector3dc?)
             Vector3d f = new Vector3d(forceWorld.x, forceWorld.y, forceWorld.z);
             Vector3d p = (worldPos == null)
                     ? null
                     : new Vector3d(worldPos.x, worldPos.y, worldPos.z);
 
-            Method applyWorldForce = findApplyWorldForce(gtpa.getClass());
-            if (applyWorldForce == null) {
-                SUMMARY = "no_apply_world_force";
-                return false;
+            h.applyWorldForce.invokeExact(gtpa, shipId, (Object) f, (Object) p);
+
+            COUNTERS[Outcome.OK_GTPA.ordinal()].increment();
+            return true;
+
+        } catch (Throwable t) {
+            return count(Outcome.INVOKE_FAILED);
+        }
+    }
+
+    /**
+     * Applies a WORLD-space torque (about the COM). Only used for the part of a
+     * combined load that cannot be expressed as one force at one point.
+     * Returns false if VS exposes no applyWorldTorque.
+     */
+    public static boolean applyWorldTorque(Object shipObj, Vec3 torqueWorld) {
+        return applyWorldTorque(shipObj, torqueWorld, true);
+    }
+
+    public static boolean applyWorldTorque(Object shipObj, Vec3 torqueWorld, boolean wake) {
+        if (shipObj == null || torqueWorld == null) return false;
+        if (torqueWorld.lengthSqr() <= FORCE_EPS_SQR) return false;
+
+        try {
+            long shipId = VsShipAccess.getShipId(shipObj);
+            if (shipId == VsShipAccess.NO_SHIP_ID) return false;
+
+            Object gtpa = gtpaFor(shipObj);
+            if (gtpa == null) return false;
+
+            GtpaHandles h = GTPA_HANDLES.computeIfAbsent(gtpa.getClass(), VsShipForces::resolveGtpaHandles);
+            if (h.applyWorldTorque == null) return false;
+
+            if (wake && h.setStatic != null) {
+                try {
+                    h.setStatic.invokeExact(gtpa, shipId, false);
+                } catch (Throwable ignored) {}
             }
 
-            applyWorldForce.invoke(gtpa, shipId, f, p);
+            Vector3d t = new Vector3d(torqueWorld.x, torqueWorld.y, torqueWorld.z);
+            h.applyWorldTorque.invokeExact(gtpa, shipId, (Object) t);
+            return true;
+
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Sets the VS static flag directly (ShipWakeManager puts settled ships back to sleep).
+     * Returns false if VS exposes no setStatic.
+     */
+    public static boolean setStatic(Object shipObj, boolean isStatic) {
+        if (shipObj == null) return false;
+
+        try {
+            long shipId = VsShipAccess.getShipId(shipObj);
+            if (shipId == VsShipAccess.NO_SHIP_ID) return false;
 
-            SUMMARY = "ok_gtpa";
+            Object gtpa = gtpaFor(shipObj);
+            if (gtpa == null) return false;
+
+            GtpaHandles h = GTPA_HANDLES.computeIfAbsent(gtpa.getClass(), VsShipForces::resolveGtpaHandles);
+            if (h.setStatic == null) return false;
+
+            h.setStatic.invokeExact(gtpa, shipId, isStatic);
             return true;
 
         } catch (Throwable t) {
-            SUMMARY = "invoke_failed:" + t.getClass().getSimpleName();
             return false;
         }
     }
 
+    /** Dimension key -> cached GTPA, counting the failure outcome on the way. */
+    private static Object gtpaFor(Object shipObj) throws Throwable {
+        // dimension key used by VS to route to correct phys world
+        String dimKey = readDimensionKey(shipObj);
+        if (dimKey == null || dimKey.isBlank()) {
+            count(Outcome.NO_DIMENSION_KEY);
+            return null;
+        }
+
+        // ValkyrienSkiesMod.getOrCreateGTPA(dimKey)
+        Object gtpa = GTPA_BY_DIMENSION.get(dimKey);
+        if (gtpa != null) return gtpa;
+
+        MethodHandle getter = gtpaGetter();
+        if (getter == null) {
+            count(Outcome.NO_GTPA_GETTER);
+            return null;
+        }
+
+        gtpa = (Object) getter.invokeExact(dimKey);
+        if (gtpa == null) {
+            count(Outcome.NO_GTPA);
+            return null;
+        }
+
+        GTPA_BY_DIMENSION.put(dimKey, gtpa);
+        return gtpa;
+    }
+
+    /** Bumps the outcome counter; returns false so failure paths can {@code return count(...)}. */
+    private static boolean count(Outcome outcome) {
+        COUNTERS[outcome.ordinal()].increment();
+        return false;
+    }
+
     // ------------------------------------------------------------
-    // Reflection helpers
+    // Resolution (once per class / session)
     // ------------------------------------------------------------
 
-    private static Method findApplyWorldForce(Class<?> gtpaClass) {
-        // Kotlin signature (compiled): applyWorldForce(long, Vector3dc, Vector3dc)
-        for (Method m : gtpaClass.getMethods()) {
-            if (!m.getName().equals("applyWorldForce")) continue;
-            if (m.getParameterCount() != 3) continue;
+    private static MethodHandle gtpaGetter() {
+        if (GTPA_GETTER_RESOLVED) return GTPA_GETTER;
 
-            Class<?>[] p = m.getParameterTypes();
-            boolean firstOk = (p[0] == long.class) || (p[0] == Long.class);
-            boolean vecOk =
-                    p[1].getName().startsWith("org.joml.Vector3d")
-                            || p[1].getName().startsWith("org.joml.Vector3dc");
-            boolean vec2Ok =
-                    p[2].getName().startsWith("org.joml.Vector3d")
-                            || p[2].getName().startsWith("org.joml.Vector3dc");
-
-            if (firstOk && vecOk && vec2Ok) {
-                m.setAccessible(true);
-                return m;
+        synchronized (VsShipForces.class) {
+            if (!GTPA_GETTER_RESOLVED) {
+                GTPA_GETTER = resolveGtpaGetter();
+                GTPA_GETTER_RESOLVED = true;
             }
+            return GTPA_GETTER;
         }
-        return null;
     }
 
-    private static void tryInvokeSetStatic(Object gtpa, long shipId, boolean isStatic) {
+    private static MethodHandle resolveGtpaGetter() {
         try {
-            for (Method m : gtpa.getClass().getMethods()) {
-                if (!m.getName().equals("setStatic")) continue;
-                if (m.getParameterCount() != 2) continue;
+            Class<?> vsm = Class.forName(VS_MOD_CLASS);
+            for (Method m : vsm.getMethods()) {
+                if (!m.getName().equals("getOrCreateGTPA")) continue;
+                if (m.getParameterCount() != 1) continue;
+                if (m.getParameterTypes()[0] != String.class) continue;
+
+                m.setAccessible(true);
+                MethodHandle mh = MethodHandles.lookup().unreflect(m);
+
+                // Kotlin object members may be static (@JvmStatic) or on INSTANCE
+                if (!Modifier.isStatic(m.getModifiers())) {
+                    Field instance = vsm.getField("INSTANCE");
+                    mh = mh.bindTo(instance.get(null));
+                }
+
+                LOGGER.info("[ReinsMod VS] Resolved {}.getOrCreateGTPA", vsm.getName());
+                return mh.asType(MethodType.methodType(Object.class, String.class));
+            }
+        } catch (Throwable ignored) {}
+
+        LOGGER.info("[ReinsMod VS] getOrCreateGTPA not found; ship forces disabled");
+        return null;
+    }
+
+    private static GtpaHandles resolveGtpaHandles(Class<?> gtpaClass) {
+        MethodHandle apply = null;
+        MethodHandle torque = null;
+        MethodHandle setStatic = null;
+
+        for (Method m : gtpaClass.getMethods()) {
+            Class<?>[] p = m.getParameterTypes();
+
+            // Kotlin signature (compiled): applyWorldForce(long, Vector3dc, Vector3dc)
+            if (apply == null && m.getName().equals("applyWorldForce") && p.length == 3) {
+                boolean firstOk = (p[0] == long.class) || (p[0] == Long.class);
+                boolean vecOk = p[1].getName().startsWith("org.joml.Vector3d");
+                boolean vec2Ok = p[2].getName().startsWith("org.joml.Vector3d");
 
-                Class<?>[] p = m.getParameterTypes();
+                if (firstOk && vecOk && vec2Ok) {
+                    apply = unreflect(m, APPLY_FORCE_TYPE);
+                }
+            }
+
+            // applyWorldTorque(long, Vector3dc)
+            if (torque == null && m.getName().equals("applyWorldTorque") && p.length == 2) {
+                boolean firstOk = (p[0] == long.class) || (p[0] == Long.class);
+                boolean vecOk = p[1].getName().startsWith("org.joml.Vector3d");
+
+                if (firstOk && vecOk) {
+                    torque = unreflect(m, APPLY_TORQUE_TYPE);
+                }
+            }
+
+            // setStatic(long, boolean)
+            if (setStatic == null && m.getName().equals("setStatic") && p.length == 2) {
                 boolean firstOk = (p[0] == long.class) || (p[0] == Long.class);
                 boolean secondOk = (p[1] == boolean.class) || (p[1] == Boolean.class);
 
                 if (firstOk && secondOk) {
-                    m.setAccessible(true);
-                    m.invoke(gtpa, shipId, isStatic);
-                    return;
+                    setStatic = unreflect(m, SET_STATIC_TYPE);
                 }
             }
-        } catch (Throwable ignored) {}
-    }
+        }
 
-    private static long readLongProperty(Object obj, String fieldName, String getterName) throws Exception {
-        try {
-            Method m = obj.getClass().getMethod(getterName);
-            m.setAccessible(true);
-            Object v = m.invoke(obj);
-            if (v instanceof Number n) return n.longValue();
-        } catch (NoSuchMethodException ignored) {}
+        LOGGER.info("[ReinsMod VS] GTPA handles on {}: applyWorldForce={} applyWorldTorque={} setStatic={}",
+                gtpaClass.getName(), apply != null, torque != null, setStatic != null);
+
+        return new GtpaHandles(apply, torque, setStatic);
+    }
 
-        Field f = obj.getClass().getDeclaredField(fieldName);
-        f.setAccessible(true);
-        Object v = f.get(obj);
-        if (v instanceof Number n) return n.longValue();
+    /** VS dimension id of the ship's chunk claim (also used by ShipDirectory), or null. */
+    static String readDimensionKey(Object shipObj) throws Throwable {
+        DimAccess a = DIM_ACCESS.computeIfAbsent(shipObj.getClass(), VsShipForces::resolveDimAccess);
+        if (a.getter == null) return null;
 
-        throw new IllegalStateException("Cannot read long property " + fieldName + "/" + getterName);
+        Object v = (Object) a.getter.invokeExact(shipObj);
+        return (v != null) ? v.toString() : null;
     }
 
-    private static String readStringProperty(Object obj, String fieldName, String getterName) throws Exception {
+    private static DimAccess resolveDimAccess(Class<?> shipClass) {
+        // Kotlin "val chunkClaimDimension" => Java getter "getChunkClaimDimension()"
         try {
-            Method m = obj.getClass().getMethod(getterName);
-            m.setAccessible(true);
-            Object v = m.invoke(obj);
-            if (v != null) return v.toString();
-        } catch (NoSuchMethodException ignored) {}
+            Method m = shipClass.getMethod("getChunkClaimDimension");
+            return new DimAccess(unreflect(m, DIM_GETTER_TYPE));
+        } catch (Throwable ignored) {}
 
         try {
-            Field f = obj.getClass().getDeclaredField(fieldName);
+            Field f = shipClass.getDeclaredField("chunkClaimDimension");
             f.setAccessible(true);
-            Object v = f.get(obj);
-            if (v != null) return v.toString();
-        } catch (NoSuchFieldException ignored) {}
+            return new DimAccess(MethodHandles.lookup().unreflectGetter(f).asType(DIM_GETTER_TYPE));
+        } catch (Throwable ignored) {}
 
-        return null;
+        return new DimAccess(null);
+    }
+
+    private static MethodHandle unreflect(Method m, MethodType erased) {
+        try {
+            m.setAccessible(true);
+            return MethodHandles.lookup().unreflect(m).asType(erased);
+        } catch (Throwable t) {
+            return null;
+        }
     }
 }
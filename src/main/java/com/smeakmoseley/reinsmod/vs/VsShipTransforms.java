@@ -1,10 +1,15 @@
 package com.smeakmoseley.reinsmod.vs;
 
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.server.ServerLifecycleHooks;
 import org.joml.Matrix4d;
 import org.joml.Matrix4dc;
 import org.joml.Vector3d;
+import org.joml.Vector3dc;
 import org.slf4j.Logger;
 
 import java.lang.reflect.Method;
@@ -18,7 +23,19 @@ import java.util.concurrent.ConcurrentHashMap;
  * IMPORTANT:
  *  - Many VS objects expose BOTH shipToWorld and worldToShip matrices.
  *  - Names are not reliable enough for reflection (both contain ship+world tokens).
- *  - So we round-trip test to determine which matrix is which.
+ *  - A round trip cannot tell the two apart (an inverse pair round-trips either way),
+ *    so direction is checked against an independent reference: a shipyard sample
+ *    must land near the ship's world centre of mass (positionInWorld) under
+ *    shipToWorld. Shipyard and world coordinates are far apart, so the wrong matrix
+ *    misses by a long way. Without a positionInWorld the name scoring decides.
+ *  - Matrices (and the missing inverse) are read once per ship per tick and cached
+ *    by ship id; every conversion in that tick reuses them. Off the server thread
+ *    (or with no server) reads go to a per-thread scratch instead.
+ *  - Each class resolution keeps a confidence score for the PAIR's consistency (not
+ *    its direction). Every fresh read round-trips the pair; failures drain the score
+ *    and only an empty score re-resolves the class. A suspicious anchor
+ *    ({@link #reportSuspect}) costs one point and forces a direction re-check
+ *    against the centre of mass, but can never throw the resolution away on its own.
  */
 public final class VsShipTransforms {
     private static final Logger LOGGER = LogUtils.getLogger();
@@ -38,6 +55,11 @@ public final class VsShipTransforms {
         volatile Method shipToWorldGetter = null;
         volatile Method worldToShipGetter = null;
 
+        // Round-trip confidence (0..MAX_CONFIDENCE); guarded by this
+        volatile int confidence = INITIAL_CONFIDENCE;
+        // Set by reportSuspect: re-run the direction test on the next read with a sample
+        volatile boolean recheck = false;
+
         Resolved(Method getTransform, boolean matricesLiveOnTransform, Method candA, Method candB) {
             this.getTransform = getTransform;
             this.matricesLiveOnTransform = matricesLiveOnTransform;
@@ -46,87 +68,343 @@ public final class VsShipTransforms {
         }
     }
 
-    public static void clearCacheFor(Class<?> shipClass) {
-        CACHE.remove(shipClass);
+    /** Transform getter + positionInWorld getter (ship COM in world space), per ship class. */
+    private record ComAccess(Method getTransform, Method getPositionInWorld) {}
+
+    private static final Map<Class<?>, ComAccess> COM_CACHE = new ConcurrentHashMap<>();
+
+    // Confidence per class resolution: start mid-way, re-resolve at zero
+    private static final int MAX_CONFIDENCE = 8;
+    private static final int INITIAL_CONFIDENCE = 4;
+    private static final int FAILED_CHECK_PENALTY = 2;
+
+    // shipToWorld(worldToShip(p)) must land within this of p (blocks)
+    private static final double ROUND_TRIP_TOLERANCE = 1.0e-2;
+
+    // A direction re-check only swaps when the other matrix lands this much closer
+    // to the centre of mass (blocks; well above any ship's half-size)
+    private static final double DIRECTION_MARGIN = 64.0;
+
+    // Per-ship matrices untouched for this long are dropped
+    private static final int EVICT_AFTER_TICKS = 200;
+
+    /** Both matrices of one ship for one tick. */
+    private static final class ShipMatrices {
+        Object ship;
+        int tick = Integer.MIN_VALUE;
+        boolean valid;
+        final Matrix4d shipToWorld = new Matrix4d();
+        final Matrix4d worldToShip = new Matrix4d();
     }
 
+    // Server thread only
+    private static final Long2ObjectOpenHashMap<ShipMatrices> BY_SHIP = new Long2ObjectOpenHashMap<>();
+    private static int lastEvictTick = 0;
+
+    // Uncached reads (off-thread callers, benchmarks without a server)
+    private static final ThreadLocal<ShipMatrices> SCRATCH_MATRICES = ThreadLocal.withInitial(ShipMatrices::new);
+    private static final ThreadLocal<Vector3d> SCRATCH_PROBE = ThreadLocal.withInitial(Vector3d::new);
+    private static final ThreadLocal<Vector3d> SCRATCH_COM = ThreadLocal.withInitial(Vector3d::new);
+
     private VsShipTransforms() {}
 
+    /** Drops the per-ship matrix cache (server stop). Class resolutions are kept. */
+    public static void clear() {
+        BY_SHIP.clear();
+        lastEvictTick = 0;
+    }
+
+    /**
+     * Called when a conversion produced an implausible result (e.g. an anchor far
+     * from its animal). Drops this ship's cached matrices, costs its class one
+     * confidence point and re-runs the direction test on the next read. Never
+     * discards the resolution by itself.
+     */
+    public static void reportSuspect(Object shipObj) {
+        if (shipObj == null) return;
+
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null && server.isSameThread()) {
+            long shipId = VsShipAccess.getShipId(shipObj);
+            if (shipId != VsShipAccess.NO_SHIP_ID) BY_SHIP.remove(shipId);
+        }
+
+        Resolved r = CACHE.get(shipObj.getClass());
+        if (r == null) return;
+
+        synchronized (r) {
+            r.confidence = Math.max(1, r.confidence - 1);
+            r.recheck = true;
+        }
+    }
+
     /** Convert a shipyard-space position to world-space. Returns null if unresolved. */
     public static Vec3 shipyardToWorld(Object shipObj, Vec3 shipyardPos) {
-        if (shipObj == null || shipyardPos == null) return null;
+        if (shipyardPos == null) return null;
+        Vector3d v = new Vector3d();
+        if (!shipyardToWorld(shipObj, shipyardPos.x, shipyardPos.y, shipyardPos.z, v)) return null;
+        return new Vec3(v.x, v.y, v.z);
+    }
+
+    /** Convert world-space to shipyard/ship-space. Returns null if unresolved. */
+    public static Vec3 worldToShipyard(Object shipObj, Vec3 worldPos) {
+        if (worldPos == null) return null;
+        Vector3d v = new Vector3d();
+        if (!worldToShipyard(shipObj, worldPos.x, worldPos.y, worldPos.z, v)) return null;
+        return new Vec3(v.x, v.y, v.z);
+    }
+
+    /** Shipyard -> world into out (no allocation). Returns false if unresolved. */
+    public static boolean shipyardToWorld(Object shipObj, double x, double y, double z, Vector3d out) {
+        return transform(shipObj, x, y, z, out, true);
+    }
+
+    /** World -> shipyard into out (no allocation). Returns false if unresolved. */
+    public static boolean worldToShipyard(Object shipObj, double x, double y, double z, Vector3d out) {
+        return transform(shipObj, x, y, z, out, false);
+    }
+
+    private static boolean transform(Object shipObj, double x, double y, double z, Vector3d out, boolean toWorld) {
+        if (shipObj == null || out == null) return false;
+
+        // We don't strictly need the sample for world->ship, but it helps decide direction.
+        ShipMatrices m = matricesFor(shipObj, true, x, y, z);
+        if (m == null || !m.valid) return false;
+
+        (toWorld ? m.shipToWorld : m.worldToShip).transformPosition(x, y, z, out);
+        return true;
+    }
+
+    /**
+     * World-space centre of mass (VS ShipTransform.positionInWorld), written into out.
+     * Returns false if unresolved.
+     */
+    public static boolean getCenterOfMassWorld(Object shipObj, Vector3d out) {
+        if (shipObj == null || out == null) return false;
+
+        try {
+            ComAccess a = COM_CACHE.computeIfAbsent(shipObj.getClass(), VsShipTransforms::resolveCom);
+            if (a.getPositionInWorld == null) return false;
+
+            Object holder = (a.getTransform != null) ? a.getTransform.invoke(shipObj) : shipObj;
+            if (holder == null) return false;
+
+            Object v = a.getPositionInWorld.invoke(holder);
+            if (!(v instanceof Vector3dc p)) return false;
+
+            out.set(p.x(), p.y(), p.z());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies the ship's current ship->world and world->ship matrices into the outputs,
+     * inverting whichever one VS does not expose. Returns false if unresolved.
+     *
+     * @param samplePos a shipyard position used to decide matrix direction on first use (nullable)
+     */
+    public static boolean readMatrices(Object shipObj, Vec3 samplePos, Matrix4d shipToWorldOut, Matrix4d worldToShipOut) {
+        if (shipObj == null || shipToWorldOut == null || worldToShipOut == null) return false;
+
+        ShipMatrices m = (samplePos != null)
+                ? matricesFor(shipObj, true, samplePos.x, samplePos.y, samplePos.z)
+                : matricesFor(shipObj, false, 0.0, 0.0, 0.0);
+        if (m == null || !m.valid) return false;
+
+        shipToWorldOut.set(m.shipToWorld);
+        worldToShipOut.set(m.worldToShip);
+        return true;
+    }
+
+    // ---------------- per-tick cache ----------------
+
+    /**
+     * This tick's matrices for the ship (read on first use). A failed read with a
+     * sample is retried on the next sampled call, since the sample may be what was
+     * missing to decide direction.
+     */
+    private static ShipMatrices matricesFor(Object shipObj, boolean hasSample, double x, double y, double z) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        long shipId = VsShipAccess.getShipId(shipObj);
+
+        if (server == null || !server.isSameThread() || shipId == VsShipAccess.NO_SHIP_ID) {
+            ShipMatrices m = SCRATCH_MATRICES.get();
+            m.valid = fill(shipObj, hasSample, x, y, z, m);
+            return m;
+        }
+
+        int tick = server.getTickCount();
+        evictStale(tick);
+
+        ShipMatrices m = BY_SHIP.get(shipId);
+        if (m == null) {
+            m = new ShipMatrices();
+            BY_SHIP.put(shipId, m);
+        }
+
+        if (m.tick == tick && m.ship == shipObj && (m.valid || !hasSample)) return m;
+
+        m.ship = shipObj;
+        m.tick = tick;
+        m.valid = fill(shipObj, hasSample, x, y, z, m);
+        return m;
+    }
 
+    private static boolean fill(Object shipObj, boolean hasSample, double x, double y, double z, ShipMatrices out) {
         try {
             Resolved r = CACHE.computeIfAbsent(shipObj.getClass(), VsShipTransforms::resolve);
-            if (r == null) return null;
+            if (r == null) return false;
 
             Object holder = r.matricesLiveOnTransform ? (r.getTransform != null ? r.getTransform.invoke(shipObj) : null) : shipObj;
-            if (holder == null) return null;
+            if (holder == null) return false;
 
-            decideDirectionIfNeeded(r, holder, shipyardPos);
+            if (hasSample) {
+                decideDirectionIfNeeded(r, shipObj, holder, x, y, z);
+                if (r.recheck) recheckDirection(r, shipObj, holder, x, y, z);
+            }
 
-            // Prefer direct ship->world getter
             Matrix4dc stw = getMatrix(r.shipToWorldGetter, holder);
+            Matrix4dc wts = getMatrix(r.worldToShipGetter, holder);
+
             if (stw != null) {
-                Vector3d v = new Vector3d(shipyardPos.x, shipyardPos.y, shipyardPos.z);
-                new Matrix4d(stw).transformPosition(v);
-                return new Vec3(v.x, v.y, v.z);
+                out.shipToWorld.set(stw);
+                if (wts == null || !checkRoundTrip(r, stw, wts, hasSample, x, y, z)) {
+                    // Missing or inconsistent inverse: derive it so this tick is self-consistent
+                    out.shipToWorld.invert(out.worldToShip);
+                } else {
+                    out.worldToShip.set(wts);
+                }
+                return true;
             }
 
-            // Else invert world->ship
-            Matrix4dc wts = getMatrix(r.worldToShipGetter, holder);
             if (wts != null) {
-                Matrix4d inv = new Matrix4d(wts).invert();
-                Vector3d v = new Vector3d(shipyardPos.x, shipyardPos.y, shipyardPos.z);
-                inv.transformPosition(v);
-                return new Vec3(v.x, v.y, v.z);
+                out.worldToShip.set(wts);
+                out.worldToShip.invert(out.shipToWorld);
+                return true;
             }
 
-            return null;
+            return false;
         } catch (Throwable t) {
-            return null;
+            return false;
         }
     }
 
-    /** Convert world-space to shipyard/ship-space. Returns null if unresolved. */
-    public static Vec3 worldToShipyard(Object shipObj, Vec3 worldPos) {
-        if (shipObj == null || worldPos == null) return null;
+    private static void evictStale(int tick) {
+        if (tick - lastEvictTick < EVICT_AFTER_TICKS) return;
+        lastEvictTick = tick;
 
-        try {
-            Resolved r = CACHE.computeIfAbsent(shipObj.getClass(), VsShipTransforms::resolve);
-            if (r == null) return null;
+        Iterator<Long2ObjectMap.Entry<ShipMatrices>> it = BY_SHIP.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            if (tick - it.next().getValue().tick > EVICT_AFTER_TICKS) it.remove();
+        }
+    }
 
-            Object holder = r.matricesLiveOnTransform ? (r.getTransform != null ? r.getTransform.invoke(shipObj) : null) : shipObj;
-            if (holder == null) return null;
+    // ---------------- confidence ----------------
 
-            // We don't strictly need decideDirection here, but it helps fill getters.
-            decideDirectionIfNeeded(r, holder, worldPos);
+    /**
+     * Round-trips a probe through both matrices. A pass earns a confidence point,
+     * a failure costs FAILED_CHECK_PENALTY; at zero the class is re-resolved.
+     * The probe is the sample if given, else the shipyard image of the world origin.
+     */
+    private static boolean checkRoundTrip(Resolved r, Matrix4dc stw, Matrix4dc wts,
+                                          boolean hasSample, double x, double y, double z) {
+        Vector3d probe = SCRATCH_PROBE.get();
+        if (hasSample) probe.set(x, y, z);
+        else wts.getTranslation(probe);
+
+        double px = probe.x, py = probe.y, pz = probe.z;
+        stw.transformPosition(probe);
+        wts.transformPosition(probe);
+
+        double dx = probe.x - px, dy = probe.y - py, dz = probe.z - pz;
+        double err = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (err <= ROUND_TRIP_TOLERANCE) {
+            if (r.confidence < MAX_CONFIDENCE) {
+                synchronized (r) {
+                    r.confidence = Math.min(MAX_CONFIDENCE, r.confidence + 1);
+                }
+            }
+            return true;
+        }
 
-            // Prefer direct world->ship getter
-            Matrix4dc wts = getMatrix(r.worldToShipGetter, holder);
-            if (wts != null) {
-                Vector3d v = new Vector3d(worldPos.x, worldPos.y, worldPos.z);
-                new Matrix4d(wts).transformPosition(v);
-                return new Vec3(v.x, v.y, v.z);
+        int left;
+        synchronized (r) {
+            left = r.confidence = Math.max(0, r.confidence - FAILED_CHECK_PENALTY);
+        }
+
+        if (left == 0) {
+            LOGGER.warn("[ReinsMod VS] Matrix round-trip keeps failing (err={}); re-resolving transforms", fmt(err));
+            CACHE.values().remove(r);
+        }
+        return false;
+    }
+
+    /**
+     * Re-runs the direction test after a suspicious result: swaps getters only if the
+     * other matrix puts the sample clearly closer to the ship's world centre of mass.
+     */
+    private static void recheckDirection(Resolved r, Object shipObj, Object holder, double x, double y, double z) {
+        if (x * x + y * y + z * z < 1.0) return; // same rule as decideDirectionIfNeeded
+
+        synchronized (r) {
+            if (!r.recheck) return;
+            r.recheck = false;
+
+            Method stwGetter = r.shipToWorldGetter;
+            Method wtsGetter = r.worldToShipGetter;
+            if (stwGetter == null || wtsGetter == null) return;
+
+            Matrix4dc stw = getMatrix(stwGetter, holder);
+            Matrix4dc wts = getMatrix(wtsGetter, holder);
+            if (stw == null || wts == null) return;
+
+            double kept = distanceToCom(shipObj, stw, x, y, z);
+            double swapped = distanceToCom(shipObj, wts, x, y, z);
+            if (Double.isNaN(kept) || Double.isNaN(swapped)) return;
+
+            if (swapped + DIRECTION_MARGIN < kept) {
+                r.shipToWorldGetter = wtsGetter;
+                r.worldToShipGetter = stwGetter;
+                r.confidence = INITIAL_CONFIDENCE;
+                LOGGER.info("[ReinsMod VS] Matrix direction re-check swapped: shipToWorld={} worldToShip={} (kept={} swapped={})",
+                        wtsGetter.getName(), stwGetter.getName(), fmt(kept), fmt(swapped));
             }
+        }
+    }
 
-            // Else invert ship->world
-            Matrix4dc stw = getMatrix(r.shipToWorldGetter, holder);
-            if (stw != null) {
-                Matrix4d inv = new Matrix4d(stw).invert();
-                Vector3d v = new Vector3d(worldPos.x, worldPos.y, worldPos.z);
-                inv.transformPosition(v);
-                return new Vec3(v.x, v.y, v.z);
+    // ---------------- resolution ----------------
+
+    private static ComAccess resolveCom(Class<?> shipClass) {
+        try {
+            Method direct = findPositionInWorld(shipClass);
+            if (direct != null) return new ComAccess(null, direct);
+
+            Method getTransform = findTransformGetter(shipClass);
+            if (getTransform != null) {
+                getTransform.setAccessible(true);
+                Method onTransform = findPositionInWorld(getTransform.getReturnType());
+                if (onTransform != null) return new ComAccess(getTransform, onTransform);
             }
+        } catch (Throwable ignored) {}
 
-            return null;
+        LOGGER.info("[ReinsMod VS] No positionInWorld on {}; forces use first contact as reference", shipClass.getName());
+        return new ComAccess(null, null);
+    }
+
+    private static Method findPositionInWorld(Class<?> cls) {
+        try {
+            Method m = cls.getMethod("getPositionInWorld");
+            if (!Vector3dc.class.isAssignableFrom(m.getReturnType())) return null;
+            m.setAccessible(true);
+            return m;
         } catch (Throwable t) {
             return null;
         }
     }
 
-    // ---------------- resolution ----------------
-
     private static Resolved resolve(Class<?> shipClass) {
         try {
             // 1) Collect all matrix getters on ship
@@ -294,14 +572,15 @@ public final class VsShipTransforms {
     }
 
     /**
-     * Decide which candidate is ship->world vs world->ship by doing a round-trip:
-     *  option1: ship --A--> world --B--> ship  (error e1)
-     *  option2: ship --B--> world --A--> ship  (error e2)
-     * pick smaller error.
+     * Decide which candidate is ship->world vs world->ship against the ship's world
+     * centre of mass:
+     *  option1: sample --A--> world, distance to COM  (e1)
+     *  option2: sample --B--> world, distance to COM  (e2)
+     * pick smaller distance. Without a COM, keep the name scoring (A = shipToWorld).
      */
-    private static void decideDirectionIfNeeded(Resolved r, Object holder, Vec3 samplePos) {
+    private static void decideDirectionIfNeeded(Resolved r, Object shipObj, Object holder, double x, double y, double z) {
         if (r.decided) return;
-        if (samplePos.lengthSqr() < 1.0) {
+        if (x * x + y * y + z * z < 1.0) {
             return; // too close to origin / meaningless sample
         }
 
@@ -341,11 +620,9 @@ public final class VsShipTransforms {
                 return;
             }
 
-            // Both present: round-trip test
-            Vector3d ship = new Vector3d(samplePos.x, samplePos.y, samplePos.z);
-
-            double e1 = roundTripError(mA, mB, ship);
-            double e2 = roundTripError(mB, mA, ship);
+            // Both present: which one takes the sample to where the ship is
+            double e1 = distanceToCom(shipObj, mA, x, y, z);
+            double e2 = distanceToCom(shipObj, mB, x, y, z);
 
             if (e2 < e1) {
                 r.shipToWorldGetter = B;
@@ -363,11 +640,14 @@ public final class VsShipTransforms {
         }
     }
 
-    private static double roundTripError(Matrix4dc shipToWorld, Matrix4dc worldToShip, Vector3d shipPos) {
-        Vector3d v = new Vector3d(shipPos);
-        new Matrix4d(shipToWorld).transformPosition(v);     // ship -> world
-        new Matrix4d(worldToShip).transformPosition(v);     // world -> ship
-        return v.distance(shipPos);
+    /** Distance from the sample's image under a candidate shipToWorld to the world COM; NaN without a COM. */
+    private static double distanceToCom(Object shipObj, Matrix4dc shipToWorld, double x, double y, double z) {
+        Vector3d com = SCRATCH_COM.get();
+        if (!getCenterOfMassWorld(shipObj, com)) return Double.NaN;
+
+        Vector3d v = SCRATCH_PROBE.get();
+        shipToWorld.transformPosition(x, y, z, v);
+        return v.distance(com);
     }
 
     private static String fmt(double d) {
@@ -0,0 +1,62 @@
+package com.smeakmoseley.reinsmod.tow;
+
+/**
+ * One tick of whip steering for a controlled animal: yaw slews toward the camera yaw,
+ * then the walk/sprint displacement follows the new yaw.
+ *
+ * IMPORTANT:
+ *  - The server (ServerAnimalControlTick) and the client predictor run this exact
+ *    step on the same dequantised input, so a prediction only drifts on collisions,
+ *    the rope clamp and vertical motion.
+ *  - Float yaw math on purpose: matches the entity's float rotation fields bit for bit.
+ */
+public final class ControlStep {
+
+    // Animal movement (blocks/tick)
+    public static final float WALK_SPEED = 0.20f;
+    public static final float SPRINT_MULT = 1.80f;
+
+    // How fast the animal can rotate toward camera yaw
+    public static final float MAX_TURN_DEG_PER_TICK = 18.0f;
+
+    /** Step output (reusable scratch). */
+    public static final class Result {
+        public float yaw;
+        public double moveX, moveZ;
+    }
+
+    private ControlStep() {}
+
+    /**
+     * @param currentYaw the animal's yaw before this tick (degrees)
+     * @param targetYaw  absolute camera yaw from the input (degrees)
+     */
+    public static void step(float currentYaw, float targetYaw,
+                            float forward, float strafe, boolean sprint, Result out) {
+        float deltaYaw = wrapDegrees(targetYaw - currentYaw);
+        if (deltaYaw > MAX_TURN_DEG_PER_TICK) deltaYaw = MAX_TURN_DEG_PER_TICK;
+        if (deltaYaw < -MAX_TURN_DEG_PER_TICK) deltaYaw = -MAX_TURN_DEG_PER_TICK;
+
+        float newYaw = currentYaw + deltaYaw;
+        out.yaw = newYaw;
+
+        float yawRad = (float) Math.toRadians(newYaw);
+
+        // forward = (-sin, 0, cos), right = (-forward.z, 0, forward.x)
+        double forwardX = -Math.sin(yawRad);
+        double forwardZ = Math.cos(yawRad);
+
+        float speed = WALK_SPEED * (sprint ? SPRINT_MULT : 1.0f);
+
+        out.moveX = (forwardX * forward - forwardZ * strafe) * speed;
+        out.moveZ = (forwardZ * forward + forwardX * strafe) * speed;
+    }
+
+    /** Same as Mth.wrapDegrees(float): [-180, 180). */
+    public static float wrapDegrees(float deg) {
+        float f = deg % 360.0f;
+        if (f >= 180.0f) f -= 360.0f;
+        if (f < -180.0f) f += 360.0f;
+        return f;
+    }
+}
@@ -0,0 +1,40 @@
+package com.smeakmoseley.reinsmod.tow;
+
+/**
+ * Rigid rein clamp on the horizontal plane: a move that would end beyond ROPE_LEN
+ * from the anchor is shortened so the animal lands exactly on the rope circle.
+ */
+public final class RopeClamp {
+
+    public static final double ROPE_LEN = 2.5;
+    private static final double EPS = 1.0e-4;
+
+    // Farther than this is a bad anchor, not a taut rope: leave the move alone
+    public static final double MAX_REASONABLE_DIST = 256.0;
+
+    /** Clamped horizontal move (reusable scratch). */
+    public static final class Move {
+        public double x, z;
+    }
+
+    private RopeClamp() {}
+
+    /**
+     * @return true if the move was clamped (out holds the new move), false to keep the desired move
+     */
+    public static boolean clamp(double posX, double posZ, double moveX, double moveZ,
+                                double anchorX, double anchorZ, Move out) {
+        double dx = posX + moveX - anchorX;
+        double dz = posZ + moveZ - anchorZ;
+
+        double dist = Math.sqrt(dx * dx + dz * dz);
+        if (dist < EPS) return false;
+        if (dist > MAX_REASONABLE_DIST) return false; // sanity
+        if (dist <= ROPE_LEN + EPS) return false;
+
+        double k = ROPE_LEN / dist;
+        out.x = anchorX + dx * k - posX;
+        out.z = anchorZ + dz * k - posZ;
+        return true;
+    }
+}
@@ -0,0 +1,155 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Structure-of-arrays batch for {@link TowController}: one row per leash.
+ *
+ * Usage per tick: {@link #clear()}, {@link #add} every leash (gather), {@link #solve()}
+ * (pure math, parallel when large), then read mode/fx/fz/nextPull by row (commit).
+ *
+ * IMPORTANT:
+ *  - Only solve() may run off the calling thread, and only on the controller math;
+ *    it touches nothing but this batch's arrays (each row is written by one task).
+ *  - Arrays grow but never shrink; rows past size are stale.
+ */
+public final class TowBatch {
+
+    // Below this many rows a fork/join round trip costs more than the math
+    // (a row is ~100 ns, a fork/join round trip a few us)
+    public static final int PARALLEL_THRESHOLD = 256;
+    private static final int LEAF_SIZE = 64;
+
+    public int size;
+
+    // Inputs
+    public double[] dirX, dirZ, dist, animalSpeedAlong;
+    public double[] shipVx, shipVz, shipMass;
+    public boolean[] playerControlled, sprint;
+    public double[] inputMag, prevPull, dtTicks;
+
+    // Outputs
+    public int[] mode;
+    public double[] fx, fz, nextPull;
+
+    // Serial solve scratch (parallel leaves bring their own)
+    private final TowForce out = new TowForce();
+
+    public TowBatch(int capacity) {
+        allocate(Math.max(16, capacity));
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Appends one leash; returns its row. prevPull = NaN if none yet; dtTicks from TowSchedule.begin. */
+    public int add(double dirX, double dirZ, double dist, double animalSpeedAlong,
+                   double shipVx, double shipVz, double shipMass,
+                   boolean playerControlled, double inputMag, boolean sprint,
+                   double prevPull, double dtTicks) {
+        if (size == this.dirX.length) grow();
+
+        int i = size++;
+        this.dirX[i] = dirX;
+        this.dirZ[i] = dirZ;
+        this.dist[i] = dist;
+        this.animalSpeedAlong[i] = animalSpeedAlong;
+        this.shipVx[i] = shipVx;
+        this.shipVz[i] = shipVz;
+        this.shipMass[i] = shipMass;
+        this.playerControlled[i] = playerControlled;
+        this.inputMag[i] = inputMag;
+        this.sprint[i] = sprint;
+        this.prevPull[i] = prevPull;
+        this.dtTicks[i] = dtTicks;
+        return i;
+    }
+
+    /** Evaluates every row; fans out over the common ForkJoin pool past PARALLEL_THRESHOLD. */
+    public void solve() {
+        if (size >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new Solve(this, 0, size));
+        } else {
+            solveRange(0, size, out);
+        }
+    }
+
+    void solveRange(int from, int to, TowForce out) {
+        for (int i = from; i < to; i++) {
+            TowController.computeTowForce(
+                    dirX[i], dirZ[i], dist[i], animalSpeedAlong[i],
+                    shipVx[i], shipVz[i], shipMass[i],
+                    playerControlled[i], inputMag[i], sprint[i],
+                    prevPull[i], dtTicks[i], out);
+
+            mode[i] = out.mode;
+            fx[i] = out.fx;
+            fz[i] = out.fz;
+            nextPull[i] = out.nextPull;
+        }
+    }
+
+    private void grow() {
+        int n = dirX.length * 2;
+        dirX = Arrays.copyOf(dirX, n);
+        dirZ = Arrays.copyOf(dirZ, n);
+        dist = Arrays.copyOf(dist, n);
+        animalSpeedAlong = Arrays.copyOf(animalSpeedAlong, n);
+        shipVx = Arrays.copyOf(shipVx, n);
+        shipVz = Arrays.copyOf(shipVz, n);
+        shipMass = Arrays.copyOf(shipMass, n);
+        playerControlled = Arrays.copyOf(playerControlled, n);
+        sprint = Arrays.copyOf(sprint, n);
+        inputMag = Arrays.copyOf(inputMag, n);
+        prevPull = Arrays.copyOf(prevPull, n);
+        dtTicks = Arrays.copyOf(dtTicks, n);
+        mode = Arrays.copyOf(mode, n);
+        fx = Arrays.copyOf(fx, n);
+        fz = Arrays.copyOf(fz, n);
+        nextPull = Arrays.copyOf(nextPull, n);
+    }
+
+    private void allocate(int n) {
+        dirX = new double[n];
+        dirZ = new double[n];
+        dist = new double[n];
+        animalSpeedAlong = new double[n];
+        shipVx = new double[n];
+        shipVz = new double[n];
+        shipMass = new double[n];
+        playerControlled = new boolean[n];
+        sprint = new boolean[n];
+        inputMag = new double[n];
+        prevPull = new double[n];
+        dtTicks = new double[n];
+        mode = new int[n];
+        fx = new double[n];
+        fz = new double[n];
+        nextPull = new double[n];
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private static final class Solve extends RecursiveAction {
+        private final TowBatch batch;
+        private final int from, to;
+
+        Solve(TowBatch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                batch.solveRange(from, to, new TowForce());
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Solve(batch, from, mid), new Solve(batch, mid, to));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.smeakmoseley.reinsmod.tow;
+
+/**
+ * Ship tow controller: STOP-intent braking, BRAKE / HOLD / PULL with a hysteresis band,
+ * force smoothing and a mass-scaled rate limit.
+ *
+ * IMPORTANT:
+ *  - Plain doubles only (no Minecraft/VS types), so it can be benchmarked, fuzzed and
+ *    simulated offline. The mod's ShipLeashPhysicsTick is the adapter that gathers
+ *    entity/ship state and applies the result (pull at the rope anchor, brakes at
+ *    the centre of mass).
+ *  - Stateless; the caller keeps the per-leash pull force (TowForce.nextPull).
+ */
+public final class TowController {
+
+    // Rope geometry
+    private static final double SLACK = 2.5;
+    private static final double PLAYER_SLACK = 0.25;
+
+    // Spring leash (passive / stretch component)
+    private static final double SPRING = 2800.0;
+    private static final double DAMPING = 280.0;
+
+    // Player intent pulling – proportional to mass, no light-ship favoritism
+    private static final double BASE_INTENT_FORCE_PER_TON = 30_000.0;
+    private static final double INTENT_FORCE_MASS_EXPONENT = 0.75;
+    private static final double MAX_INTENT_FORCE = 8_000_000.0;
+    private static final double MIN_INTENT_FORCE = 5_000.0;
+
+    // Smooth + rate limit (pull force only)
+    private static final double FORCE_SMOOTHING = 0.75;
+    private static final double MIN_FORCE_MASS_MULT = 2.0;
+    private static final double FORCE_RATE_LIMIT_MULT_LIGHT = 400.0;
+    private static final double FORCE_RATE_LIMIT_MULT_HEAVY = 220.0;
+
+    // Safety rule: shipSpeedAlong must NOT exceed allowedAlong + eps
+    private static final double VELOCITY_EPS = 0.015;
+
+    // Hysteresis band to prevent brake/pull pumping
+    private static final double SPEED_HYST = 0.05; // tune 0.03–0.08
+
+    // Braking controller (applied at the ship's centre of mass, unlike the pull)
+    private static final double BRAKE_GAIN = 1.25; // tune 0.8–2.0
+    private static final double MAX_FORCE = 1_000_000.0;
+
+    // STOP-INTENT braking (player released movement input)
+    // When player is controlling but not giving movement input, brake all horizontal ship motion.
+    private static final double STOP_VEL_GAIN = 6.0;         // force per (mass * VS speed)
+    private static final double STOP_DEADZONE = 0.02;        // ignore jitter (VS speed units)
+    private static final double STOP_MAX_FORCE = 2_500_000.0;
+
+    // --- commanded speed constants (match ControlStep) ---
+    private static final double CMD_WALK_SPEED = 0.20;
+    private static final double CMD_SPRINT_MULT = 1.80;
+
+    // "no input" threshold (stick noise guard)
+    public static final double INPUT_MAG_EPS = 0.05;
+
+    // VS velocity is *likely* blocks/sec, Minecraft movement is blocks/tick
+    private static final double SEC_PER_TICK = 1.0 / 20.0;
+
+    private TowController() {}
+
+    /** Rope stretch beyond slack (negative = slack rope). */
+    public static double stretch(double dist, boolean playerControlled) {
+        return dist - (playerControlled ? PLAYER_SLACK : SLACK);
+    }
+
+    /**
+     * STOP / BRAKE / HOLD / PULL decision for one leash.
+     *
+     * @param dirX,dirZ        unit XZ direction anchor -> animal
+     * @param shipVx,shipVz    ship world velocity (VS units, likely blocks/sec)
+     * @param prevPull         last pull force, or NaN if none yet
+     * @param dtTicks          ticks since this leash's previous update (TowSchedule.begin);
+     *                         smoothing and rate limit are scaled to it
+     */
+    public static void computeTowForce(double dirX, double dirZ, double dist, double animalSpeedAlong,
+                                       double shipVx, double shipVz, double shipMass,
+                                       boolean playerControlled, double inputMag, boolean sprint,
+                                       double prevPull, double dtTicks, TowForce out) {
+        out.fx = 0.0;
+        out.fz = 0.0;
+        out.nextPull = 0.0;
+
+        double commandedSpeed = 0.0;
+        if (playerControlled) {
+            double mult = sprint ? CMD_SPRINT_MULT : 1.0;
+            commandedSpeed = CMD_WALK_SPEED * mult * inputMag;
+        }
+
+        boolean hasInput = playerControlled && inputMag > INPUT_MAG_EPS;
+
+        double stretch = stretch(dist, playerControlled);
+
+        double shipSpeedAlong = (shipVx * dirX + shipVz * dirZ) * SEC_PER_TICK;
+
+        // =========================
+        // STOP INTENT (hard brake)
+        // =========================
+        if (playerControlled && !hasInput) {
+            out.mode = TowForce.MODE_STOP;
+            double speed = Math.sqrt(shipVx * shipVx + shipVz * shipVz);
+
+            if (speed > STOP_DEADZONE) {
+                double brakeMag = shipMass * speed * STOP_VEL_GAIN;
+                brakeMag = Math.min(brakeMag, STOP_MAX_FORCE);
+
+                double k = -brakeMag / speed;
+                out.fx = shipVx * k;
+                out.fz = shipVz * k;
+            }
+            return;
+        }
+
+        double allowedAlong;
+        if (playerControlled) {
+            allowedAlong = Math.max(commandedSpeed, Math.max(0.0, animalSpeedAlong));
+        } else {
+            allowedAlong = Math.max(0.0, animalSpeedAlong);
+        }
+        allowedAlong += VELOCITY_EPS;
+
+        double hi = allowedAlong + SPEED_HYST;
+        double lo = Math.max(0.0, allowedAlong - SPEED_HYST);
+
+        // =========================
+        // BRAKE
+        // =========================
+        if (shipSpeedAlong > hi) {
+            out.mode = TowForce.MODE_BRAKE;
+            double excess = shipSpeedAlong - allowedAlong;
+            double brakeMag = Math.min(excess * shipMass * BRAKE_GAIN, MAX_FORCE);
+
+            out.fx = -dirX * brakeMag;
+            out.fz = -dirZ * brakeMag;
+            return;
+        }
+
+        // =========================
+        // HOLD
+        // =========================
+        if (shipSpeedAlong >= lo) {
+            out.mode = TowForce.MODE_HOLD;
+            return;
+        }
+
+        // =========================
+        // PULL
+        // =========================
+        out.mode = TowForce.MODE_PULL;
+        double minForce = Math.max(1.0, shipMass * MIN_FORCE_MASS_MULT);
+        double targetForce = 0.0;
+
+        if (playerControlled && hasInput) {
+            double intent = Math.max(0.0, commandedSpeed);
+
+            if (intent < 0.08 && shipSpeedAlong < 0.15) {
+                intent = Math.max(intent, 0.12);
+            }
+
+            if (intent > 0.01) {
+                double shipTons = shipMass / 1000.0;
+                double intentBase = intent * BASE_INTENT_FORCE_PER_TON;
+                double massFactor = Math.pow(shipTons, INTENT_FORCE_MASS_EXPONENT);
+
+                double intentForce = Math.min(
+                        MAX_INTENT_FORCE,
+                        Math.max(MIN_INTENT_FORCE, intentBase * massFactor)
+                );
+
+                double stretchForce = Math.max(0.0, stretch) * SPRING * 6.0;
+                targetForce = Math.max(intentForce + stretchForce, minForce);
+            }
+        } else if (stretch > 0.0) {
+            targetForce = Math.max((stretch * SPRING) + (animalSpeedAlong * DAMPING), 0.0);
+        }
+
+        // Tuned per REFERENCE_INTERVAL step; rescale so the response per second is interval independent
+        double steps = dtTicks / TowSchedule.REFERENCE_INTERVAL;
+        double smoothing = (steps == 1.0) ? FORCE_SMOOTHING : 1.0 - Math.pow(1.0 - FORCE_SMOOTHING, steps);
+
+        double prev = Double.isNaN(prevPull) ? targetForce : prevPull;
+        double smoothed = prev + (targetForce - prev) * smoothing;
+
+        double rateLimit = shipMass < 80_000
+                ? FORCE_RATE_LIMIT_MULT_LIGHT
+                : FORCE_RATE_LIMIT_MULT_HEAVY;
+
+        double maxDelta = shipMass * rateLimit * steps;
+        double df = Math.max(-maxDelta, Math.min(maxDelta, smoothed - prev));
+
+        double forceMag = Math.min(MAX_FORCE, Math.max(0.0, prev + df));
+        out.nextPull = forceMag;
+
+        if (forceMag > 0.0) {
+            out.fx = dirX * forceMag;
+            out.fz = dirZ * forceMag;
+        }
+    }
+}
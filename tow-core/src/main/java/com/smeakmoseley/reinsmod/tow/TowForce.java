@@ -0,0 +1,17 @@
+package com.smeakmoseley.reinsmod.tow;
+
+/**
+ * Controller output: world XZ force (PULL at the rope anchor, STOP/BRAKE at the centre of
+ * mass) and the pull force to remember. Reusable scratch.
+ */
+public final class TowForce {
+
+    public static final int MODE_STOP = 0;
+    public static final int MODE_BRAKE = 1;
+    public static final int MODE_HOLD = 2;
+    public static final int MODE_PULL = 3;
+
+    public int mode;
+    public double fx, fz;
+    public double nextPull;
+}
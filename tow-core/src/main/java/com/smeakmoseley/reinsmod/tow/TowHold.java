@@ -0,0 +1,64 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import java.util.Arrays;
+
+/**
+ * One ship's tow forces from its last controller update, re-applied every tick until
+ * the next update (TowSchedule may leave a ship alone for up to DORMANT_INTERVAL).
+ *
+ * Forces are stored per tick: the controller output over REFERENCE_INTERVAL, so a
+ * force held every tick delivers the impulse the controller was tuned for, and never
+ * more than its caps in any single tick.
+ *
+ * IMPORTANT:
+ *  - One instance per ship, owned by the caller; not thread-safe.
+ *  - Application points are kept in SHIPYARD space where the caller could convert
+ *    them, so a held pull follows the fence as the ship turns.
+ */
+public final class TowHold {
+
+    public int size;
+
+    public double[] fx = new double[4];
+    public double[] fz = new double[4];
+
+    // Centre of mass (brakes) or the point below
+    public boolean[] atCom = new boolean[4];
+
+    // Application point; shipyard[i] = SHIPYARD space, else WORLD space
+    public boolean[] shipyard = new boolean[4];
+    public double[] px = new double[4];
+    public double[] py = new double[4];
+    public double[] pz = new double[4];
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Adds a controller output (force over REFERENCE_INTERVAL); stores its per-tick share. */
+    public void add(double fx, double fz, boolean atCom, boolean shipyard, double px, double py, double pz) {
+        if (size == this.fx.length) grow();
+
+        double k = 1.0 / TowSchedule.REFERENCE_INTERVAL;
+
+        int i = size++;
+        this.fx[i] = fx * k;
+        this.fz[i] = fz * k;
+        this.atCom[i] = atCom;
+        this.shipyard[i] = shipyard;
+        this.px[i] = px;
+        this.py[i] = py;
+        this.pz[i] = pz;
+    }
+
+    private void grow() {
+        int n = fx.length * 2;
+        fx = Arrays.copyOf(fx, n);
+        fz = Arrays.copyOf(fz, n);
+        atCom = Arrays.copyOf(atCom, n);
+        shipyard = Arrays.copyOf(shipyard, n);
+        px = Arrays.copyOf(px, n);
+        py = Arrays.copyOf(py, n);
+        pz = Arrays.copyOf(pz, n);
+    }
+}
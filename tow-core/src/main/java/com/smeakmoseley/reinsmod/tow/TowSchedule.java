@@ -0,0 +1,132 @@
+package com.smeakmoseley.reinsmod.tow;
+
+/**
+ * Per-ship adaptive update rate for the tow controller.
+ *
+ * Each update observes the ship's speed, rope stretch, input activity and how much the
+ * net leash force changed, then picks how many ticks until the next update:
+ * every tick while hauling hard, down to 1 Hz when idle and DORMANT_INTERVAL once a
+ * tied-up ship has stayed idle for a while. {@link #wake()} cuts any wait short.
+ *
+ * IMPORTANT:
+ *  - One instance per ship, owned by the caller; not thread-safe.
+ *  - The controller was tuned at REFERENCE_INTERVAL (the old fixed 10 Hz); pass
+ *    the elapsed ticks from {@link #begin(int)} to TowController so smoothing and
+ *    rate limiting do not depend on the interval. The applied impulse does not
+ *    either: the caller holds each update's force every tick until the next one
+ *    (TowHold).
+ */
+public final class TowSchedule {
+
+    public static final int REFERENCE_INTERVAL = 2;
+
+    public static final int HARD_INTERVAL = 1;
+    public static final int ACTIVE_INTERVAL = 2;
+    public static final int SETTLING_INTERVAL = 5;
+    public static final int IDLE_INTERVAL = 20;
+    public static final int DORMANT_INTERVAL = 100;
+
+    // Elapsed time fed to the controller: covers the longest interval, so a dormant
+    // update sees the whole gap (callers wake a group early when its rope moves)
+    public static final int MAX_DT_TICKS = DORMANT_INTERVAL;
+
+    // Consecutive idle updates before going dormant
+    private static final int IDLE_UPDATES_BEFORE_DORMANT = 5;
+
+    // Ship speed thresholds (VS units, blocks/sec)
+    private static final double HARD_SPEED = 4.0;
+    private static final double ACTIVE_SPEED = 1.0;
+    private static final double SETTLING_SPEED = 0.2;
+
+    // Rope stretch beyond slack (blocks)
+    private static final double ACTIVE_STRETCH = 0.5;
+
+    // |net force change| / mass between updates (m/s^2)
+    private static final double HARD_FORCE_CHANGE = 2.0;
+    private static final double ACTIVE_FORCE_CHANGE = 0.5;
+    private static final double SETTLING_FORCE_CHANGE = 0.05;
+
+    private int nextTick;          // 0 = due now (tick counts start at 0)
+    private boolean started;
+    private int lastTick;
+    private int interval = HARD_INTERVAL;
+    private int idleUpdates;
+    private double lastForce;
+
+    // Observed during the current update
+    private double maxSpeed;
+    private double shipMass;
+    private double maxStretch;
+    private boolean inputActive;
+    private boolean controlled;
+    private double force;
+
+    public boolean isDue(int now) {
+        return now >= nextTick;
+    }
+
+    /** Starts an update; returns the ticks elapsed since the previous one (1..MAX_DT_TICKS). */
+    public int begin(int now) {
+        int dt = started ? now - lastTick : REFERENCE_INTERVAL;
+        started = true;
+        lastTick = now;
+
+        maxSpeed = 0.0;
+        shipMass = 0.0;
+        maxStretch = 0.0;
+        inputActive = false;
+        controlled = false;
+        force = 0.0;
+
+        return Math.max(1, Math.min(MAX_DT_TICKS, dt));
+    }
+
+    /** One leash's view of this update (ship speed in blocks/sec, mass in kg, stretch in blocks). */
+    public void observe(double shipSpeed, double shipMass, double stretch, boolean playerControlled, boolean hasInput) {
+        if (shipSpeed > maxSpeed) maxSpeed = shipSpeed;
+        this.shipMass = shipMass;
+        if (stretch > maxStretch) maxStretch = stretch;
+        controlled |= playerControlled;
+        inputActive |= hasInput;
+    }
+
+    /** Adds a committed force magnitude (N) to this update's total. */
+    public void addForce(double magnitude) {
+        force += magnitude;
+    }
+
+    /** Ends the update and schedules the next one. */
+    public void end(int now) {
+        double change = Math.abs(force - lastForce) / Math.max(1.0, shipMass);
+        lastForce = force;
+
+        interval = chooseInterval(maxSpeed, maxStretch, inputActive, controlled, change, idleUpdates);
+        idleUpdates = (interval >= IDLE_INTERVAL) ? idleUpdates + 1 : 0;
+        nextTick = now + interval;
+    }
+
+    /** Run on the next tick (player input, new leash, ...). */
+    public void wake() {
+        nextTick = 0;
+        idleUpdates = 0;
+    }
+
+    public int interval() {
+        return interval;
+    }
+
+    public static int chooseInterval(double shipSpeed, double maxStretch, boolean inputActive, boolean controlled,
+                                     double forceChangePerMass, int idleUpdates) {
+        if (inputActive || shipSpeed > HARD_SPEED || forceChangePerMass > HARD_FORCE_CHANGE) {
+            return HARD_INTERVAL;
+        }
+        if (controlled || shipSpeed > ACTIVE_SPEED || maxStretch > ACTIVE_STRETCH
+                || forceChangePerMass > ACTIVE_FORCE_CHANGE) {
+            return ACTIVE_INTERVAL;
+        }
+        if (shipSpeed > SETTLING_SPEED || maxStretch > 0.0 || forceChangePerMass > SETTLING_FORCE_CHANGE) {
+            return SETTLING_INTERVAL;
+        }
+        return (idleUpdates >= IDLE_UPDATES_BEFORE_DORMANT) ? DORMANT_INTERVAL : IDLE_INTERVAL;
+    }
+}
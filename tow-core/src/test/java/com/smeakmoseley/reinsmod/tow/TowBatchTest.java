@@ -0,0 +1,106 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Sequential and fork/join solves must agree row for row with the scalar controller. */
+class TowBatchTest {
+
+    private static TowBatch randomBatch(int rows, long seed) {
+        TowBatch batch = new TowBatch(rows);
+        SplittableRandom rnd = new SplittableRandom(seed);
+
+        for (int i = 0; i < rows; i++) {
+            double a = rnd.nextDouble(Math.PI * 2.0);
+            boolean player = rnd.nextBoolean();
+            batch.add(Math.cos(a), Math.sin(a), 1.0 + rnd.nextDouble(6.0), rnd.nextDouble(-0.1, 0.3),
+                    rnd.nextDouble(-6.0, 6.0), rnd.nextDouble(-6.0, 6.0), 5_000.0 + rnd.nextDouble(200_000.0),
+                    player, player ? rnd.nextDouble() : 0.0, rnd.nextBoolean(),
+                    rnd.nextBoolean() ? Double.NaN : rnd.nextDouble(50_000.0),
+                    1 + rnd.nextInt(TowSchedule.MAX_DT_TICKS));
+        }
+        return batch;
+    }
+
+    private static void assertMatchesScalar(TowBatch batch) {
+        TowForce out = new TowForce();
+        for (int i = 0; i < batch.size; i++) {
+            TowController.computeTowForce(
+                    batch.dirX[i], batch.dirZ[i], batch.dist[i], batch.animalSpeedAlong[i],
+                    batch.shipVx[i], batch.shipVz[i], batch.shipMass[i],
+                    batch.playerControlled[i], batch.inputMag[i], batch.sprint[i],
+                    batch.prevPull[i], batch.dtTicks[i], out);
+
+            assertEquals(out.mode, batch.mode[i], "mode, row " + i);
+            assertEquals(out.fx, batch.fx[i], 0.0, "fx, row " + i);
+            assertEquals(out.fz, batch.fz[i], 0.0, "fz, row " + i);
+            assertEquals(out.nextPull, batch.nextPull[i], 0.0, "nextPull, row " + i);
+        }
+    }
+
+    @Test
+    void sequentialSolveMatchesScalar() {
+        TowBatch batch = randomBatch(TowBatch.PARALLEL_THRESHOLD - 1, 1);
+        batch.solve();
+        assertMatchesScalar(batch);
+    }
+
+    @Test
+    void parallelSolveMatchesScalar() {
+        // Odd size: uneven leaves
+        TowBatch batch = randomBatch(TowBatch.PARALLEL_THRESHOLD * 8 + 37, 2);
+        batch.solve();
+        assertMatchesScalar(batch);
+    }
+
+    @Test
+    void parallelAndSequentialAgree() {
+        int rows = TowBatch.PARALLEL_THRESHOLD * 4;
+
+        TowBatch parallel = randomBatch(rows, 3);
+        parallel.solve();
+
+        // Same rows, solved in sequential chunks below the threshold
+        TowBatch whole = randomBatch(rows, 3);
+        int chunk = TowBatch.PARALLEL_THRESHOLD - 1;
+        for (int from = 0; from < rows; from += chunk) {
+            TowBatch part = new TowBatch(chunk);
+            for (int i = from; i < Math.min(rows, from + chunk); i++) {
+                part.add(whole.dirX[i], whole.dirZ[i], whole.dist[i], whole.animalSpeedAlong[i],
+                        whole.shipVx[i], whole.shipVz[i], whole.shipMass[i],
+                        whole.playerControlled[i], whole.inputMag[i], whole.sprint[i],
+                        whole.prevPull[i], whole.dtTicks[i]);
+            }
+            part.solve();
+
+            for (int i = 0; i < part.size; i++) {
+                int row = from + i;
+                assertEquals(part.mode[i], parallel.mode[row], "mode, row " + row);
+                assertEquals(part.fx[i], parallel.fx[row], 0.0, "fx, row " + row);
+                assertEquals(part.fz[i], parallel.fz[row], 0.0, "fz, row " + row);
+                assertEquals(part.nextPull[i], parallel.nextPull[row], 0.0, "nextPull, row " + row);
+            }
+        }
+    }
+
+    @Test
+    void reusedBatchIsResolvedFromScratch() {
+        TowBatch batch = randomBatch(TowBatch.PARALLEL_THRESHOLD * 2, 4);
+        batch.solve();
+
+        // Smaller second round in the same arrays: stale rows past size must not matter
+        batch.clear();
+        TowBatch fresh = randomBatch(TowBatch.PARALLEL_THRESHOLD / 2, 5);
+        for (int i = 0; i < fresh.size; i++) {
+            batch.add(fresh.dirX[i], fresh.dirZ[i], fresh.dist[i], fresh.animalSpeedAlong[i],
+                    fresh.shipVx[i], fresh.shipVz[i], fresh.shipMass[i],
+                    fresh.playerControlled[i], fresh.inputMag[i], fresh.sprint[i],
+                    fresh.prevPull[i], fresh.dtTicks[i]);
+        }
+        batch.solve();
+        assertMatchesScalar(batch);
+    }
+}
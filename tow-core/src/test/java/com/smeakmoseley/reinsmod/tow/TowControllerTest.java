@@ -0,0 +1,73 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Interval independence of the PULL response: an update after dtTicks must match
+ * dtTicks / REFERENCE_INTERVAL baseline (10 Hz) updates in a row.
+ */
+class TowControllerTest {
+
+    // Animal walking away 6 blocks out along +X behind a ship at rest: PULL
+    private static final double DIST = 6.0;
+    private static final double ANIMAL_SPEED = 0.2;
+
+    // stretch * SPRING + speed * DAMPING for the case above
+    private static final double TARGET = (DIST - 2.5) * 2800.0 + ANIMAL_SPEED * 280.0;
+
+    private static final double EPS = 1.0e-6;
+
+    private static TowForce pull(double mass, double prevPull, double dtTicks) {
+        TowForce out = new TowForce();
+        TowController.computeTowForce(1.0, 0.0, DIST, ANIMAL_SPEED,
+                0.0, 0.0, mass,
+                false, 0.0, false,
+                prevPull, dtTicks, out);
+        assertEquals(TowForce.MODE_PULL, out.mode);
+        return out;
+    }
+
+    @Test
+    void smoothingAtReferenceIntervalIsBaseline() {
+        // Heavy enough that the rate limit never binds
+        TowForce out = pull(10_000.0, 0.0, TowSchedule.REFERENCE_INTERVAL);
+        assertEquals(TARGET * 0.75, out.nextPull, EPS);
+    }
+
+    @Test
+    void smoothingScalesWithSteps() {
+        for (int dt : new int[] {1, 4, 10, 20}) {
+            double steps = dt / (double) TowSchedule.REFERENCE_INTERVAL;
+            double expected = TARGET * (1.0 - Math.pow(1.0 - 0.75, steps));
+
+            assertEquals(expected, pull(10_000.0, 0.0, dt).nextPull, EPS, "dt=" + dt);
+        }
+    }
+
+    @Test
+    void longIntervalMatchesBaselineUpdatesInARow() {
+        double prev = 0.0;
+        for (int i = 0; i < 5; i++) {
+            prev = pull(10_000.0, prev, TowSchedule.REFERENCE_INTERVAL).nextPull;
+        }
+
+        assertEquals(prev, pull(10_000.0, 0.0, 5 * TowSchedule.REFERENCE_INTERVAL).nextPull, EPS);
+    }
+
+    @Test
+    void rateLimitScalesWithSteps() {
+        // Light enough that the rate limit (mass * 400 per baseline step) binds
+        double mass = 10.0;
+        double perStep = mass * 400.0;
+
+        assertEquals(perStep, pull(mass, 0.0, TowSchedule.REFERENCE_INTERVAL).nextPull, EPS);
+        assertEquals(2.0 * perStep, pull(mass, 0.0, 2 * TowSchedule.REFERENCE_INTERVAL).nextPull, EPS);
+
+        // ...and matches two baseline updates in a row
+        double twice = pull(mass, pull(mass, 0.0, TowSchedule.REFERENCE_INTERVAL).nextPull,
+                TowSchedule.REFERENCE_INTERVAL).nextPull;
+        assertEquals(twice, pull(mass, 0.0, 2 * TowSchedule.REFERENCE_INTERVAL).nextPull, EPS);
+    }
+}
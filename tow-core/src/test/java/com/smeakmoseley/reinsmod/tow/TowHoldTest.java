@@ -0,0 +1,69 @@
+package com.smeakmoseley.reinsmod.tow;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TowHoldTest {
+
+    private static final double EPS = 1.0e-9;
+
+    @Test
+    void storesPerTickShare() {
+        TowHold hold = new TowHold();
+        hold.add(9_000.0, -3_000.0, false, true, 1.0, 2.0, 3.0);
+
+        assertEquals(1, hold.size);
+        assertEquals(9_000.0 / TowSchedule.REFERENCE_INTERVAL, hold.fx[0], EPS);
+        assertEquals(-3_000.0 / TowSchedule.REFERENCE_INTERVAL, hold.fz[0], EPS);
+        assertFalse(hold.atCom[0]);
+        assertTrue(hold.shipyard[0]);
+        assertEquals(3.0, hold.pz[0], EPS);
+    }
+
+    @Test
+    void heldImpulseMatchesBaselineAtAnyInterval() {
+        double force = 12_345.0;
+
+        TowHold hold = new TowHold();
+        hold.add(force, 0.0, true, false, 0.0, 0.0, 0.0);
+
+        for (int interval : new int[] {
+                TowSchedule.HARD_INTERVAL, TowSchedule.ACTIVE_INTERVAL, TowSchedule.SETTLING_INTERVAL,
+                TowSchedule.IDLE_INTERVAL, TowSchedule.DORMANT_INTERVAL}) {
+            // Held every tick of the interval...
+            double held = 0.0;
+            for (int t = 0; t < interval; t++) held += hold.fx[0];
+
+            // ...vs the baseline: the full force once every REFERENCE_INTERVAL ticks
+            double baseline = force * interval / TowSchedule.REFERENCE_INTERVAL;
+
+            assertEquals(baseline, held, 1.0e-6, "interval=" + interval);
+        }
+    }
+
+    @Test
+    void neverExceedsControllerOutputInOneTick() {
+        TowHold hold = new TowHold();
+        hold.add(1_000_000.0, 1_000_000.0, false, false, 0.0, 0.0, 0.0);
+
+        assertTrue(Math.abs(hold.fx[0]) <= 1_000_000.0);
+        assertTrue(Math.abs(hold.fz[0]) <= 1_000_000.0);
+    }
+
+    @Test
+    void growsAndClears() {
+        TowHold hold = new TowHold();
+        for (int i = 0; i < 100; i++) {
+            hold.add(i, 0.0, false, false, i, 0.0, 0.0);
+        }
+
+        assertEquals(100, hold.size);
+        assertEquals(99.0, hold.px[99], EPS);
+
+        hold.clear();
+        assertEquals(0, hold.size);
+    }
+}